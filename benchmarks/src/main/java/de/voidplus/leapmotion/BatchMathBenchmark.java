@@ -0,0 +1,131 @@
+package de.voidplus.leapmotion;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import processing.core.PVector;
+
+
+/**
+ * Kernels of BatchMath against the PVector based code they replace, which created a PVector per joint (e.g. Bone.getNextJoint()).
+ * <p/>
+ * The setup fails if a kernel doesn't calculate exactly the same values as its PVector counterpart.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BatchMathBenchmark {
+
+    private static final float SCALE_X = 3.2f, SCALE_Y = -1.44f, SCALE_Z = 3.6f;
+    private static final float SHIFT_X = 640, SHIFT_Y = 720, SHIFT_Z = 360;
+
+    // Joints of all fingers
+    private float[] joints;
+    private int[] types;
+    private int fingers;
+    private int positions;
+    private float[] mapped;
+    private float[] ratios;
+
+    @Setup
+    public void setup() {
+        FrameSnapshot frame = BenchmarkFrames.load(1)[0];
+        this.fingers = frame.fingerCount;
+        this.positions = this.fingers * FrameSnapshot.JOINT_STRIDE / 3;
+        this.joints = new float[this.fingers * FrameSnapshot.JOINT_STRIDE];
+        System.arraycopy(frame.joints, 0, this.joints, 0, this.joints.length);
+        this.types = new int[this.fingers];
+        System.arraycopy(frame.pointableTypes, 0, this.types, 0, this.fingers);
+        this.mapped = new float[this.joints.length];
+        this.ratios = new float[this.fingers];
+
+        BatchMathBenchmark.check("transform", this.transform().clone(), this.transformPVector());
+        BatchMathBenchmark.check("boneLength/chordLength", this.ratio().clone(), this.ratioPVector());
+    }
+
+    @Benchmark
+    public float[] transform() {
+        return BatchMath.transform(this.joints, this.mapped, this.positions,
+                SCALE_X, SCALE_Y, SCALE_Z, SHIFT_X, SHIFT_Y, SHIFT_Z);
+    }
+
+    /**
+     * Mapping of the former LeapMotion.map (a new PVector per joint).
+     */
+    @Benchmark
+    public float[] transformPVector() {
+        for (int i = 0; i < this.positions; i++) {
+            PVector joint = BatchMathBenchmark.vector(this.joints, i * 3);
+            PVector position = new PVector(
+                    joint.x * SCALE_X + SHIFT_X,
+                    joint.y * SCALE_Y + SHIFT_Y,
+                    joint.z * SCALE_Z + SHIFT_Z
+            );
+            this.mapped[i * 3] = position.x;
+            this.mapped[i * 3 + 1] = position.y;
+            this.mapped[i * 3 + 2] = position.z;
+        }
+        return this.mapped;
+    }
+
+    /**
+     * Ratio of Finger.isOutstretchedByAngel for all fingers.
+     */
+    @Benchmark
+    public float[] ratio() {
+        for (int f = 0; f < this.fingers; f++) {
+            int offset = f * FrameSnapshot.JOINT_STRIDE;
+            this.ratios[f] = BatchMath.chordLength(this.joints, offset, this.types[f]) / BatchMath.boneLength(this.joints, offset) * 100;
+        }
+        return this.ratios;
+    }
+
+    /**
+     * Ratio of the former Finger.isOutstretchedByAngel (a new PVector per joint of every bone).
+     */
+    @Benchmark
+    public float[] ratioPVector() {
+        for (int f = 0; f < this.fingers; f++) {
+            int offset = f * FrameSnapshot.JOINT_STRIDE;
+            float distance = 0.0f;
+            for (int b = 0; b < FrameSnapshot.BONES; b++) {
+                distance += PVector.dist(
+                        BatchMathBenchmark.vector(this.joints, offset + b * FrameSnapshot.JOINT_BONE_STRIDE + FrameSnapshot.JOINT_NEXT),
+                        BatchMathBenchmark.vector(this.joints, offset + b * FrameSnapshot.JOINT_BONE_STRIDE + FrameSnapshot.JOINT_PREV)
+                );
+            }
+            int base = (this.types[f] != 0) ? 3 : 2;
+            float direct = PVector.dist(
+                    BatchMathBenchmark.vector(this.joints, offset + FrameSnapshot.JOINT_NEXT),
+                    BatchMathBenchmark.vector(this.joints, offset + base * FrameSnapshot.JOINT_BONE_STRIDE + FrameSnapshot.JOINT_PREV)
+            );
+            this.ratios[f] = direct / distance * 100;
+        }
+        return this.ratios;
+    }
+
+    private static PVector vector(float[] data, int offset) {
+        return new PVector(data[offset], data[offset + 1], data[offset + 2]);
+    }
+
+    private static void check(String kernel, float[] expected, float[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            if (Float.floatToIntBits(expected[i]) != Float.floatToIntBits(actual[i])) {
+                throw new IllegalStateException(kernel + " differs from the PVector code at " + i + ": " + expected[i] + " != " + actual[i]);
+            }
+        }
+    }
+
+}
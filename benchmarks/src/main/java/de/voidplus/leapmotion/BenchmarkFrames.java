@@ -0,0 +1,239 @@
+package de.voidplus.leapmotion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Random;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+
+
+/**
+ * Frame data and a LeapMotion instance for benchmarks without a device.
+ * <p/>
+ * The frames are synthetic (two hands with five fingers, deterministic random values) or, with -Dleap.recording=path, the frames of a recording (see FrameRecorder).
+ */
+final class BenchmarkFrames {
+
+    private BenchmarkFrames() {
+    }
+
+    /**
+     * Sketch with the callbacks of the benchmarks.
+     */
+    public static class Sketch extends PApplet {
+
+        public long frames;
+
+        public void leapOnFrame() {
+            this.frames++;
+        }
+
+    }
+
+    /**
+     * Source which only delivers the frames of the benchmarks.
+     */
+    static class Source implements FrameSource {
+
+        private LeapMotion leap;
+
+        public void start(LeapMotion leap) {
+            this.leap = leap;
+        }
+
+        public void stop() {
+            this.leap = null;
+        }
+
+        public boolean isConnected() {
+            return true;
+        }
+
+    }
+
+    /**
+     * Create a sketch and a LeapMotion instance without a device.
+     *
+     * @return LeapMotion
+     */
+    static LeapMotion createLeapMotion() {
+        Sketch sketch = new Sketch();
+        sketch.g = new PGraphics();
+        sketch.width = 1280;
+        sketch.height = 720;
+        return new LeapMotion(sketch, new Source());
+    }
+
+    /**
+     * Deliver a frame and make it the frame of the current draw().
+     *
+     * @param leap  LeapMotion
+     * @param frame Snapshot with extracted data
+     */
+    static void show(LeapMotion leap, FrameSnapshot frame) {
+        leap.update(frame);
+        leap.pre();
+    }
+
+    /**
+     * Get the frames of the benchmarks (recording of -Dleap.recording or synthetic frames).
+     *
+     * @param count Number of synthetic frames
+     * @return Frames
+     */
+    static FrameSnapshot[] load(int count) {
+        String path = System.getProperty("leap.recording");
+        if (path == null || path.isEmpty()) {
+            return BenchmarkFrames.synthetic(count);
+        }
+        try {
+            return BenchmarkFrames.recorded(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + path, e);
+        }
+    }
+
+    /**
+     * Decode all frames with hands of a recording.
+     *
+     * @param path Path of the recording
+     * @return Frames
+     * @throws IOException if the file can not be read or isn't a recording
+     */
+    static FrameSnapshot[] recorded(String path) throws IOException {
+        RecordingReader reader = new RecordingReader(ByteBuffer.wrap(Files.readAllBytes(Paths.get(path))));
+        ArrayList<FrameSnapshot> frames = new ArrayList<FrameSnapshot>();
+        FrameSnapshot frame = new FrameSnapshot(null);
+        while (reader.next(frame)) {
+            if (frame.handCount > 0) {
+                frames.add(frame);
+                frame = new FrameSnapshot(null);
+            }
+        }
+        if (frames.isEmpty()) {
+            throw new IOException("No frames with hands");
+        }
+        return frames.toArray(new FrameSnapshot[frames.size()]);
+    }
+
+    /**
+     * Create frames with two hands, five fingers per hand and a tool.
+     *
+     * @param count Number of frames
+     * @return Frames
+     */
+    static FrameSnapshot[] synthetic(int count) {
+        Random random = new Random(42);
+        FrameSnapshot[] frames = new FrameSnapshot[count];
+        for (int i = 0; i < count; i++) {
+            frames[i] = BenchmarkFrames.synthetic(random, i);
+        }
+        return frames;
+    }
+
+    private static FrameSnapshot synthetic(Random random, int index) {
+        FrameSnapshot frame = new FrameSnapshot(null);
+        int hands = 2;
+        frame.id = 1000 + index;
+        frame.timestamp = frame.id * 16667L;
+        frame.frameRate = 60;
+        frame.ensureHands(hands);
+        frame.ensurePointables(hands * FrameSnapshot.FINGERS + 1);
+        int p = 0;
+        for (int h = 0; h < hands; h++) {
+            float x = (h == 0) ? -80 : 80;
+            frame.handIds[h] = h + 1;
+            frame.handFlags[h] = FrameSnapshot.HAND_ARM | ((h == 0) ? FrameSnapshot.HAND_LEFT : 0);
+            int palm = h * FrameSnapshot.PALM_STRIDE;
+            BenchmarkFrames.put(frame.palms, palm + FrameSnapshot.PALM_POSITION, x, 200, 0, random, 20);
+            BenchmarkFrames.put(frame.palms, palm + FrameSnapshot.PALM_STABILIZED_POSITION, x, 200, 0, random, 20);
+            BenchmarkFrames.put(frame.palms, palm + FrameSnapshot.PALM_VELOCITY, 0, 0, 0, random, 100);
+            BenchmarkFrames.put(frame.palms, palm + FrameSnapshot.PALM_NORMAL, 0, -1, 0, random, 0);
+            BenchmarkFrames.put(frame.palms, palm + FrameSnapshot.PALM_DIRECTION, 0, 0, -1, random, 0);
+            BenchmarkFrames.put(frame.palms, palm + FrameSnapshot.PALM_SPHERE_CENTER, x, 230, -30, random, 20);
+            frame.palms[palm + FrameSnapshot.PALM_SPHERE_RADIUS] = 60;
+            frame.palms[palm + FrameSnapshot.PALM_CONFIDENCE] = 1;
+            frame.palms[palm + FrameSnapshot.PALM_GRAB_STRENGTH] = random.nextFloat();
+            frame.palms[palm + FrameSnapshot.PALM_PINCH_STRENGTH] = random.nextFloat();
+            frame.palms[palm + FrameSnapshot.PALM_TIME_VISIBLE] = index / 60.0f;
+            frame.palms[palm + FrameSnapshot.PALM_WIDTH] = 85;
+            int arm = h * FrameSnapshot.ARM_STRIDE;
+            BenchmarkFrames.put(frame.arms, arm + FrameSnapshot.ARM_ELBOW_POSITION, x, 100, 250, random, 10);
+            BenchmarkFrames.put(frame.arms, arm + FrameSnapshot.ARM_WRIST_POSITION, x, 190, 50, random, 10);
+            BenchmarkFrames.put(frame.arms, arm + FrameSnapshot.ARM_CENTER, x, 145, 150, random, 10);
+            frame.arms[arm + FrameSnapshot.ARM_WIDTH] = 60;
+            frame.handFingerOffsets[h] = p;
+            frame.handFingerCounts[h] = FrameSnapshot.FINGERS;
+            for (int f = 0; f < FrameSnapshot.FINGERS; f++, p++) {
+                BenchmarkFrames.finger(frame, p, h, f, x + (f - 2) * 20, random);
+            }
+        }
+        frame.fingerCount = p;
+
+        // tool
+        frame.pointableIds[p] = 100;
+        frame.pointableTypes[p] = FrameSnapshot.TYPE_TOOL;
+        frame.pointableHands[p] = -1;
+        int offset = p * FrameSnapshot.POINTABLE_STRIDE;
+        BenchmarkFrames.put(frame.pointables, offset + FrameSnapshot.POINTABLE_TIP_POSITION, 0, 150, -50, random, 10);
+        BenchmarkFrames.put(frame.pointables, offset + FrameSnapshot.POINTABLE_DIRECTION, 0, 0, -1, random, 0);
+        frame.pointables[offset + FrameSnapshot.POINTABLE_LENGTH] = 120;
+        frame.pointables[offset + FrameSnapshot.POINTABLE_WIDTH] = 8;
+        p++;
+
+        frame.handCount = hands;
+        frame.pointableCount = p;
+        frame.extracted = true;
+        return frame;
+    }
+
+    private static void finger(FrameSnapshot frame, int p, int hand, int type, float x, Random random) {
+        frame.pointableIds[p] = (hand + 1) * 10 + type;
+        frame.pointableTypes[p] = type;
+        frame.pointableHands[p] = hand;
+        boolean extended = random.nextBoolean();
+        frame.pointableFlags[p] = extended ? FrameSnapshot.POINTABLE_EXTENDED : 0;
+
+        // joints from the base of the metacarpal (bone 3) to the tip (bone 0), curled if not extended
+        float y = 200;
+        float z = 40;
+        for (int b = FrameSnapshot.BONES - 1; b >= 0; b--) {
+            int bone = p * FrameSnapshot.JOINT_STRIDE + b * FrameSnapshot.JOINT_BONE_STRIDE;
+            float length = (b == 3) ? 45 : 25 - (2 - Math.min(b, 2)) * 5;
+            frame.joints[bone + FrameSnapshot.JOINT_PREV] = x;
+            frame.joints[bone + FrameSnapshot.JOINT_PREV + 1] = y;
+            frame.joints[bone + FrameSnapshot.JOINT_PREV + 2] = z;
+            float bend = extended ? random.nextFloat() * 0.1f : (3 - b) * 0.6f;
+            y -= length * (float) Math.sin(bend);
+            z -= length * (float) Math.cos(bend);
+            frame.joints[bone + FrameSnapshot.JOINT_NEXT] = x;
+            frame.joints[bone + FrameSnapshot.JOINT_NEXT + 1] = y;
+            frame.joints[bone + FrameSnapshot.JOINT_NEXT + 2] = z;
+            int element = p * FrameSnapshot.BONE_STRIDE + b * FrameSnapshot.BONE_ELEMENT_STRIDE;
+            frame.bones[element + FrameSnapshot.BONE_DIRECTION + 1] = -(float) Math.sin(bend);
+            frame.bones[element + FrameSnapshot.BONE_DIRECTION + 2] = -(float) Math.cos(bend);
+            frame.bones[element + FrameSnapshot.BONE_LENGTH] = length;
+            frame.bones[element + FrameSnapshot.BONE_WIDTH] = 18;
+        }
+
+        int offset = p * FrameSnapshot.POINTABLE_STRIDE;
+        int tip = p * FrameSnapshot.JOINT_STRIDE + FrameSnapshot.JOINT_NEXT;
+        System.arraycopy(frame.joints, tip, frame.pointables, offset + FrameSnapshot.POINTABLE_TIP_POSITION, 3);
+        System.arraycopy(frame.joints, tip, frame.pointables, offset + FrameSnapshot.POINTABLE_STABILIZED_TIP_POSITION, 3);
+        BenchmarkFrames.put(frame.pointables, offset + FrameSnapshot.POINTABLE_TIP_VELOCITY, 0, 0, 0, random, 100);
+        BenchmarkFrames.put(frame.pointables, offset + FrameSnapshot.POINTABLE_DIRECTION, 0, 0, -1, random, 0);
+        frame.pointables[offset + FrameSnapshot.POINTABLE_LENGTH] = 60;
+        frame.pointables[offset + FrameSnapshot.POINTABLE_WIDTH] = 18;
+    }
+
+    private static void put(float[] data, int offset, float x, float y, float z, Random random, float noise) {
+        data[offset] = x + (random.nextFloat() - 0.5f) * noise;
+        data[offset + 1] = y + (random.nextFloat() - 0.5f) * noise;
+        data[offset + 2] = z + (random.nextFloat() - 0.5f) * noise;
+    }
+
+}
@@ -0,0 +1,44 @@
+package de.voidplus.leapmotion;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Run the benchmarks with the GC profiler (ops/s and allocation rate).
+ * <p/>
+ * Usage: java -jar target/benchmarks.jar [JMH options, e.g. WrapperBenchmark -f 2] [-Dleap.recording=session.lmfr]
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend(BenchmarkRunner.jvmArgs())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Get the arguments of the forked benchmark JVMs (headless, recording).
+     *
+     * @return JVM arguments
+     */
+    private static String[] jvmArgs() {
+        String path = System.getProperty("leap.recording");
+        if (path == null || path.isEmpty()) {
+            return new String[]{"-Djava.awt.headless=true"};
+        }
+        return new String[]{"-Djava.awt.headless=true", "-Dleap.recording=" + path};
+    }
+
+}
@@ -0,0 +1,61 @@
+package de.voidplus.leapmotion;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Invocation of the callbacks of a sketch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class DispatchBenchmark {
+
+    private LeapMotion leap;
+    private FrameSnapshot frame;
+
+    @Setup
+    public void setup() {
+        this.leap = BenchmarkFrames.createLeapMotion();
+        this.frame = BenchmarkFrames.load(1)[0];
+    }
+
+    /**
+     * Callback of the sketch.
+     */
+    @Benchmark
+    public void dispatch() {
+        this.leap.dispatch("leapOnFrame");
+    }
+
+    /**
+     * Callback which the sketch does not implement.
+     */
+    @Benchmark
+    public void dispatchMissing() {
+        this.leap.dispatch("leapOnInit");
+    }
+
+    /**
+     * Whole path of a frame on the listener thread (copy, publish, callback).
+     */
+    @Benchmark
+    public void update() {
+        this.leap.update(this.frame);
+    }
+
+}
@@ -0,0 +1,48 @@
+package de.voidplus.leapmotion;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Conversion of a camera image (640 x 240 brightness values) to pixels, as done by the Image constructor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ImageBenchmark {
+
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 240;
+
+    private byte[] data;
+    private int[] pixels;
+
+    @Setup
+    public void setup() {
+        this.data = new byte[WIDTH * HEIGHT];
+        new Random(42).nextBytes(this.data);
+        this.pixels = new int[WIDTH * HEIGHT];
+    }
+
+    @Benchmark
+    public int[] toPixels() {
+        Image.toPixels(this.data, this.pixels, WIDTH * HEIGHT);
+        return this.pixels;
+    }
+
+}
@@ -0,0 +1,87 @@
+package de.voidplus.leapmotion;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import processing.core.PVector;
+
+
+/**
+ * Mapping (world settings) and conversion (raw data) of positions.
+ * <p/>
+ * The Vector overloads need the native SDK, so the benchmarks use the float overloads, which the Vector overloads delegate to.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class MapBenchmark {
+
+    private LeapMotion leap;
+    private float[] joints;
+    private float[] target;
+    private PVector vector;
+    private int count;
+
+    @Setup
+    public void setup() {
+        this.leap = BenchmarkFrames.createLeapMotion();
+        FrameSnapshot frame = BenchmarkFrames.load(1)[0];
+        this.count = frame.fingerCount * FrameSnapshot.JOINT_STRIDE / 3;
+        this.joints = new float[this.count * 3];
+        System.arraycopy(frame.joints, 0, this.joints, 0, this.joints.length);
+        this.target = new float[this.joints.length];
+        this.vector = new PVector();
+    }
+
+    @Benchmark
+    public PVector map() {
+        return this.leap.map(this.joints, 0);
+    }
+
+    @Benchmark
+    public PVector mapIntoTarget() {
+        return this.leap.map(this.joints, 0, this.vector);
+    }
+
+    @Benchmark
+    public PVector convert() {
+        return this.leap.convert(this.joints, 0);
+    }
+
+    @Benchmark
+    public PVector convertIntoTarget() {
+        return this.leap.convert(this.joints, 0, this.vector);
+    }
+
+    /**
+     * All joints of a frame one by one.
+     */
+    @Benchmark
+    public float[] mapJoints() {
+        for (int i = 0; i < this.count; i++) {
+            this.leap.map(this.joints, i * 3, this.target, i * 3);
+        }
+        return this.target;
+    }
+
+    /**
+     * All joints of a frame in one batch.
+     */
+    @Benchmark
+    public float[] mapAllJoints() {
+        return this.leap.mapAll(this.joints, this.target, this.count);
+    }
+
+}
@@ -0,0 +1,85 @@
+package de.voidplus.leapmotion;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Outstretched fingers of a hand by the angles of the bones.
+ * <p/>
+ * The lists of a hand are kept for the current frame, so getOutstretchedFingersByAngel takes a new frame first (subtract show() to get the costs of the query). isOutstretchedByAngel measures the calculation on the raw joints alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class OutstretchedBenchmark {
+
+    @Param({"false", "true"})
+    public boolean pooling;
+
+    private LeapMotion leap;
+    private FrameSnapshot[] frames;
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.leap = BenchmarkFrames.createLeapMotion();
+        if (this.pooling) {
+            this.leap.allowPooling();
+        }
+        this.frames = BenchmarkFrames.load(64);
+        BenchmarkFrames.show(this.leap, this.frames[0]);
+    }
+
+    /**
+     * Only the handover of a new frame (baseline of getOutstretchedFingersByAngel).
+     */
+    @Benchmark
+    public void show() {
+        this.next();
+    }
+
+    @Benchmark
+    public ArrayList<Finger> getOutstretchedFingersByAngel() {
+        this.next();
+        return this.leap.getHands().get(0).getOutstretchedFingersByAngel();
+    }
+
+    /**
+     * The ratio of all fingers of a frame on the raw joints.
+     */
+    @Benchmark
+    public int isOutstretchedByAngel() {
+        FrameSnapshot frame = this.frames[this.next++ % this.frames.length];
+        int outstretched = 0;
+        for (int p = 0; p < frame.fingerCount; p++) {
+            if (Finger.isOutstretchedByAngel(frame.joints, p * FrameSnapshot.JOINT_STRIDE, frame.pointableTypes[p], 75)) {
+                outstretched++;
+            }
+        }
+        return outstretched;
+    }
+
+    /**
+     * Make the next frame the frame of the current draw(), so no result of the previous frame is reused.
+     */
+    private void next() {
+        BenchmarkFrames.show(this.leap, this.frames[this.next++ % this.frames.length]);
+    }
+
+}
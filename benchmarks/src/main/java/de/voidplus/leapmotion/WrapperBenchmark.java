@@ -0,0 +1,105 @@
+package de.voidplus.leapmotion;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Construction of the hand, finger and tool wrappers of a frame (with and without pooling).
+ * <p/>
+ * Every benchmark except getHandsCached takes a new frame first, so the results kept for the current frame are not measured; subtract show() to get the costs of the wrappers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class WrapperBenchmark {
+
+    @Param({"false", "true"})
+    public boolean pooling;
+
+    private LeapMotion leap;
+    private FrameSnapshot[] frames;
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.leap = BenchmarkFrames.createLeapMotion();
+        if (this.pooling) {
+            this.leap.allowPooling();
+        }
+        this.frames = BenchmarkFrames.load(64);
+        BenchmarkFrames.show(this.leap, this.frames[0]);
+    }
+
+    /**
+     * Only the handover of a new frame (baseline of the following benchmarks).
+     */
+    @Benchmark
+    public void show() {
+        this.next();
+    }
+
+    @Benchmark
+    public ArrayList<Hand> getHands() {
+        this.next();
+        return this.leap.getHands();
+    }
+
+    @Benchmark
+    public ArrayList<Finger> getFingers() {
+        this.next();
+        return this.leap.getFingers();
+    }
+
+    @Benchmark
+    public ArrayList<Tool> getTools() {
+        this.next();
+        return this.leap.getTools();
+    }
+
+    /**
+     * Repeated request within the same frame (result kept for the frame).
+     */
+    @Benchmark
+    public ArrayList<Hand> getHandsCached() {
+        return this.leap.getHands();
+    }
+
+    /**
+     * A new frame with the typical queries of a draw().
+     */
+    @Benchmark
+    public void frame(Blackhole blackhole) {
+        this.next();
+        for (Hand hand : this.leap.getHands()) {
+            blackhole.consume(hand.getPosition());
+            for (Finger finger : hand.getFingers()) {
+                blackhole.consume(finger.getPosition());
+            }
+        }
+    }
+
+    /**
+     * Make the next frame the frame of the current draw(), so no result of the previous frame is reused.
+     */
+    private void next() {
+        BenchmarkFrames.show(this.leap, this.frames[this.next++ % this.frames.length]);
+    }
+
+}
@@ -10,6 +10,8 @@ public class Arm implements RawAccess<com.leapmotion.leap.Arm> {
     protected PApplet parent;
     protected LeapMotion leap;
     private com.leapmotion.leap.Arm _arm;
+    protected FrameSnapshot snapshot;
+    protected int hand;
 
     public Arm(PApplet parent, LeapMotion leap, com.leapmotion.leap.Arm _arm) {
         this.parent = parent;
@@ -17,6 +19,35 @@ public class Arm implements RawAccess<com.leapmotion.leap.Arm> {
         this._arm = _arm;
     }
 
+    Arm(PApplet parent, LeapMotion leap, FrameSnapshot snapshot, int hand) {
+        this.parent = parent;
+        this.leap = leap;
+        this.snapshot = snapshot;
+        this.hand = hand;
+    }
+
+    /**
+     * Rebind the (pooled) instance to another arm.
+     *
+     * @param _arm Instance of com.leapmotion.leap.Arm
+     */
+    void bind(com.leapmotion.leap.Arm _arm) {
+        this._arm = _arm;
+        this.snapshot = null;
+    }
+
+    /**
+     * Rebind the (pooled) instance to another arm of a snapshot.
+     *
+     * @param snapshot Snapshot with extracted data
+     * @param hand     Index of the hand
+     */
+    void bind(FrameSnapshot snapshot, int hand) {
+        this._arm = null;
+        this.snapshot = snapshot;
+        this.hand = hand;
+    }
+
     /**
      * Is it a valid Arm object?
      *
@@ -24,6 +55,9 @@ public class Arm implements RawAccess<com.leapmotion.leap.Arm> {
      */
     @Override
     public boolean isValid() {
+        if (this.snapshot != null) {
+            return (this.snapshot.handFlags[this.hand] & FrameSnapshot.HAND_ARM) != 0;
+        }
         return this._arm.isValid();
     }
 
@@ -34,6 +68,9 @@ public class Arm implements RawAccess<com.leapmotion.leap.Arm> {
      */
     @Override
     public com.leapmotion.leap.Arm getRaw() {
+        if (this._arm == null && this.snapshot != null && this.snapshot.getFrame() != null) {
+            this._arm = this.snapshot.getFrame().hand(this.snapshot.handIds[this.hand]).arm();
+        }
         return this._arm;
     }
 
@@ -43,7 +80,34 @@ public class Arm implements RawAccess<com.leapmotion.leap.Arm> {
      * @return Position
      */
     public PVector getElbowPosition() {
-        return this.leap.map(this._arm.elbowPosition());
+        return this.getElbowPosition(new PVector());
+    }
+
+    /**
+     * The position of the elbow.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getElbowPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.arms, this.offset(FrameSnapshot.ARM_ELBOW_POSITION), target);
+        }
+        return this.leap.map(this._arm.elbowPosition(), target);
+    }
+
+    /**
+     * The position of the elbow.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getElbowPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.arms, this.offset(FrameSnapshot.ARM_ELBOW_POSITION), target, offset);
+        }
+        return this.leap.map(this._arm.elbowPosition(), target, offset);
     }
 
     /**
@@ -52,7 +116,34 @@ public class Arm implements RawAccess<com.leapmotion.leap.Arm> {
      * @return Position
      */
     public PVector getWristRawPosition() {
-        return this.leap.convert(this._arm.wristPosition());
+        return this.getWristRawPosition(new PVector());
+    }
+
+    /**
+     * The raw position of the elbow.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getWristRawPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.arms, this.offset(FrameSnapshot.ARM_WRIST_POSITION), target);
+        }
+        return this.leap.convert(this._arm.wristPosition(), target);
+    }
+
+    /**
+     * The raw position of the elbow.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getWristRawPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.arms, this.offset(FrameSnapshot.ARM_WRIST_POSITION), target, offset);
+        }
+        return this.leap.convert(this._arm.wristPosition(), target, offset);
     }
 
     /**
@@ -61,7 +152,34 @@ public class Arm implements RawAccess<com.leapmotion.leap.Arm> {
      * @return Position
      */
     public PVector getWristPosition() {
-        return this.leap.map(this._arm.wristPosition());
+        return this.getWristPosition(new PVector());
+    }
+
+    /**
+     * The position of the wrist.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getWristPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.arms, this.offset(FrameSnapshot.ARM_WRIST_POSITION), target);
+        }
+        return this.leap.map(this._arm.wristPosition(), target);
+    }
+
+    /**
+     * The position of the wrist.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getWristPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.arms, this.offset(FrameSnapshot.ARM_WRIST_POSITION), target, offset);
+        }
+        return this.leap.map(this._arm.wristPosition(), target, offset);
     }
 
     /**
@@ -70,7 +188,34 @@ public class Arm implements RawAccess<com.leapmotion.leap.Arm> {
      * @return Position
      */
     public PVector getElbowRawPosition() {
-        return this.leap.convert(this._arm.elbowPosition());
+        return this.getElbowRawPosition(new PVector());
+    }
+
+    /**
+     * The raw position of the wrist.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getElbowRawPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.arms, this.offset(FrameSnapshot.ARM_ELBOW_POSITION), target);
+        }
+        return this.leap.convert(this._arm.elbowPosition(), target);
+    }
+
+    /**
+     * The raw position of the wrist.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getElbowRawPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.arms, this.offset(FrameSnapshot.ARM_ELBOW_POSITION), target, offset);
+        }
+        return this.leap.convert(this._arm.elbowPosition(), target, offset);
     }
 
     /**
@@ -79,6 +224,9 @@ public class Arm implements RawAccess<com.leapmotion.leap.Arm> {
      * @return Width
      */
     public float getWidth() {
+        if (this.snapshot != null) {
+            return this.snapshot.arms[this.offset(FrameSnapshot.ARM_WIDTH)];
+        }
         return this._arm.width();
     }
 
@@ -88,7 +236,34 @@ public class Arm implements RawAccess<com.leapmotion.leap.Arm> {
      * @return Position
      */
     public PVector getPosition() {
-        return this.leap.map(this._arm.center());
+        return this.getPosition(new PVector());
+    }
+
+    /**
+     * The center position.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.arms, this.offset(FrameSnapshot.ARM_CENTER), target);
+        }
+        return this.leap.map(this._arm.center(), target);
+    }
+
+    /**
+     * The center position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.arms, this.offset(FrameSnapshot.ARM_CENTER), target, offset);
+        }
+        return this.leap.map(this._arm.center(), target, offset);
     }
 
     /**
@@ -97,7 +272,44 @@ public class Arm implements RawAccess<com.leapmotion.leap.Arm> {
      * @return Position
      */
     public PVector getRawPosition() {
-        return this.leap.convert(this._arm.center());
+        return this.getRawPosition(new PVector());
+    }
+
+    /**
+     * Raw data of the center position.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getRawPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.arms, this.offset(FrameSnapshot.ARM_CENTER), target);
+        }
+        return this.leap.convert(this._arm.center(), target);
+    }
+
+    /**
+     * Raw data of the center position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getRawPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.arms, this.offset(FrameSnapshot.ARM_CENTER), target, offset);
+        }
+        return this.leap.convert(this._arm.center(), target, offset);
+    }
+
+    /**
+     * Get the offset of a value in the arm data of the snapshot.
+     *
+     * @param field Field of the layout (e.g. FrameSnapshot.ARM_CENTER)
+     * @return Offset
+     */
+    protected int offset(int field) {
+        return this.hand * FrameSnapshot.ARM_STRIDE + field;
     }
 
     /**
@@ -0,0 +1,121 @@
+package de.voidplus.leapmotion;
+
+
+/**
+ * Batch kernels for arrays of positions (x, y, z, x, y, z, ...), e.g. the joints of a FrameSnapshot, a FrameHistory or a joint buffer.
+ * <p/>
+ * The kernels are plain loops over primitive arrays, which replace code that created a PVector per position. They calculate exactly like the PVector based code of the library (e.g. PVector.dist), so the results are identical.
+ */
+public final class BatchMath {
+
+    // Layout of the joints of a finger (see FrameSnapshot.JOINT_STRIDE)
+    private static final int TIP = FrameSnapshot.JOINT_NEXT;
+    private static final int BASE = 3 * FrameSnapshot.JOINT_BONE_STRIDE + FrameSnapshot.JOINT_PREV;
+    private static final int THUMB_BASE = 2 * FrameSnapshot.JOINT_BONE_STRIDE + FrameSnapshot.JOINT_PREV;
+
+    private BatchMath() {
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Transformation */
+
+    /**
+     * Scale and shift every position per axis (dst = src * scale + shift).
+     *
+     * @param src    Source array
+     * @param dst    Target array (may be the source array)
+     * @param count  Number of positions
+     * @param scaleX Scale of the x axis
+     * @param scaleY Scale of the y axis
+     * @param scaleZ Scale of the z axis
+     * @param shiftX Shift of the x axis
+     * @param shiftY Shift of the y axis
+     * @param shiftZ Shift of the z axis
+     * @return Target array
+     */
+    public static float[] transform(float[] src, float[] dst, int count,
+                                    float scaleX, float scaleY, float scaleZ,
+                                    float shiftX, float shiftY, float shiftZ) {
+        for (int i = 0, n = count * 3; i < n; i += 3) {
+            dst[i] = src[i] * scaleX + shiftX;
+            dst[i + 1] = src[i + 1] * scaleY + shiftY;
+            dst[i + 2] = src[i + 2] * scaleZ + shiftZ;
+        }
+        return dst;
+    }
+
+    /**
+     * Shift every position (dst = src + shift).
+     *
+     * @param src    Source array
+     * @param dst    Target array (may be the source array)
+     * @param count  Number of positions
+     * @param shiftX Shift of the x axis
+     * @param shiftY Shift of the y axis
+     * @param shiftZ Shift of the z axis
+     * @return Target array
+     */
+    public static float[] translate(float[] src, float[] dst, int count,
+                                    float shiftX, float shiftY, float shiftZ) {
+        for (int i = 0, n = count * 3; i < n; i += 3) {
+            dst[i] = src[i] + shiftX;
+            dst[i + 1] = src[i + 1] + shiftY;
+            dst[i + 2] = src[i + 2] + shiftZ;
+        }
+        return dst;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Distances */
+
+    /**
+     * Get the distance between two positions.
+     *
+     * @param a      First array
+     * @param offset Offset of the first position
+     * @param b      Second array
+     * @param other  Offset of the second position
+     * @return Distance
+     */
+    public static float distance(float[] a, int offset, float[] b, int other) {
+        float dx = a[offset] - b[other];
+        float dy = a[offset + 1] - b[other + 1];
+        float dz = a[offset + 2] - b[other + 2];
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Fingers */
+
+    /**
+     * Get the length of all bones of a finger (sum of the distances between the previous and next joint of every bone).
+     *
+     * @param joints Joints (layout of FrameSnapshot.JOINT_STRIDE)
+     * @param offset Offset of the finger
+     * @return Length
+     */
+    public static float boneLength(float[] joints, int offset) {
+        float length = 0.0f;
+        for (int b = 0; b < FrameSnapshot.BONES; b++) {
+            int o = offset + b * FrameSnapshot.JOINT_BONE_STRIDE;
+            length += BatchMath.distance(joints, o + FrameSnapshot.JOINT_NEXT, joints, o + FrameSnapshot.JOINT_PREV);
+        }
+        return length;
+    }
+
+    /**
+     * Get the direct distance from the tip to the base of a finger (base of the proximal bone for thumbs, otherwise of the metacarpal bone).
+     *
+     * @param joints Joints (layout of FrameSnapshot.JOINT_STRIDE)
+     * @param offset Offset of the finger
+     * @param type   Type of the finger (0=thumb ... 4=pinky)
+     * @return Distance
+     */
+    public static float chordLength(float[] joints, int offset, int type) {
+        return BatchMath.distance(joints, offset + TIP, joints, offset + ((type != 0) ? BASE : THUMB_BASE));
+    }
+
+}
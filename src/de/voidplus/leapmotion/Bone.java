@@ -7,9 +7,19 @@ import processing.core.PVector;
 
 public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
 
+    private static final com.leapmotion.leap.Bone.Type[] TYPES = {
+            com.leapmotion.leap.Bone.Type.TYPE_DISTAL,
+            com.leapmotion.leap.Bone.Type.TYPE_INTERMEDIATE,
+            com.leapmotion.leap.Bone.Type.TYPE_PROXIMAL,
+            com.leapmotion.leap.Bone.Type.TYPE_METACARPAL
+    };
+
     protected PApplet parent;
     protected LeapMotion leap;
     private com.leapmotion.leap.Bone _bone;
+    protected FrameSnapshot snapshot;
+    protected int finger;
+    protected int type;
 
     public Bone(PApplet parent, LeapMotion leap, com.leapmotion.leap.Bone _bone) {
         this.parent = parent;
@@ -17,6 +27,38 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
         this._bone = _bone;
     }
 
+    Bone(PApplet parent, LeapMotion leap, FrameSnapshot snapshot, int finger, int type) {
+        this.parent = parent;
+        this.leap = leap;
+        this.snapshot = snapshot;
+        this.finger = finger;
+        this.type = type;
+    }
+
+    /**
+     * Rebind the (pooled) instance to another bone.
+     *
+     * @param _bone Instance of com.leapmotion.leap.Bone
+     */
+    void bind(com.leapmotion.leap.Bone _bone) {
+        this._bone = _bone;
+        this.snapshot = null;
+    }
+
+    /**
+     * Rebind the (pooled) instance to another bone of a snapshot.
+     *
+     * @param snapshot Snapshot with extracted data
+     * @param finger   Index of the finger
+     * @param type     Type of the bone
+     */
+    void bind(FrameSnapshot snapshot, int finger, int type) {
+        this._bone = null;
+        this.snapshot = snapshot;
+        this.finger = finger;
+        this.type = type;
+    }
+
     /**
      * Is it a valid Bone object?
      *
@@ -24,6 +66,9 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
      */
     @Override
     public boolean isValid() {
+        if (this.snapshot != null) {
+            return true;
+        }
         return this._bone.isValid();
     }
 
@@ -34,6 +79,9 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
      */
     @Override
     public com.leapmotion.leap.Bone getRaw() {
+        if (this._bone == null && this.snapshot != null && this.snapshot.getFrame() != null) {
+            this._bone = new Finger(this.parent, this.leap, this.snapshot, this.finger).getRaw().bone(Bone.TYPES[this.type]);
+        }
         return this._bone;
     }
 
@@ -43,6 +91,9 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
      * @return Kind of bone
      */
     public int getType() {
+        if (this.snapshot != null) {
+            return this.type;
+        }
         com.leapmotion.leap.Bone.Type type = this._bone.type();
         switch (type) {
             case TYPE_DISTAL:
@@ -63,6 +114,9 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
      * @return Length
      */
     public float getBoneLength() {
+        if (this.snapshot != null) {
+            return this.snapshot.bones[this.boneOffset(FrameSnapshot.BONE_LENGTH)];
+        }
         return this._bone.length();
     }
 
@@ -72,6 +126,9 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
      * @return Width
      */
     public float getBoneWidth() {
+        if (this.snapshot != null) {
+            return this.snapshot.bones[this.boneOffset(FrameSnapshot.BONE_WIDTH)];
+        }
         return this._bone.width();
     }
 
@@ -81,7 +138,34 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
      * @return Position
      */
     public PVector getNextJoint() {
-        return this.leap.map(this._bone.nextJoint());
+        return this.getNextJoint(new PVector());
+    }
+
+    /**
+     * Get the next joint position.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getNextJoint(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(FrameSnapshot.JOINT_NEXT), target);
+        }
+        return this.leap.map(this._bone.nextJoint(), target);
+    }
+
+    /**
+     * Get the next joint position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getNextJoint(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(FrameSnapshot.JOINT_NEXT), target, offset);
+        }
+        return this.leap.map(this._bone.nextJoint(), target, offset);
     }
 
     /**
@@ -90,7 +174,34 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
      * @return Raw position
      */
     public PVector getRawNextJoint() {
-        return this.leap.convert(this._bone.nextJoint());
+        return this.getRawNextJoint(new PVector());
+    }
+
+    /**
+     * Get the raw next joint position.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawNextJoint(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(FrameSnapshot.JOINT_NEXT), target);
+        }
+        return this.leap.convert(this._bone.nextJoint(), target);
+    }
+
+    /**
+     * Get the raw next joint position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawNextJoint(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(FrameSnapshot.JOINT_NEXT), target, offset);
+        }
+        return this.leap.convert(this._bone.nextJoint(), target, offset);
     }
 
     /**
@@ -99,7 +210,34 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
      * @return Position
      */
     public PVector getPrevJoint() {
-        return this.leap.map(this._bone.prevJoint());
+        return this.getPrevJoint(new PVector());
+    }
+
+    /**
+     * Get the previous joint position.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPrevJoint(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(FrameSnapshot.JOINT_PREV), target);
+        }
+        return this.leap.map(this._bone.prevJoint(), target);
+    }
+
+    /**
+     * Get the previous joint position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPrevJoint(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(FrameSnapshot.JOINT_PREV), target, offset);
+        }
+        return this.leap.map(this._bone.prevJoint(), target, offset);
     }
 
     /**
@@ -108,7 +246,34 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
      * @return Raw position
      */
     public PVector getRawPrevJoint() {
-        return this.leap.convert(this._bone.prevJoint());
+        return this.getRawPrevJoint(new PVector());
+    }
+
+    /**
+     * Get the raw previous joint position.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawPrevJoint(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(FrameSnapshot.JOINT_PREV), target);
+        }
+        return this.leap.convert(this._bone.prevJoint(), target);
+    }
+
+    /**
+     * Get the raw previous joint position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawPrevJoint(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(FrameSnapshot.JOINT_PREV), target, offset);
+        }
+        return this.leap.convert(this._bone.prevJoint(), target, offset);
     }
 
     /**
@@ -117,7 +282,34 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
      * @return Direction
      */
     public PVector getDirection() {
-        return this.leap.map(this._bone.direction());
+        return this.getDirection(new PVector());
+    }
+
+    /**
+     * The direction.
+     *
+     * @param target Target vector
+     * @return Direction
+     */
+    public PVector getDirection(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.bones, this.boneOffset(FrameSnapshot.BONE_DIRECTION), target);
+        }
+        return this.leap.map(this._bone.direction(), target);
+    }
+
+    /**
+     * The direction.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Direction
+     */
+    public float[] getDirection(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.bones, this.boneOffset(FrameSnapshot.BONE_DIRECTION), target, offset);
+        }
+        return this.leap.map(this._bone.direction(), target, offset);
     }
 
     /**
@@ -126,7 +318,54 @@ public class Bone implements RawAccess<com.leapmotion.leap.Bone> {
      * @return Raw direction
      */
     public PVector getRawDirection() {
-        return this.leap.convert(this._bone.direction());
+        return this.getRawDirection(new PVector());
+    }
+
+    /**
+     * Raw data of the direction.
+     *
+     * @param target Target vector
+     * @return Raw direction
+     */
+    public PVector getRawDirection(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.bones, this.boneOffset(FrameSnapshot.BONE_DIRECTION), target);
+        }
+        return this.leap.convert(this._bone.direction(), target);
+    }
+
+    /**
+     * Raw data of the direction.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw direction
+     */
+    public float[] getRawDirection(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.bones, this.boneOffset(FrameSnapshot.BONE_DIRECTION), target, offset);
+        }
+        return this.leap.convert(this._bone.direction(), target, offset);
+    }
+
+    /**
+     * Get the offset of a joint in the joint data of the snapshot.
+     *
+     * @param joint FrameSnapshot.JOINT_PREV or FrameSnapshot.JOINT_NEXT
+     * @return Offset
+     */
+    protected int jointOffset(int joint) {
+        return this.finger * FrameSnapshot.JOINT_STRIDE + this.type * FrameSnapshot.JOINT_BONE_STRIDE + joint;
+    }
+
+    /**
+     * Get the offset of a value in the bone data of the snapshot.
+     *
+     * @param field Field of the layout (e.g. FrameSnapshot.BONE_LENGTH)
+     * @return Offset
+     */
+    protected int boneOffset(int field) {
+        return this.finger * FrameSnapshot.BONE_STRIDE + this.type * FrameSnapshot.BONE_ELEMENT_STRIDE + field;
     }
 
     /**
@@ -0,0 +1,155 @@
+package de.voidplus.leapmotion;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Registry of the callbacks (e.g. leapOnFrame) implemented by the sketch.
+ * <p/>
+ * Every callback is looked up only once per name and kept as a bound MethodHandle. Callbacks which are not implemented by the sketch are cached as well, so dispatching them costs a single map lookup.
+ */
+class Callbacks {
+
+    private static final MethodType TYPE_0 = MethodType.methodType(void.class);
+    private static final MethodType TYPE_1 = MethodType.methodType(void.class, Object.class);
+    private static final MethodType TYPE_2 = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // Marker for callbacks which are not implemented by the sketch
+    private static final MethodHandle ABSENT = MethodHandles.constant(Object.class, null);
+
+    private final Object target;
+    private final ConcurrentHashMap<String, MethodHandle> handles;
+
+    Callbacks(Object target) {
+        this.target = target;
+        this.handles = new ConcurrentHashMap<String, MethodHandle>();
+    }
+
+    /**
+     * Is the callback implemented by the sketch?
+     *
+     * @param method Name of the callback
+     * @param types  Classes of the arguments
+     * @return Is the callback implemented by the sketch?
+     */
+    boolean has(String method, Class<?>... types) {
+        return this.resolve(method, types) != ABSENT;
+    }
+
+    /**
+     * Invoke a callback without arguments.
+     *
+     * @param method Name of the callback
+     * @return Has the callback been invoked?
+     */
+    boolean invoke(String method) {
+        MethodHandle handle = this.resolve(method);
+        if (handle == ABSENT) {
+            return false;
+        }
+        try {
+            handle.invokeExact();
+        } catch (Throwable e) {
+            // e.printStackTrace();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Invoke a callback with one argument.
+     *
+     * @param method Name of the callback
+     * @param clazz  Class of argument
+     * @param obj    Content of argument
+     * @return Has the callback been invoked?
+     */
+    boolean invoke(String method, Class<?> clazz, Object obj) {
+        MethodHandle handle = this.resolve(method, clazz);
+        if (handle == ABSENT) {
+            return false;
+        }
+        try {
+            handle.invokeExact(obj);
+        } catch (Throwable e) {
+            // e.printStackTrace();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Invoke a callback with two arguments.
+     *
+     * @param method  Name of the callback
+     * @param clazz_1 Class of first argument
+     * @param clazz_2 Class of second argument
+     * @param obj_1   Content of first argument
+     * @param obj_2   Content of second argument
+     * @return Has the callback been invoked?
+     */
+    boolean invoke(String method, Class<?> clazz_1, Class<?> clazz_2, Object obj_1, Object obj_2) {
+        MethodHandle handle = this.resolve(method, clazz_1, clazz_2);
+        if (handle == ABSENT) {
+            return false;
+        }
+        try {
+            handle.invokeExact(obj_1, obj_2);
+        } catch (Throwable e) {
+            // e.printStackTrace();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the cached handle of a callback or look it up once.
+     * <p/>
+     * Every callback name is bound to a single signature, so the name is used as key.
+     *
+     * @param method Name of the callback
+     * @param types  Classes of the arguments
+     * @return Bound handle or ABSENT
+     */
+    private MethodHandle resolve(String method, Class<?>... types) {
+        MethodHandle handle = this.handles.get(method);
+        if (handle == null) {
+            handle = this.lookup(method, types);
+            MethodHandle previous = this.handles.putIfAbsent(method, handle);
+            if (previous != null) {
+                handle = previous;
+            }
+        }
+        return handle;
+    }
+
+    /**
+     * Look up a public method of the sketch and adapt it to a generic signature.
+     *
+     * @param method Name of the callback
+     * @param types  Classes of the arguments
+     * @return Bound handle or ABSENT
+     */
+    private MethodHandle lookup(String method, Class<?>... types) {
+        try {
+            Method m = this.target.getClass().getMethod(method, types);
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(m).bindTo(this.target);
+            switch (types.length) {
+                case 0:
+                    return handle.asType(TYPE_0);
+                case 1:
+                    return handle.asType(TYPE_1);
+                case 2:
+                    return handle.asType(TYPE_2);
+            }
+        } catch (Exception e) {
+            // e.printStackTrace();
+        }
+        return ABSENT;
+    }
+
+}
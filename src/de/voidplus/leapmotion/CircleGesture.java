@@ -29,7 +29,28 @@ public class CircleGesture extends Gesture implements RawAccess<com.leapmotion.l
      * @return Position
      */
     public PVector getCenter() {
-        return this.leap.map(this._circle.center());
+        return this.getCenter(new PVector());
+    }
+
+    /**
+     * The center point of the gesture within the Leap frame of reference.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getCenter(PVector target) {
+        return this.leap.map(this._circle.center(), target);
+    }
+
+    /**
+     * The center point of the gesture within the Leap frame of reference.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getCenter(float[] target, int offset) {
+        return this.leap.map(this._circle.center(), target, offset);
     }
 
     /**
@@ -38,7 +59,28 @@ public class CircleGesture extends Gesture implements RawAccess<com.leapmotion.l
      * @return Raw position
      */
     public PVector getRawCenter() {
-        return this.leap.convert(this._circle.center());
+        return this.getRawCenter(new PVector());
+    }
+
+    /**
+     * Raw data of the center point of the gesture within the Leap frame of reference.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawCenter(PVector target) {
+        return this.leap.convert(this._circle.center(), target);
+    }
+
+    /**
+     * Raw data of the center point of the gesture within the Leap frame of reference.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawCenter(float[] target, int offset) {
+        return this.leap.convert(this._circle.center(), target, offset);
     }
 
     /**
@@ -47,7 +89,28 @@ public class CircleGesture extends Gesture implements RawAccess<com.leapmotion.l
      * @return Position
      */
     public PVector getNormal() {
-        return this.leap.map(this._circle.normal());
+        return this.getNormal(new PVector());
+    }
+
+    /**
+     * Returns the normal vector for the gesture being traced.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getNormal(PVector target) {
+        return this.leap.map(this._circle.normal(), target);
+    }
+
+    /**
+     * Returns the normal vector for the gesture being traced.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getNormal(float[] target, int offset) {
+        return this.leap.map(this._circle.normal(), target, offset);
     }
 
     /**
@@ -56,7 +119,28 @@ public class CircleGesture extends Gesture implements RawAccess<com.leapmotion.l
      * @return Raw position
      */
     public PVector getRawNormal() {
-        return this.leap.convert(this._circle.normal());
+        return this.getRawNormal(new PVector());
+    }
+
+    /**
+     * Raw data the normal vector for the gesture being traced.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawNormal(PVector target) {
+        return this.leap.convert(this._circle.normal(), target);
+    }
+
+    /**
+     * Raw data the normal vector for the gesture being traced.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawNormal(float[] target, int offset) {
+        return this.leap.convert(this._circle.normal(), target, offset);
     }
 
     /**
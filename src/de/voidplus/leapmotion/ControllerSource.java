@@ -0,0 +1,65 @@
+package de.voidplus.leapmotion;
+
+import com.leapmotion.leap.Controller;
+import com.leapmotion.leap.Listener;
+
+
+/**
+ * Frames of the device (native SDK controller and listener).
+ */
+public class ControllerSource implements FrameSource {
+
+    private final Controller controller;
+    private Listener listener;
+
+    public ControllerSource() {
+        this.controller = new Controller();
+    }
+
+    /**
+     * Get the raw instance of com.leapmotion.leap.Controller
+     *
+     * @return used com.leapmotion.leap.Controller instance
+     */
+    public Controller getController() {
+        return this.controller;
+    }
+
+    public void start(final LeapMotion leap) {
+        this.stop();
+        this.listener = new Listener() {
+            public void onInit(Controller controller) {
+                leap.dispatch("leapOnInit");
+            }
+
+            public void onConnect(Controller controller) {
+                leap.dispatch("leapOnConnect");
+            }
+
+            public void onDisconnect(Controller controller) {
+                leap.dispatch("leapOnDisconnect");
+            }
+
+            public void onExit(Controller controller) {
+                leap.dispatch("leapOnExit");
+            }
+
+            public void onFrame(Controller controller) {
+                leap.update(controller.frame());
+            }
+        };
+        this.controller.addListener(this.listener);
+    }
+
+    public void stop() {
+        if (this.listener != null) {
+            this.controller.removeListener(this.listener);
+            this.listener = null;
+        }
+    }
+
+    public boolean isConnected() {
+        return this.controller.isConnected();
+    }
+
+}
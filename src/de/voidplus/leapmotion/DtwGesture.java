@@ -0,0 +1,99 @@
+package de.voidplus.leapmotion;
+
+
+/**
+ * Match of a hand trajectory with a template of the DtwRecognizer.
+ */
+public class DtwGesture {
+
+    private final String name;
+    private final int handId;
+    private final boolean left;
+    private float distance;
+    private float bestDistance;
+    private int frames;
+
+    DtwGesture(String name, int handId, boolean left, float distance) {
+        this.name = name;
+        this.handId = handId;
+        this.left = left;
+        this.distance = distance;
+        this.bestDistance = distance;
+        this.frames = 1;
+    }
+
+    /**
+     * Take the distance of the following frame.
+     *
+     * @param distance Distance
+     */
+    void update(float distance) {
+        this.distance = distance;
+        this.bestDistance = Math.min(this.bestDistance, distance);
+        this.frames++;
+    }
+
+    /**
+     * Get the name of the template.
+     *
+     * @return Name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Get the id of the hand.
+     *
+     * @return ID
+     */
+    public int getHandId() {
+        return this.handId;
+    }
+
+    /**
+     * Is it the left hand?
+     *
+     * @return Is it the left hand?
+     */
+    public boolean isLeft() {
+        return this.left;
+    }
+
+    /**
+     * Is it the right hand?
+     *
+     * @return Is it the right hand?
+     */
+    public boolean isRight() {
+        return !this.left;
+    }
+
+    /**
+     * Get the distance of the latest frame (root mean square of the warped points, normalized trajectories).
+     *
+     * @return Distance
+     */
+    public float getDistance() {
+        return this.distance;
+    }
+
+    /**
+     * Get the smallest distance since the start of the match.
+     *
+     * @return Distance
+     */
+    public float getBestDistance() {
+        return this.bestDistance;
+    }
+
+    /**
+     * Get the number of frames since the start of the match.
+     *
+     * @return Number of frames
+     */
+    public int getFrames() {
+        return this.frames;
+    }
+
+}
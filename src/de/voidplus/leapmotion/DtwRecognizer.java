@@ -0,0 +1,567 @@
+package de.voidplus.leapmotion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import processing.core.PVector;
+
+
+/**
+ * Recognizer of gestures by dynamic time warping (DTW) against a large library of templates.
+ * <p/>
+ * The trajectory of the palm (or of a fingertip) is collected per hand over a sliding window, resampled and normalized like the templates. Every template is first checked by cheap lower bounds of the DTW distance (LB_Kim: first and last point, LB_Keogh: distance to the envelope of the template), which are abandoned as soon as they exceed the best distance so far. Only the remaining templates are warped, within a Sakoe-Chiba band and abandoned as soon as a whole row of the cost matrix exceeds the best distance. The templates are split into partitions, which run in parallel on the common fork/join pool.
+ * <p/>
+ * The best match per hand is reported like the gestures of the SDK: leapOnDtwGesture(DtwGesture gesture, int state) with state 1 (start), 2 (update) and 3 (stop, the trajectory doesn't match the template anymore).
+ */
+public class DtwRecognizer {
+
+    public static final int PALM = TemplateRecognizer.PALM;
+
+    // Number of templates per partition
+    private static final int PARTITION = 64;
+
+    private final LeapMotion leap;
+    private final ArrayList<Template> templates;
+    private Partition[] partitions;
+
+    private int source;
+    private int samples;
+    private int band;
+    private float bandWidth;
+    private long window;
+    private float threshold;
+    private float minimumLength;
+
+    // Trajectories and current matches of the left and the right hand
+    private final Trajectory[] trajectories;
+    private final DtwGesture[] matches;
+    private final int[] matchTemplates;
+    private final float[] point;
+    private float[] candidate;
+
+    // Best cost (upper 32 bits, float bits) and index of the template (lower 32 bits)
+    private final AtomicLong best;
+    private final AtomicLong pruned;
+    private final AtomicLong warped;
+
+    private static class Template {
+        final String name;
+        final float[] path;
+        final int count;
+        float[] points;
+        float[] upper;
+        float[] lower;
+
+        Template(String name, float[] path, int count) {
+            this.name = name;
+            this.path = path;
+            this.count = count;
+        }
+    }
+
+    DtwRecognizer(LeapMotion leap) {
+        this.leap = leap;
+        this.templates = new ArrayList<Template>();
+        this.source = PALM;
+        this.samples = 32;
+        this.bandWidth = 0.1f;
+        this.band = DtwRecognizer.band(this.samples, this.bandWidth);
+        this.window = 1000000L;
+        this.threshold = 0.08f;
+        this.minimumLength = 80;
+        this.trajectories = new Trajectory[]{new Trajectory(), new Trajectory()};
+        this.matches = new DtwGesture[2];
+        this.matchTemplates = new int[]{-1, -1};
+        this.point = new float[3];
+        this.candidate = new float[this.samples * 3];
+        this.best = new AtomicLong();
+        this.pruned = new AtomicLong();
+        this.warped = new AtomicLong();
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Settings */
+
+    /**
+     * Set the tracked point.
+     *
+     * @param source DtwRecognizer.PALM or type of the finger (0:TYPE_THUMB, 1:TYPE_INDEX, 2:TYPE_MIDDLE, 3:TYPE_RING, 4:TYPE_PINKY)
+     * @return DtwRecognizer
+     */
+    public DtwRecognizer setSource(int source) {
+        this.source = source;
+        this.reset();
+        return this;
+    }
+
+    /**
+     * Set the number of points of the resampled trajectories.
+     *
+     * @param samples Number of points (default 32)
+     * @return DtwRecognizer
+     */
+    public DtwRecognizer setSamples(int samples) {
+        this.samples = Math.max(samples, 2);
+        this.band = DtwRecognizer.band(this.samples, this.bandWidth);
+        this.candidate = new float[this.samples * 3];
+        this.prepare();
+        return this;
+    }
+
+    /**
+     * Set the width of the Sakoe-Chiba band (maximum warping).
+     *
+     * @param width Fraction of the trajectory (default 0.1)
+     * @return DtwRecognizer
+     */
+    public DtwRecognizer setBand(float width) {
+        this.bandWidth = Math.max(width, 0);
+        this.band = DtwRecognizer.band(this.samples, this.bandWidth);
+        this.prepare();
+        return this;
+    }
+
+    /**
+     * Set the length of the sliding window.
+     *
+     * @param milliseconds Duration (default 1000)
+     * @return DtwRecognizer
+     */
+    public DtwRecognizer setWindow(int milliseconds) {
+        this.window = Math.max(milliseconds, 1) * 1000L;
+        return this;
+    }
+
+    /**
+     * Set the maximum distance of a match.
+     *
+     * @param distance Root mean square of the warped points (normalized trajectories, default 0.08)
+     * @return DtwRecognizer
+     */
+    public DtwRecognizer setThreshold(float distance) {
+        this.threshold = distance;
+        return this;
+    }
+
+    /**
+     * Set the minimum length of a trajectory, shorter movements are ignored.
+     *
+     * @param millimeters Length (default 80)
+     * @return DtwRecognizer
+     */
+    public DtwRecognizer setMinimumLength(float millimeters) {
+        this.minimumLength = millimeters;
+        return this;
+    }
+
+    /**
+     * Get the number of templates, which were skipped by the lower bounds.
+     *
+     * @return Number of templates
+     */
+    public long getPruned() {
+        return this.pruned.get();
+    }
+
+    /**
+     * Get the number of templates, which were warped.
+     *
+     * @return Number of templates
+     */
+    public long getWarped() {
+        return this.warped.get();
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Templates */
+
+    /**
+     * Add a template.
+     *
+     * @param name   Name of the gesture
+     * @param points Trajectory (x, y, z per point)
+     * @return DtwRecognizer
+     */
+    public DtwRecognizer addTemplate(String name, float[] points) {
+        int count = points.length / 3;
+        float[] path = new float[count * 3];
+        System.arraycopy(points, 0, path, 0, path.length);
+        Template template = new Template(name, path, count);
+        if (this.prepare(template)) {
+            this.templates.add(template);
+            this.partitions = null;
+        }
+        return this;
+    }
+
+    /**
+     * Add a template.
+     *
+     * @param name   Name of the gesture
+     * @param points Trajectory
+     * @return DtwRecognizer
+     */
+    public DtwRecognizer addTemplate(String name, List<PVector> points) {
+        return this.addTemplate(name, Trajectory.toArray(points));
+    }
+
+    /**
+     * Remove all templates of a gesture.
+     *
+     * @param name Name of the gesture
+     * @return DtwRecognizer
+     */
+    public DtwRecognizer removeTemplate(String name) {
+        for (int i = this.templates.size() - 1; i >= 0; i--) {
+            if (this.templates.get(i).name.equals(name)) {
+                this.templates.remove(i);
+            }
+        }
+        this.partitions = null;
+        this.reset();
+        return this;
+    }
+
+    /**
+     * Remove all templates.
+     *
+     * @return DtwRecognizer
+     */
+    public DtwRecognizer clearTemplates() {
+        this.templates.clear();
+        this.partitions = null;
+        this.reset();
+        return this;
+    }
+
+    /**
+     * Get the number of templates.
+     *
+     * @return Number of templates
+     */
+    public int countTemplates() {
+        return this.templates.size();
+    }
+
+    private void prepare() {
+        for (Template template : this.templates) {
+            this.prepare(template);
+        }
+        this.partitions = null;
+    }
+
+    /**
+     * Resample and normalize a template and compute its envelope (minimum and maximum within the band).
+     *
+     * @param template Template
+     * @return Has the trajectory a length?
+     */
+    private boolean prepare(Template template) {
+        int n = this.samples;
+        float[] points = new float[n * 3];
+        if (!Trajectory.resample(template.path, template.count, points, n)) {
+            return false;
+        }
+        Trajectory.normalize(points, n);
+        float[] upper = new float[n * 3];
+        float[] lower = new float[n * 3];
+        for (int i = 0; i < n; i++) {
+            for (int axis = 0; axis < 3; axis++) {
+                float max = -Float.MAX_VALUE;
+                float min = Float.MAX_VALUE;
+                for (int j = Math.max(i - this.band, 0); j <= Math.min(i + this.band, n - 1); j++) {
+                    max = Math.max(max, points[j * 3 + axis]);
+                    min = Math.min(min, points[j * 3 + axis]);
+                }
+                upper[i * 3 + axis] = max;
+                lower[i * 3 + axis] = min;
+            }
+        }
+        template.points = points;
+        template.upper = upper;
+        template.lower = lower;
+        return true;
+    }
+
+    private void reset() {
+        for (int side = 0; side < this.trajectories.length; side++) {
+            this.trajectories[side].clear();
+            this.trajectories[side].handId = -1;
+            this.stop(side);
+        }
+    }
+
+    private static int band(int samples, float width) {
+        return Math.round(samples * width);
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Recognition */
+
+    /**
+     * Add the tracked points of the current frame and search the best templates (sketch thread).
+     */
+    void update() {
+        if (this.templates.isEmpty()) {
+            return;
+        }
+        long timestamp = this.leap.getTimestamp();
+        int seen = 0;
+        for (Hand hand : this.leap.getHands()) {
+            int side = hand.isLeft() ? 0 : 1;
+            Trajectory trajectory = this.trajectories[side];
+            if (trajectory.handId != hand.getId()) {
+                this.stop(side);
+                trajectory.clear();
+                trajectory.handId = hand.getId();
+            }
+            seen |= 1 << side;
+            if (Trajectory.locate(hand, this.source, this.point)) {
+                trajectory.add(timestamp, this.point[0], this.point[1], this.point[2], this.window);
+                this.match(side, hand);
+            }
+        }
+        for (int side = 0; side < this.trajectories.length; side++) {
+            if ((seen & (1 << side)) == 0) {
+                this.stop(side);
+                this.trajectories[side].clear();
+                this.trajectories[side].handId = -1;
+            }
+        }
+    }
+
+    private void match(int side, Hand hand) {
+        Trajectory trajectory = this.trajectories[side];
+        int found = -1;
+        float distance = 0;
+        if (trajectory.size() >= 2 && trajectory.resample(this.candidate, this.samples)
+                && Trajectory.length(this.candidate, this.samples) >= this.minimumLength) {
+            Trajectory.normalize(this.candidate, this.samples);
+            float limit = this.threshold * this.threshold * this.samples;
+            this.search(limit);
+            long best = this.best.get();
+            found = (int) best;
+            distance = (float) Math.sqrt(Float.intBitsToFloat((int) (best >>> 32)) / this.samples);
+        }
+
+        if (found != this.matchTemplates[side]) {
+            this.stop(side);
+        }
+        if (found < 0) {
+            return;
+        }
+        if (this.matches[side] == null) {
+            this.matches[side] = new DtwGesture(this.templates.get(found).name, hand.getId(), side == 0, distance);
+            this.matchTemplates[side] = found;
+            this.leap.dispatch("leapOnDtwGesture", DtwGesture.class, int.class, this.matches[side], 1);
+        } else {
+            this.matches[side].update(distance);
+            this.leap.dispatch("leapOnDtwGesture", DtwGesture.class, int.class, this.matches[side], 2);
+        }
+    }
+
+    private void stop(int side) {
+        DtwGesture match = this.matches[side];
+        this.matches[side] = null;
+        this.matchTemplates[side] = -1;
+        if (match != null) {
+            this.leap.dispatch("leapOnDtwGesture", DtwGesture.class, int.class, match, 3);
+        }
+    }
+
+    /**
+     * Search the template with the smallest DTW distance to the candidate (result in this.best).
+     *
+     * @param limit Maximum cost
+     */
+    private void search(float limit) {
+        this.best.set(DtwRecognizer.pack(limit, -1));
+        if (this.partitions == null) {
+            int count = this.templates.size();
+            this.partitions = new Partition[(count + PARTITION - 1) / PARTITION];
+            for (int p = 0; p < this.partitions.length; p++) {
+                this.partitions[p] = new Partition(p * PARTITION, Math.min((p + 1) * PARTITION, count));
+            }
+        }
+        if (this.partitions.length == 1) {
+            this.partitions[0].search();
+        } else {
+            ForkJoinPool.commonPool().invoke(new Partitions(0, this.partitions.length));
+        }
+    }
+
+    /**
+     * Keep a cost and the index of its template, if the cost is smaller than the best so far.
+     *
+     * @param cost  Cost
+     * @param index Index of the template
+     */
+    private void offer(float cost, int index) {
+        long candidate = DtwRecognizer.pack(cost, index);
+        long current;
+        while (candidate < (current = this.best.get())) {
+            if (this.best.compareAndSet(current, candidate)) {
+                return;
+            }
+        }
+    }
+
+    private float limit() {
+        return Float.intBitsToFloat((int) (this.best.get() >>> 32));
+    }
+
+    private static long pack(float cost, int index) {
+        // the bits of positive floats are ordered like the floats
+        return ((long) Float.floatToIntBits(cost) << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Fork/join task over a range of partitions.
+     */
+    private class Partitions extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        Partitions(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                DtwRecognizer.this.partitions[this.from].search();
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            RecursiveAction.invokeAll(new Partitions(this.from, middle), new Partitions(middle, this.to));
+        }
+
+    }
+
+    /**
+     * Templates with their own rows of the cost matrix.
+     */
+    private class Partition {
+
+        private final int from;
+        private final int to;
+        private float[] previous;
+        private float[] current;
+
+        Partition(int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.previous = new float[DtwRecognizer.this.samples];
+            this.current = new float[DtwRecognizer.this.samples];
+        }
+
+        void search() {
+            float[] candidate = DtwRecognizer.this.candidate;
+            int n = DtwRecognizer.this.samples;
+            int pruned = 0;
+            int warped = 0;
+            for (int t = this.from; t < this.to; t++) {
+                Template template = DtwRecognizer.this.templates.get(t);
+                float limit = DtwRecognizer.this.limit();
+                if (DtwRecognizer.kim(candidate, template.points, n) >= limit
+                        || DtwRecognizer.keogh(candidate, template.upper, template.lower, n, limit) >= limit) {
+                    pruned++;
+                    continue;
+                }
+                warped++;
+                float cost = this.warp(candidate, template.points, n, DtwRecognizer.this.band, limit);
+                if (cost < limit) {
+                    DtwRecognizer.this.offer(cost, t);
+                }
+            }
+            DtwRecognizer.this.pruned.addAndGet(pruned);
+            DtwRecognizer.this.warped.addAndGet(warped);
+        }
+
+        /**
+         * DTW cost (sum of the squared distances along the warping path) within the band, abandoned at the limit.
+         */
+        private float warp(float[] a, float[] b, int n, int band, float limit) {
+            float[] previous = this.previous;
+            float[] current = this.current;
+            Arrays.fill(previous, Float.POSITIVE_INFINITY);
+            for (int i = 0; i < n; i++) {
+                Arrays.fill(current, Float.POSITIVE_INFINITY);
+                int from = Math.max(i - band, 0);
+                int to = Math.min(i + band, n - 1);
+                float minimum = Float.POSITIVE_INFINITY;
+                for (int j = from; j <= to; j++) {
+                    float dx = a[i * 3] - b[j * 3];
+                    float dy = a[i * 3 + 1] - b[j * 3 + 1];
+                    float dz = a[i * 3 + 2] - b[j * 3 + 2];
+                    float step;
+                    if (i == 0 && j == 0) {
+                        step = 0;
+                    } else if (j == 0) {
+                        step = previous[0];
+                    } else {
+                        step = Math.min(previous[j], Math.min(previous[j - 1], current[j - 1]));
+                    }
+                    float cost = dx * dx + dy * dy + dz * dz + step;
+                    current[j] = cost;
+                    minimum = Math.min(minimum, cost);
+                }
+                if (minimum >= limit) {
+                    return minimum;
+                }
+                float[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return previous[n - 1];
+        }
+
+    }
+
+    /**
+     * Lower bound of the DTW cost by the first and the last point (LB_Kim).
+     */
+    private static float kim(float[] a, float[] b, int n) {
+        int last = (n - 1) * 3;
+        float dx = a[0] - b[0];
+        float dy = a[1] - b[1];
+        float dz = a[2] - b[2];
+        float ex = a[last] - b[last];
+        float ey = a[last + 1] - b[last + 1];
+        float ez = a[last + 2] - b[last + 2];
+        return dx * dx + dy * dy + dz * dz + ex * ex + ey * ey + ez * ez;
+    }
+
+    /**
+     * Lower bound of the DTW cost by the distance to the envelope of the template (LB_Keogh), abandoned at the limit.
+     */
+    private static float keogh(float[] a, float[] upper, float[] lower, int n, float limit) {
+        float sum = 0;
+        for (int i = 0; i < n * 3; i++) {
+            float value = a[i];
+            if (value > upper[i]) {
+                float d = value - upper[i];
+                sum += d * d;
+            } else if (value < lower[i]) {
+                float d = lower[i] - value;
+                sum += d * d;
+            }
+            if (sum >= limit) {
+                return sum;
+            }
+        }
+        return sum;
+    }
+
+}
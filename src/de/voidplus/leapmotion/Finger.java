@@ -7,13 +7,37 @@ import processing.core.PVector;
 
 public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.Finger> {
 
+    private static final String[] TYPE_NAMES = {"thumb", "index", "middle", "ring", "pinky"};
+
     private com.leapmotion.leap.Finger _finger;
+    private Bone[] bones;
+    private float[] joints;
 
     public Finger(PApplet parent, LeapMotion leap, com.leapmotion.leap.Finger _finger) {
         super(parent, leap, (com.leapmotion.leap.Pointable) _finger);
         this._finger = _finger;
     }
 
+    Finger(PApplet parent, LeapMotion leap, FrameSnapshot snapshot, int index) {
+        super(parent, leap, snapshot, index);
+    }
+
+    /**
+     * Rebind the (pooled) instance to another finger.
+     *
+     * @param _finger Instance of com.leapmotion.leap.Finger
+     */
+    void bind(com.leapmotion.leap.Finger _finger) {
+        super.bind(_finger);
+        this._finger = _finger;
+    }
+
+    @Override
+    void bind(FrameSnapshot snapshot, int index) {
+        super.bind(snapshot, index);
+        this._finger = null;
+    }
+
     /**
      * Is it a valid Finger object?
      *
@@ -21,6 +45,9 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      */
     @Override
     public boolean isValid() {
+        if (this.snapshot != null) {
+            return true;
+        }
         return this._finger.isValid();
     }
 
@@ -31,6 +58,9 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      */
     @Override
     public com.leapmotion.leap.Finger getRaw() {
+        if (this._finger == null && this.snapshot != null && this.snapshot.getFrame() != null) {
+            this._finger = this.snapshot.getFrame().finger(this.getId());
+        }
         return this._finger;
     }
 
@@ -40,6 +70,9 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Is the finger extended?
      */
     public boolean isExtended() {
+        if (this.snapshot != null) {
+            return (this.snapshot.pointableFlags[this.index] & FrameSnapshot.POINTABLE_EXTENDED) != 0;
+        }
         return this._finger.isExtended();
     }
 
@@ -49,8 +82,37 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Position
      */
     public PVector getPositionOfJointTip() {
+        return this.getPositionOfJointTip(new PVector());
+    }
+
+    /**
+     * The finger tip position in millimeters.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPositionOfJointTip(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(0, FrameSnapshot.JOINT_NEXT), target);
+        }
+        return this.leap.map(this._finger.jointPosition(
+                com.leapmotion.leap.Finger.Joint.JOINT_TIP), target
+        );
+    }
+
+    /**
+     * The finger tip position in millimeters.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPositionOfJointTip(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(0, FrameSnapshot.JOINT_NEXT), target, offset);
+        }
         return this.leap.map(this._finger.jointPosition(
-                com.leapmotion.leap.Finger.Joint.JOINT_TIP)
+                com.leapmotion.leap.Finger.Joint.JOINT_TIP), target, offset
         );
     }
 
@@ -60,8 +122,37 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Position
      */
     public PVector getPositionOfJointMcp() {
+        return this.getPositionOfJointMcp(new PVector());
+    }
+
+    /**
+     * The mcp joint position in millimeters.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPositionOfJointMcp(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(2, FrameSnapshot.JOINT_PREV), target);
+        }
         return this.leap.map(this._finger.jointPosition(
-                com.leapmotion.leap.Finger.Joint.JOINT_MCP)
+                com.leapmotion.leap.Finger.Joint.JOINT_MCP), target
+        );
+    }
+
+    /**
+     * The mcp joint position in millimeters.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPositionOfJointMcp(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(2, FrameSnapshot.JOINT_PREV), target, offset);
+        }
+        return this.leap.map(this._finger.jointPosition(
+                com.leapmotion.leap.Finger.Joint.JOINT_MCP), target, offset
         );
     }
 
@@ -71,8 +162,37 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Position
      */
     public PVector getPositionOfJointPip() {
+        return this.getPositionOfJointPip(new PVector());
+    }
+
+    /**
+     * The pip joint position in millimeters.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPositionOfJointPip(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(1, FrameSnapshot.JOINT_PREV), target);
+        }
+        return this.leap.map(this._finger.jointPosition(
+                com.leapmotion.leap.Finger.Joint.JOINT_PIP), target
+        );
+    }
+
+    /**
+     * The pip joint position in millimeters.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPositionOfJointPip(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(1, FrameSnapshot.JOINT_PREV), target, offset);
+        }
         return this.leap.map(this._finger.jointPosition(
-                com.leapmotion.leap.Finger.Joint.JOINT_PIP)
+                com.leapmotion.leap.Finger.Joint.JOINT_PIP), target, offset
         );
     }
 
@@ -82,8 +202,37 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Position
      */
     public PVector getPositionOfJointDip() {
+        return this.getPositionOfJointDip(new PVector());
+    }
+
+    /**
+     * The dip joint position in millimeters.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPositionOfJointDip(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(0, FrameSnapshot.JOINT_PREV), target);
+        }
         return this.leap.map(this._finger.jointPosition(
-                com.leapmotion.leap.Finger.Joint.JOINT_DIP)
+                com.leapmotion.leap.Finger.Joint.JOINT_DIP), target
+        );
+    }
+
+    /**
+     * The dip joint position in millimeters.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPositionOfJointDip(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.joints, this.jointOffset(0, FrameSnapshot.JOINT_PREV), target, offset);
+        }
+        return this.leap.map(this._finger.jointPosition(
+                com.leapmotion.leap.Finger.Joint.JOINT_DIP), target, offset
         );
     }
 
@@ -93,8 +242,37 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Raw position
      */
     public PVector getRawPositionOfJointTip() {
+        return this.getRawPositionOfJointTip(new PVector());
+    }
+
+    /**
+     * Raw data of the finger tip position.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawPositionOfJointTip(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(0, FrameSnapshot.JOINT_NEXT), target);
+        }
+        return this.leap.convert(this._finger.jointPosition(
+                com.leapmotion.leap.Finger.Joint.JOINT_TIP), target
+        );
+    }
+
+    /**
+     * Raw data of the finger tip position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawPositionOfJointTip(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(0, FrameSnapshot.JOINT_NEXT), target, offset);
+        }
         return this.leap.convert(this._finger.jointPosition(
-                com.leapmotion.leap.Finger.Joint.JOINT_TIP)
+                com.leapmotion.leap.Finger.Joint.JOINT_TIP), target, offset
         );
     }
 
@@ -104,8 +282,37 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Raw position
      */
     public PVector getRawPositionOfJointMcp() {
+        return this.getRawPositionOfJointMcp(new PVector());
+    }
+
+    /**
+     * Raw data of the mcp joint position.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawPositionOfJointMcp(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(2, FrameSnapshot.JOINT_PREV), target);
+        }
+        return this.leap.convert(this._finger.jointPosition(
+                com.leapmotion.leap.Finger.Joint.JOINT_MCP), target
+        );
+    }
+
+    /**
+     * Raw data of the mcp joint position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawPositionOfJointMcp(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(2, FrameSnapshot.JOINT_PREV), target, offset);
+        }
         return this.leap.convert(this._finger.jointPosition(
-                com.leapmotion.leap.Finger.Joint.JOINT_MCP)
+                com.leapmotion.leap.Finger.Joint.JOINT_MCP), target, offset
         );
     }
 
@@ -115,8 +322,37 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Raw position
      */
     public PVector getRawPositionOfJointPip() {
+        return this.getRawPositionOfJointPip(new PVector());
+    }
+
+    /**
+     * Raw data of the pip joint position.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawPositionOfJointPip(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(1, FrameSnapshot.JOINT_PREV), target);
+        }
         return this.leap.convert(this._finger.jointPosition(
-                com.leapmotion.leap.Finger.Joint.JOINT_PIP)
+                com.leapmotion.leap.Finger.Joint.JOINT_PIP), target
+        );
+    }
+
+    /**
+     * Raw data of the pip joint position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawPositionOfJointPip(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(1, FrameSnapshot.JOINT_PREV), target, offset);
+        }
+        return this.leap.convert(this._finger.jointPosition(
+                com.leapmotion.leap.Finger.Joint.JOINT_PIP), target, offset
         );
     }
 
@@ -126,8 +362,37 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Raw position
      */
     public PVector getRawPositionOfJointDip() {
+        return this.getRawPositionOfJointDip(new PVector());
+    }
+
+    /**
+     * Raw data of the dip joint position.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawPositionOfJointDip(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(0, FrameSnapshot.JOINT_PREV), target);
+        }
         return this.leap.convert(this._finger.jointPosition(
-                com.leapmotion.leap.Finger.Joint.JOINT_DIP)
+                com.leapmotion.leap.Finger.Joint.JOINT_DIP), target
+        );
+    }
+
+    /**
+     * Raw data of the dip joint position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawPositionOfJointDip(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.joints, this.jointOffset(0, FrameSnapshot.JOINT_PREV), target, offset);
+        }
+        return this.leap.convert(this._finger.jointPosition(
+                com.leapmotion.leap.Finger.Joint.JOINT_DIP), target, offset
         );
     }
 
@@ -137,6 +402,9 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Index of index
      */
     public int getType() {
+        if (this.snapshot != null) {
+            return this.snapshot.pointableTypes[this.index];
+        }
         com.leapmotion.leap.Finger.Type type = this._finger.type();
         switch (type) {
             case TYPE_THUMB:
@@ -159,18 +427,9 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Name of finger
      */
     public String getTypeName() {
-        com.leapmotion.leap.Finger.Type type = this._finger.type();
-        switch (type) {
-            case TYPE_THUMB:
-                return "thumb";
-            case TYPE_INDEX:
-                return "index";
-            case TYPE_MIDDLE:
-                return "middle";
-            case TYPE_RING:
-                return "ring";
-            case TYPE_PINKY:
-                return "pinky";
+        int type = this.getType();
+        if (type >= 0 && type < Finger.TYPE_NAMES.length) {
+            return Finger.TYPE_NAMES[type];
         }
         return "";
     }
@@ -184,17 +443,13 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
     public Bone getBone(String name) {
         name = name.toLowerCase();
         if (name.equals("distal")) {
-            return new Bone(parent, leap, this._finger.bone(
-                    com.leapmotion.leap.Bone.Type.TYPE_DISTAL));
+            return this.getBone(0);
         } else if (name.equals("intermediate")) {
-            return new Bone(parent, leap, this._finger.bone(
-                    com.leapmotion.leap.Bone.Type.TYPE_INTERMEDIATE));
+            return this.getBone(1);
         } else if (name.equals("proximal")) {
-            return new Bone(parent, leap, this._finger.bone(
-                    com.leapmotion.leap.Bone.Type.TYPE_PROXIMAL));
+            return this.getBone(2);
         } else if (name.equals("metacarpal")) {
-            return new Bone(parent, leap, this._finger.bone(
-                    com.leapmotion.leap.Bone.Type.TYPE_METACARPAL));
+            return this.getBone(3);
         }
         return null;
     }
@@ -206,6 +461,15 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Single bone or null
      */
     public Bone getBone(int type) {
+        if (this.leap.isPooling()) {
+            return this.getPooledBone(type);
+        }
+        if (this.snapshot != null) {
+            if (type >= 0 && type < FrameSnapshot.BONES) {
+                return new Bone(parent, leap, this.snapshot, this.index, type);
+            }
+            return null;
+        }
         switch (type) {
             case 0:
                 return new Bone(parent, leap, this._finger.bone(
@@ -223,14 +487,38 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
         return null;
     }
 
+    /**
+     * Get a bone of the finger, which is reused for the following frames.
+     *
+     * @param type (0-3, 0=distal, 1=intermediate, 2=proximal, 3=metacarpal).
+     * @return Single bone or null
+     */
+    private Bone getPooledBone(int type) {
+        if (type < 0 || type >= FrameSnapshot.BONES) {
+            return null;
+        }
+        if (this.bones == null) {
+            this.bones = new Bone[FrameSnapshot.BONES];
+        }
+        Bone bone = this.bones[type];
+        if (bone == null) {
+            bone = this.bones[type] = new Bone(this.parent, this.leap, (com.leapmotion.leap.Bone) null);
+        }
+        if (this.snapshot != null) {
+            bone.bind(this.snapshot, this.index, type);
+        } else {
+            bone.bind(this._finger.bone(FrameSnapshot.BONE_TYPES[type]));
+        }
+        return bone;
+    }
+
     /**
      * Get the distal bone of the finger.
      *
      * @return Single bone
      */
     public Bone getDistalBone() {
-        return new Bone(parent, leap, this._finger.bone(
-                com.leapmotion.leap.Bone.Type.TYPE_DISTAL));
+        return this.getBone(0);
     }
 
     /**
@@ -239,8 +527,7 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Single bone
      */
     public Bone getIntermediateBone() {
-        return new Bone(parent, leap, this._finger.bone(
-                com.leapmotion.leap.Bone.Type.TYPE_INTERMEDIATE));
+        return this.getBone(1);
     }
 
     /**
@@ -249,8 +536,7 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Single bone
      */
     public Bone getMetacarpalBone() {
-        return new Bone(parent, leap, this._finger.bone(
-                com.leapmotion.leap.Bone.Type.TYPE_METACARPAL));
+        return this.getBone(3);
     }
 
     /**
@@ -259,8 +545,71 @@ public class Finger extends Pointable implements RawAccess<com.leapmotion.leap.F
      * @return Single bone
      */
     public Bone getProximalBone() {
-        return new Bone(parent, leap, this._finger.bone(
-                com.leapmotion.leap.Bone.Type.TYPE_PROXIMAL));
+        return this.getBone(2);
+    }
+
+
+    /**
+     * Get the offset of a joint in the joint data of the snapshot.
+     *
+     * @param bone  Type of bone (0-3)
+     * @param joint FrameSnapshot.JOINT_PREV or FrameSnapshot.JOINT_NEXT
+     * @return Offset
+     */
+    protected int jointOffset(int bone, int joint) {
+        return this.index * FrameSnapshot.JOINT_STRIDE + bone * FrameSnapshot.JOINT_BONE_STRIDE + joint;
+    }
+
+    /**
+     * Is the finger outstretched by the ratio of the direct distance and the length of all bones?
+     *
+     * @param similarity Minimum value of similarity
+     * @return Is the finger outstretched?
+     */
+    boolean isOutstretchedByAngel(int similarity) {
+        if (this.snapshot != null) {
+            return Finger.isOutstretchedByAngel(this.snapshot.joints, this.index * FrameSnapshot.JOINT_STRIDE, this.getType(), similarity);
+        }
+        if (this.joints == null) {
+            this.joints = new float[FrameSnapshot.JOINT_STRIDE];
+        }
+        return Finger.isOutstretchedByAngel(Finger.getJoints(this._finger, this.joints), 0, this.getType(), similarity);
+    }
+
+    /**
+     * Is a finger outstretched by the ratio of the direct distance and the length of all bones?
+     * <p/>
+     * The ratio is calculated on the raw joints in millimeters, so it doesn't depend on the size of the sketch.
+     *
+     * @param joints     Joints (layout of FrameSnapshot.JOINT_STRIDE)
+     * @param offset     Offset of the finger
+     * @param type       Type of the finger (0=thumb ... 4=pinky)
+     * @param similarity Minimum value of similarity
+     * @return Is the finger outstretched?
+     */
+    static boolean isOutstretchedByAngel(float[] joints, int offset, int type, int similarity) {
+        // calculate total distance
+        float distance = BatchMath.boneLength(joints, offset);
+        // calculate shortest distance
+        float direct = BatchMath.chordLength(joints, offset, type);
+        // calculate ratio
+        return (direct / distance * 100) >= similarity;
+    }
+
+    /**
+     * Copy the raw joints of a finger.
+     *
+     * @param _finger Instance of com.leapmotion.leap.Finger
+     * @param target  Target array (layout of FrameSnapshot.JOINT_STRIDE)
+     * @return Target array
+     */
+    static float[] getJoints(com.leapmotion.leap.Finger _finger, float[] target) {
+        for (int b = 0; b < FrameSnapshot.BONES; b++) {
+            com.leapmotion.leap.Bone _bone = _finger.bone(FrameSnapshot.BONE_TYPES[b]);
+            FrameSnapshot.put(target, b * FrameSnapshot.JOINT_BONE_STRIDE + FrameSnapshot.JOINT_PREV, _bone.prevJoint());
+            FrameSnapshot.put(target, b * FrameSnapshot.JOINT_BONE_STRIDE + FrameSnapshot.JOINT_NEXT, _bone.nextJoint());
+        }
+        return target;
     }
 
 
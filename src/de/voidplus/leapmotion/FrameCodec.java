@@ -0,0 +1,350 @@
+package de.voidplus.leapmotion;
+
+
+/**
+ * Compact binary encoding of snapshots for recordings.
+ * <p/>
+ * All values are quantized to integers (positions and lengths to 0.1 mm, velocities to 1 mm/s, directions to 0.001, ratios to 0.001, times to 1 ms) and written as zigzag varints. Every value of a hand or pointable is stored as difference to the previous frame, if the hand or pointable at the same index had the same ID, otherwise as absolute value. Fingers store only their five distinct joints and the widths of the bones, the other bone data is derived from the joints.
+ * <p/>
+ * Frame: id, timestamp (differences), frame rate, number of hands, number of tools; per hand: id, flags, palm data, arm data (if any), number of fingers, fingers; per finger or tool: id, type, flags, zone, pointable data, joints and bone widths (fingers only).
+ */
+final class FrameCodec {
+
+    // Header of a recording
+    static final byte[] MAGIC = {'L', 'M', 'F', 'R'};
+    static final int VERSION = 1;
+
+    // Flag of values, which are stored as difference to the previous frame
+    private static final int DELTA = 1 << 8;
+
+    // Quantization
+    private static final float MM = 10.0f;
+    private static final float VELOCITY = 1.0f;
+    private static final float UNIT = 1000.0f;
+    private static final float RATIO = 1000.0f;
+    private static final float SECONDS = 1000.0f;
+
+    private static final float[] PALM_SCALES = {
+            MM, MM, MM, MM, MM, MM, VELOCITY, VELOCITY, VELOCITY,
+            UNIT, UNIT, UNIT, UNIT, UNIT, UNIT,
+            MM, MM, MM, MM,
+            RATIO, RATIO, RATIO, SECONDS, MM
+    };
+    private static final float[] ARM_SCALES = {
+            MM, MM, MM, MM, MM, MM, MM, MM, MM, MM
+    };
+    private static final float[] POINTABLE_SCALES = {
+            MM, MM, MM, MM, MM, MM, VELOCITY, VELOCITY, VELOCITY,
+            UNIT, UNIT, UNIT,
+            MM, MM, SECONDS, RATIO
+    };
+
+    // Distinct joints of a finger (base of the metacarpal, next joints of the metacarpal ... distal bone)
+    private static final int JOINTS = FrameSnapshot.BONES + 1;
+    private static final int JOINT_VALUES = JOINTS * 3;
+
+    private byte[] buffer;
+    private int position;
+
+    // Quantized values of the previous frame
+    private long previousId;
+    private long previousTimestamp;
+    private int previousHands;
+    private int[] handIds;
+    private int[] palms;
+    private int[] arms;
+    private int previousPointables;
+    private int[] pointableIds;
+    private int[] pointables;
+    private int[] joints;
+    private int[] widths;
+
+    FrameCodec() {
+        this.buffer = new byte[1024];
+        this.handIds = new int[0];
+        this.palms = new int[0];
+        this.arms = new int[0];
+        this.pointableIds = new int[0];
+        this.pointables = new int[0];
+        this.joints = new int[0];
+        this.widths = new int[0];
+    }
+
+    /**
+     * Get the buffer with the last encoded frame.
+     *
+     * @return Buffer
+     */
+    byte[] getBuffer() {
+        return this.buffer;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Encoding */
+
+    /**
+     * Encode a snapshot into the buffer.
+     *
+     * @param snapshot Snapshot with extracted data
+     * @return Number of bytes
+     */
+    int encode(FrameSnapshot snapshot) {
+        this.position = 0;
+        int hands = snapshot.handCount;
+        int pointables = snapshot.pointableCount;
+        this.ensure(hands, pointables);
+
+        this.writeSigned(snapshot.id - this.previousId);
+        this.writeSigned(snapshot.timestamp - this.previousTimestamp);
+        this.writeSigned(Math.round(snapshot.frameRate * 100));
+        this.writeSigned(hands);
+        this.writeSigned(pointables - snapshot.fingerCount);
+        this.previousId = snapshot.id;
+        this.previousTimestamp = snapshot.timestamp;
+
+        for (int h = 0; h < hands; h++) {
+            int id = snapshot.handIds[h];
+            boolean delta = h < this.previousHands && this.handIds[h] == id;
+            int flags = snapshot.handFlags[h];
+            this.writeSigned(id);
+            this.writeSigned(flags | (delta ? DELTA : 0));
+            this.writeValues(snapshot.palms, h * FrameSnapshot.PALM_STRIDE, PALM_SCALES, this.palms, delta);
+            if ((flags & FrameSnapshot.HAND_ARM) != 0) {
+                this.writeValues(snapshot.arms, h * FrameSnapshot.ARM_STRIDE, ARM_SCALES, this.arms, delta);
+            }
+            this.writeSigned(snapshot.handFingerCounts[h]);
+            int offset = snapshot.handFingerOffsets[h];
+            for (int p = offset; p < offset + snapshot.handFingerCounts[h]; p++) {
+                this.writePointable(snapshot, p);
+            }
+            this.handIds[h] = id;
+        }
+        for (int p = snapshot.fingerCount; p < pointables; p++) {
+            this.writeSigned(snapshot.pointableHands[p]);
+            this.writePointable(snapshot, p);
+        }
+        this.previousHands = hands;
+        this.previousPointables = pointables;
+        return this.position;
+    }
+
+    private void writePointable(FrameSnapshot snapshot, int p) {
+        int id = snapshot.pointableIds[p];
+        boolean delta = p < this.previousPointables && this.pointableIds[p] == id;
+        boolean finger = p < snapshot.fingerCount;
+        this.writeSigned(id);
+        this.writeSigned(snapshot.pointableTypes[p]);
+        this.writeSigned(snapshot.pointableFlags[p] | (delta ? DELTA : 0));
+        this.writeSigned(snapshot.pointableZones[p]);
+        this.writeValues(snapshot.pointables, p * FrameSnapshot.POINTABLE_STRIDE, POINTABLE_SCALES, this.pointables, delta);
+        if (finger) {
+            int source = p * FrameSnapshot.JOINT_STRIDE;
+            int target = p * JOINT_VALUES;
+            // base of the metacarpal followed by the next joints of the metacarpal ... distal bone
+            this.writeJoint(snapshot.joints, source + 3 * FrameSnapshot.JOINT_BONE_STRIDE + FrameSnapshot.JOINT_PREV, target, delta);
+            for (int b = FrameSnapshot.BONES - 1, j = 1; b >= 0; b--, j++) {
+                this.writeJoint(snapshot.joints, source + b * FrameSnapshot.JOINT_BONE_STRIDE + FrameSnapshot.JOINT_NEXT, target + j * 3, delta);
+            }
+            for (int b = 0; b < FrameSnapshot.BONES; b++) {
+                int value = Math.round(snapshot.bones[p * FrameSnapshot.BONE_STRIDE + b * FrameSnapshot.BONE_ELEMENT_STRIDE + FrameSnapshot.BONE_WIDTH] * MM);
+                int index = p * FrameSnapshot.BONES + b;
+                this.writeSigned(delta ? value - this.widths[index] : value);
+                this.widths[index] = value;
+            }
+        }
+        this.pointableIds[p] = id;
+    }
+
+    private void writeJoint(float[] data, int offset, int target, boolean delta) {
+        for (int i = 0; i < 3; i++) {
+            int value = Math.round(data[offset + i] * MM);
+            this.writeSigned(delta ? value - this.joints[target + i] : value);
+            this.joints[target + i] = value;
+        }
+    }
+
+    private void writeValues(float[] data, int offset, float[] scales, int[] previous, boolean delta) {
+        for (int i = 0; i < scales.length; i++) {
+            int value = Math.round(data[offset + i] * scales[i]);
+            this.writeSigned(delta ? value - previous[offset + i] : value);
+            previous[offset + i] = value;
+        }
+    }
+
+    private void writeSigned(long value) {
+        // zigzag
+        long bits = (value << 1) ^ (value >> 63);
+        if (this.position + 10 > this.buffer.length) {
+            byte[] grown = new byte[this.buffer.length * 2];
+            System.arraycopy(this.buffer, 0, grown, 0, this.position);
+            this.buffer = grown;
+        }
+        while ((bits & ~0x7FL) != 0) {
+            this.buffer[this.position++] = (byte) ((bits & 0x7F) | 0x80);
+            bits >>>= 7;
+        }
+        this.buffer[this.position++] = (byte) bits;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Decoding */
+
+    /**
+     * Decode a frame into a snapshot (frames have to be decoded in the order of the recording).
+     *
+     * @param data     Encoded frame
+     * @param offset   Offset of the frame
+     * @param snapshot Target snapshot
+     */
+    void decode(byte[] data, int offset, FrameSnapshot snapshot) {
+        this.buffer = data;
+        this.position = offset;
+        snapshot.reset(null);
+
+        snapshot.id = this.previousId += this.readSigned();
+        snapshot.timestamp = this.previousTimestamp += this.readSigned();
+        snapshot.frameRate = this.readSigned() / 100.0f;
+        int hands = (int) this.readSigned();
+        int tools = (int) this.readSigned();
+        snapshot.ensureHands(hands);
+
+        int p = 0;
+        for (int h = 0; h < hands; h++) {
+            int id = (int) this.readSigned();
+            int flags = (int) this.readSigned();
+            boolean delta = (flags & DELTA) != 0;
+            flags &= ~DELTA;
+            this.ensure(h + 1, 0);
+            snapshot.handIds[h] = id;
+            snapshot.handFlags[h] = flags;
+            this.readValues(snapshot.palms, h * FrameSnapshot.PALM_STRIDE, PALM_SCALES, this.palms, delta);
+            if ((flags & FrameSnapshot.HAND_ARM) != 0) {
+                this.readValues(snapshot.arms, h * FrameSnapshot.ARM_STRIDE, ARM_SCALES, this.arms, delta);
+            }
+            int fingers = (int) this.readSigned();
+            snapshot.handFingerOffsets[h] = p;
+            snapshot.handFingerCounts[h] = fingers;
+            for (int f = 0; f < fingers; f++, p++) {
+                snapshot.ensurePointables(p + 1);
+                snapshot.pointableHands[p] = h;
+                this.readPointable(snapshot, p, true);
+            }
+            this.handIds[h] = id;
+        }
+        snapshot.fingerCount = p;
+        for (int t = 0; t < tools; t++, p++) {
+            snapshot.ensurePointables(p + 1);
+            snapshot.pointableHands[p] = (int) this.readSigned();
+            this.readPointable(snapshot, p, false);
+        }
+        snapshot.handCount = hands;
+        snapshot.pointableCount = p;
+        snapshot.extracted = true;
+        this.previousHands = hands;
+        this.previousPointables = p;
+    }
+
+    /**
+     * Get the position after the last decoded frame.
+     *
+     * @return Position
+     */
+    int getPosition() {
+        return this.position;
+    }
+
+    private void readPointable(FrameSnapshot snapshot, int p, boolean finger) {
+        this.ensure(0, p + 1);
+        int id = (int) this.readSigned();
+        snapshot.pointableIds[p] = id;
+        snapshot.pointableTypes[p] = (int) this.readSigned();
+        int flags = (int) this.readSigned();
+        boolean delta = (flags & DELTA) != 0;
+        snapshot.pointableFlags[p] = flags & ~DELTA;
+        snapshot.pointableZones[p] = (int) this.readSigned();
+        this.readValues(snapshot.pointables, p * FrameSnapshot.POINTABLE_STRIDE, POINTABLE_SCALES, this.pointables, delta);
+        if (finger) {
+            int source = p * JOINT_VALUES;
+            for (int i = 0; i < JOINT_VALUES; i++) {
+                int value = (int) this.readSigned();
+                this.joints[source + i] = delta ? this.joints[source + i] + value : value;
+            }
+            int target = p * FrameSnapshot.JOINT_STRIDE;
+            for (int b = FrameSnapshot.BONES - 1, j = 0; b >= 0; b--, j++) {
+                int bone = target + b * FrameSnapshot.JOINT_BONE_STRIDE;
+                for (int i = 0; i < 3; i++) {
+                    snapshot.joints[bone + FrameSnapshot.JOINT_PREV + i] = this.joints[source + j * 3 + i] / MM;
+                    snapshot.joints[bone + FrameSnapshot.JOINT_NEXT + i] = this.joints[source + (j + 1) * 3 + i] / MM;
+                }
+            }
+            for (int b = 0; b < FrameSnapshot.BONES; b++) {
+                int index = p * FrameSnapshot.BONES + b;
+                int value = (int) this.readSigned();
+                this.widths[index] = delta ? this.widths[index] + value : value;
+                int bone = target + b * FrameSnapshot.JOINT_BONE_STRIDE;
+                int element = p * FrameSnapshot.BONE_STRIDE + b * FrameSnapshot.BONE_ELEMENT_STRIDE;
+                float dx = snapshot.joints[bone + FrameSnapshot.JOINT_NEXT] - snapshot.joints[bone + FrameSnapshot.JOINT_PREV];
+                float dy = snapshot.joints[bone + FrameSnapshot.JOINT_NEXT + 1] - snapshot.joints[bone + FrameSnapshot.JOINT_PREV + 1];
+                float dz = snapshot.joints[bone + FrameSnapshot.JOINT_NEXT + 2] - snapshot.joints[bone + FrameSnapshot.JOINT_PREV + 2];
+                float length = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+                float scale = (length > 0) ? 1.0f / length : 0.0f;
+                snapshot.bones[element + FrameSnapshot.BONE_DIRECTION] = dx * scale;
+                snapshot.bones[element + FrameSnapshot.BONE_DIRECTION + 1] = dy * scale;
+                snapshot.bones[element + FrameSnapshot.BONE_DIRECTION + 2] = dz * scale;
+                snapshot.bones[element + FrameSnapshot.BONE_LENGTH] = length;
+                snapshot.bones[element + FrameSnapshot.BONE_WIDTH] = this.widths[index] / MM;
+            }
+        }
+        this.pointableIds[p] = id;
+    }
+
+    private void readValues(float[] data, int offset, float[] scales, int[] previous, boolean delta) {
+        for (int i = 0; i < scales.length; i++) {
+            int value = (int) this.readSigned();
+            previous[offset + i] = delta ? previous[offset + i] + value : value;
+            data[offset + i] = previous[offset + i] / scales[i];
+        }
+    }
+
+    private long readSigned() {
+        long bits = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = this.buffer[this.position++];
+            bits |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        // zigzag
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Capacity */
+
+    private void ensure(int hands, int pointables) {
+        if (this.handIds.length < hands) {
+            hands = Math.max(hands, this.handIds.length * 2);
+            this.handIds = FrameCodec.grow(this.handIds, hands);
+            this.palms = FrameCodec.grow(this.palms, hands * FrameSnapshot.PALM_STRIDE);
+            this.arms = FrameCodec.grow(this.arms, hands * FrameSnapshot.ARM_STRIDE);
+        }
+        if (this.pointableIds.length < pointables) {
+            pointables = Math.max(pointables, this.pointableIds.length * 2);
+            this.pointableIds = FrameCodec.grow(this.pointableIds, pointables);
+            this.pointables = FrameCodec.grow(this.pointables, pointables * FrameSnapshot.POINTABLE_STRIDE);
+            this.joints = FrameCodec.grow(this.joints, pointables * JOINT_VALUES);
+            this.widths = FrameCodec.grow(this.widths, pointables * FrameSnapshot.BONES);
+        }
+    }
+
+    private static int[] grow(int[] data, int length) {
+        int[] grown = new int[length];
+        System.arraycopy(data, 0, grown, 0, data.length);
+        return grown;
+    }
+
+}
@@ -0,0 +1,558 @@
+package de.voidplus.leapmotion;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import processing.core.PVector;
+
+
+/**
+ * History of the last frames (palm and joint positions, IDs and timestamps) in preallocated primitive arrays.
+ * <p/>
+ * Every device frame is recorded by the listener thread. A query (e.g. getFrameAgo) returns the sequence number of a recorded frame, which is used to read its data. The oldest frames get overwritten by new ones, so isValid(frame) tells whether the data of a frame is still available. If the timestamps or frame IDs go backwards (e.g. a looped replay), the history starts again with that frame, so the queries only cover frames in recording order.
+ */
+public class FrameHistory {
+
+    // Joints of a finger (0=base of metacarpal, 1=mcp, 2=pip, 3=dip, 4=tip)
+    public static final int JOINTS = 5;
+    public static final int JOINT_MCP = 1;
+    public static final int JOINT_PIP = 2;
+    public static final int JOINT_DIP = 3;
+    public static final int JOINT_TIP = 4;
+
+    // Frames which might be overwritten while they are read
+    private static final int GUARD = 2;
+
+    private final LeapMotion leap;
+    private final int capacity;
+    private final int slots;
+    private final int maxHands;
+
+    // Data
+    private final long[] ids;
+    private final long[] timestamps;
+    private final int[] handCounts;
+    private final int[] handIds;
+    private final float[] palms;
+    private final float[] joints;
+
+    // Number of recorded frames (written by the listener thread only)
+    private final AtomicLong head;
+
+    // First frame since the timestamps and IDs last went backwards (written by the listener thread only)
+    private volatile long first;
+
+    FrameHistory(LeapMotion leap, int capacity, int maxHands) {
+        this.leap = leap;
+        this.capacity = capacity;
+        this.slots = capacity + FrameHistory.GUARD;
+        this.maxHands = maxHands;
+        this.ids = new long[this.slots];
+        this.timestamps = new long[this.slots];
+        this.handCounts = new int[this.slots];
+        this.handIds = new int[this.slots * maxHands];
+        this.palms = new float[this.slots * maxHands * 3];
+        this.joints = new float[this.slots * maxHands * FrameSnapshot.FINGERS * FrameHistory.JOINTS * 3];
+        this.head = new AtomicLong(0);
+    }
+
+    /**
+     * Get the maximum number of recorded frames.
+     *
+     * @return Capacity
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Get the maximum number of recorded hands per frame.
+     *
+     * @return Number of hands
+     */
+    public int getMaxHands() {
+        return this.maxHands;
+    }
+
+    /**
+     * Get the number of frames which can be read.
+     *
+     * @return Number of frames
+     */
+    public int size() {
+        long head = this.head.get();
+        return (int) (head - this.oldest(head));
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Queries */
+
+    /**
+     * Get the latest recorded frame.
+     *
+     * @return Frame or -1
+     */
+    public long getFrame() {
+        return this.getFrameAgo(0);
+    }
+
+    /**
+     * Get a frame by the number of frames ago (0 = latest frame).
+     *
+     * @param n Number of frames ago
+     * @return Frame or -1
+     */
+    public long getFrameAgo(int n) {
+        long head = this.head.get();
+        if (n < 0 || n >= head - this.oldest(head)) {
+            return -1;
+        }
+        return head - 1 - n;
+    }
+
+    /**
+     * Get the latest frame which has been recorded at or before a timestamp.
+     *
+     * @param timestamp Timestamp in microseconds
+     * @return Frame or -1
+     */
+    public long getFrameAt(long timestamp) {
+        long head = this.head.get();
+        long low = this.oldest(head);
+        long high = head - 1;
+        long found = -1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            if (this.timestamps[this.slot(mid)] <= timestamp) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return this.isValid(found) ? found : -1;
+    }
+
+    /**
+     * Get a frame by its frame ID.
+     *
+     * @param id Frame ID
+     * @return Frame or -1
+     */
+    public long getFrameById(long id) {
+        long head = this.head.get();
+        long newest = head - 1;
+        if (newest < 0) {
+            return -1;
+        }
+        // Frame IDs are usually consecutive
+        long candidate = newest - (this.ids[this.slot(newest)] - id);
+        if (candidate <= newest && this.isValid(candidate) && this.ids[this.slot(candidate)] == id) {
+            return candidate;
+        }
+        long low = this.oldest(head);
+        long high = newest;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long value = this.ids[this.slot(mid)];
+            if (value < id) {
+                low = mid + 1;
+            } else if (value > id) {
+                high = mid - 1;
+            } else {
+                return this.isValid(mid) ? mid : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Is the data of a frame still available?
+     * <p/>
+     * Check it after reading the data of an old frame, because the listener thread overwrites the oldest frames.
+     *
+     * @param frame Frame
+     * @return Is the data of a frame still available?
+     */
+    public boolean isValid(long frame) {
+        long head = this.head.get();
+        return frame >= this.oldest(head) && frame < head;
+    }
+
+    /**
+     * Get the oldest frame which can be read.
+     *
+     * @param head Number of recorded frames
+     * @return Frame
+     */
+    private long oldest(long head) {
+        return Math.max(this.first, head - this.capacity);
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Data */
+
+    /**
+     * Get the frame ID of a frame.
+     *
+     * @param frame Frame
+     * @return Frame ID
+     */
+    public long getId(long frame) {
+        return this.ids[this.slot(frame)];
+    }
+
+    /**
+     * Get the timestamp of a frame.
+     *
+     * @param frame Frame
+     * @return Timestamp in microseconds
+     */
+    public long getTimestamp(long frame) {
+        return this.timestamps[this.slot(frame)];
+    }
+
+    /**
+     * Get the number of recorded hands of a frame.
+     *
+     * @param frame Frame
+     * @return Number of hands
+     */
+    public int countHands(long frame) {
+        return this.handCounts[this.slot(frame)];
+    }
+
+    /**
+     * Get the ID of a hand.
+     *
+     * @param frame Frame
+     * @param hand  Index of the hand
+     * @return Hand ID
+     */
+    public int getHandId(long frame, int hand) {
+        return this.handIds[this.slot(frame) * this.maxHands + hand];
+    }
+
+    /**
+     * Get the index of a hand by its ID.
+     *
+     * @param frame Frame
+     * @param id    Hand ID
+     * @return Index or -1
+     */
+    public int indexOfHand(long frame, int id) {
+        int slot = this.slot(frame);
+        for (int h = 0; h < this.handCounts[slot]; h++) {
+            if (this.handIds[slot * this.maxHands + h] == id) {
+                return h;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The center position of the palm.
+     *
+     * @param frame Frame
+     * @param hand  Index of the hand
+     * @return Position
+     */
+    public PVector getPalmPosition(long frame, int hand) {
+        return this.getPalmPosition(frame, hand, new PVector());
+    }
+
+    /**
+     * The center position of the palm.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPalmPosition(long frame, int hand, PVector target) {
+        return this.leap.map(this.palms, this.palmOffset(frame, hand), target);
+    }
+
+    /**
+     * The center position of the palm.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param target Target array
+     * @param to     Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPalmPosition(long frame, int hand, float[] target, int to) {
+        return this.leap.map(this.palms, this.palmOffset(frame, hand), target, to);
+    }
+
+    /**
+     * Raw data of the center position of the palm.
+     *
+     * @param frame Frame
+     * @param hand  Index of the hand
+     * @return Raw position
+     */
+    public PVector getRawPalmPosition(long frame, int hand) {
+        return this.getRawPalmPosition(frame, hand, new PVector());
+    }
+
+    /**
+     * Raw data of the center position of the palm.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawPalmPosition(long frame, int hand, PVector target) {
+        return this.leap.convert(this.palms, this.palmOffset(frame, hand), target);
+    }
+
+    /**
+     * Raw data of the center position of the palm.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param target Target array
+     * @param to     Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawPalmPosition(long frame, int hand, float[] target, int to) {
+        return this.leap.convert(this.palms, this.palmOffset(frame, hand), target, to);
+    }
+
+    /**
+     * The position of a joint.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @param joint  Joint (0-4, e.g. FrameHistory.JOINT_TIP)
+     * @return Position
+     */
+    public PVector getJointPosition(long frame, int hand, int finger, int joint) {
+        return this.getJointPosition(frame, hand, finger, joint, new PVector());
+    }
+
+    /**
+     * The position of a joint.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @param joint  Joint (0-4, e.g. FrameHistory.JOINT_TIP)
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getJointPosition(long frame, int hand, int finger, int joint, PVector target) {
+        return this.leap.map(this.joints, this.jointOffset(frame, hand, finger, joint), target);
+    }
+
+    /**
+     * The position of a joint.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @param joint  Joint (0-4, e.g. FrameHistory.JOINT_TIP)
+     * @param target Target array
+     * @param to     Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getJointPosition(long frame, int hand, int finger, int joint, float[] target, int to) {
+        return this.leap.map(this.joints, this.jointOffset(frame, hand, finger, joint), target, to);
+    }
+
+    /**
+     * Raw data of the position of a joint.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @param joint  Joint (0-4, e.g. FrameHistory.JOINT_TIP)
+     * @return Raw position
+     */
+    public PVector getRawJointPosition(long frame, int hand, int finger, int joint) {
+        return this.getRawJointPosition(frame, hand, finger, joint, new PVector());
+    }
+
+    /**
+     * Raw data of the position of a joint.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @param joint  Joint (0-4, e.g. FrameHistory.JOINT_TIP)
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawJointPosition(long frame, int hand, int finger, int joint, PVector target) {
+        return this.leap.convert(this.joints, this.jointOffset(frame, hand, finger, joint), target);
+    }
+
+    /**
+     * Raw data of the position of a joint.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @param joint  Joint (0-4, e.g. FrameHistory.JOINT_TIP)
+     * @param target Target array
+     * @param to     Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawJointPosition(long frame, int hand, int finger, int joint, float[] target, int to) {
+        return this.leap.convert(this.joints, this.jointOffset(frame, hand, finger, joint), target, to);
+    }
+
+    /**
+     * The tip position of a finger.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @return Position
+     */
+    public PVector getTipPosition(long frame, int hand, int finger) {
+        return this.getTipPosition(frame, hand, finger, new PVector());
+    }
+
+    /**
+     * The tip position of a finger.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getTipPosition(long frame, int hand, int finger, PVector target) {
+        return this.getJointPosition(frame, hand, finger, FrameHistory.JOINT_TIP, target);
+    }
+
+    /**
+     * The tip position of a finger.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @param target Target array
+     * @param to     Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getTipPosition(long frame, int hand, int finger, float[] target, int to) {
+        return this.getJointPosition(frame, hand, finger, FrameHistory.JOINT_TIP, target, to);
+    }
+
+    /**
+     * Raw data of the tip position of a finger.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @return Raw position
+     */
+    public PVector getRawTipPosition(long frame, int hand, int finger) {
+        return this.getRawTipPosition(frame, hand, finger, new PVector());
+    }
+
+    /**
+     * Raw data of the tip position of a finger.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawTipPosition(long frame, int hand, int finger, PVector target) {
+        return this.getRawJointPosition(frame, hand, finger, FrameHistory.JOINT_TIP, target);
+    }
+
+    /**
+     * Raw data of the tip position of a finger.
+     *
+     * @param frame  Frame
+     * @param hand   Index of the hand
+     * @param finger Type of finger (0-4)
+     * @param target Target array
+     * @param to     Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawTipPosition(long frame, int hand, int finger, float[] target, int to) {
+        return this.getRawJointPosition(frame, hand, finger, FrameHistory.JOINT_TIP, target, to);
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Recording */
+
+    /**
+     * Record a frame (listener thread only).
+     *
+     * @param snapshot Snapshot with extracted data
+     */
+    void add(FrameSnapshot snapshot) {
+        long frame = this.head.get();
+        if (frame > this.first) {
+            int previous = this.slot(frame - 1);
+            if (snapshot.timestamp < this.timestamps[previous] || snapshot.id < this.ids[previous]) {
+                // time went backwards (e.g. a looped replay)
+                this.first = frame;
+            }
+        }
+        int slot = this.slot(frame);
+        int hands = Math.min(snapshot.handCount, this.maxHands);
+        this.ids[slot] = snapshot.id;
+        this.timestamps[slot] = snapshot.timestamp;
+        this.handCounts[slot] = hands;
+        for (int h = 0; h < hands; h++) {
+            this.handIds[slot * this.maxHands + h] = snapshot.handIds[h];
+            System.arraycopy(
+                    snapshot.palms, h * FrameSnapshot.PALM_STRIDE + FrameSnapshot.PALM_POSITION,
+                    this.palms, (slot * this.maxHands + h) * 3,
+                    3
+            );
+            int offset = snapshot.handFingerOffsets[h];
+            for (int p = offset; p < offset + snapshot.handFingerCounts[h]; p++) {
+                int type = snapshot.pointableTypes[p];
+                if (type < 0 || type >= FrameSnapshot.FINGERS) {
+                    continue;
+                }
+                int source = p * FrameSnapshot.JOINT_STRIDE;
+                int target = this.slotJointOffset(slot, h, type, 0);
+                // base of metacarpal (prev joint of bone 3) followed by the next joints of bone 3 to 0
+                FrameHistory.copy(snapshot.joints, source + 3 * FrameSnapshot.JOINT_BONE_STRIDE + FrameSnapshot.JOINT_PREV, this.joints, target);
+                for (int b = FrameSnapshot.BONES - 1, j = 1; b >= 0; b--, j++) {
+                    FrameHistory.copy(snapshot.joints, source + b * FrameSnapshot.JOINT_BONE_STRIDE + FrameSnapshot.JOINT_NEXT, this.joints, target + j * 3);
+                }
+            }
+        }
+        this.head.lazySet(frame + 1);
+    }
+
+    private static void copy(float[] source, int from, float[] target, int to) {
+        target[to] = source[from];
+        target[to + 1] = source[from + 1];
+        target[to + 2] = source[from + 2];
+    }
+
+    private int slot(long frame) {
+        return (int) (frame % this.slots);
+    }
+
+    private int palmOffset(long frame, int hand) {
+        return (this.slot(frame) * this.maxHands + hand) * 3;
+    }
+
+    private int jointOffset(long frame, int hand, int finger, int joint) {
+        return this.slotJointOffset(this.slot(frame), hand, finger, joint);
+    }
+
+    private int slotJointOffset(int slot, int hand, int finger, int joint) {
+        return (((slot * this.maxHands + hand) * FrameSnapshot.FINGERS + finger) * FrameHistory.JOINTS + joint) * 3;
+    }
+
+}
@@ -0,0 +1,232 @@
+package de.voidplus.leapmotion;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Recorder of all tracked frames into a compact binary session file.
+ * <p/>
+ * The listener thread only copies every frame into a preallocated queue of snapshots. A background thread encodes them (see FrameCodec: quantized values, differences to the previous frame, variable-length integers) and appends them to the file through a memory-mapped buffer, which is mapped in chunks of FrameRecorder.CHUNK bytes. If the writer falls behind, new frames are dropped (see getDropped).
+ * <p/>
+ * File: "LMFR", version (1 byte), frames (length as variable-length integer followed by the encoded frame). A frame without hands takes a few bytes, a frame with two hands about 150 bytes (resting) up to 600 bytes (fast movements), so an hour of typical interaction takes some tens of MB.
+ */
+public class FrameRecorder {
+
+    // Size of the mapped regions of the file
+    static final int CHUNK = 8 * 1024 * 1024;
+
+    private final File file;
+    private final RandomAccessFile access;
+    private final FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long mappedStart;
+    // Size of the file (written by the writer thread, read by getSize)
+    private volatile long written;
+
+    // Queue between the listener thread (producer) and the writer thread (consumer)
+    private final FrameSnapshot[] slots;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+    private final AtomicLong dropped;
+    private final AtomicLong frames;
+
+    private final FrameCodec codec;
+    private final Thread writer;
+    private volatile boolean running;
+    private volatile IOException error;
+    private boolean closed;
+
+    /**
+     * Create a recorder and start its writer thread.
+     *
+     * @param file   Target file (will be overwritten)
+     * @param frames Number of frames which can wait for the writer
+     * @throws IOException if the file can not be opened
+     */
+    FrameRecorder(File file, int frames) throws IOException {
+        this.file = file;
+        this.access = new RandomAccessFile(file, "rw");
+        this.access.setLength(0);
+        this.channel = this.access.getChannel();
+        this.map(0);
+        this.mapped.put(FrameCodec.MAGIC);
+        this.mapped.put((byte) FrameCodec.VERSION);
+        this.written = this.mapped.position();
+
+        this.slots = new FrameSnapshot[Math.max(frames, 2)];
+        for (int i = 0; i < this.slots.length; i++) {
+            this.slots[i] = new FrameSnapshot(null);
+        }
+        this.head = new AtomicLong(0);
+        this.tail = new AtomicLong(0);
+        this.dropped = new AtomicLong(0);
+        this.frames = new AtomicLong(0);
+        this.codec = new FrameCodec();
+
+        this.running = true;
+        this.writer = new Thread(new Runnable() {
+            public void run() {
+                FrameRecorder.this.write();
+            }
+        }, "LeapMotion-FrameRecorder");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Get the target file.
+     *
+     * @return File
+     */
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Get the number of recorded frames.
+     *
+     * @return Number of frames
+     */
+    public long getFrames() {
+        return this.frames.get();
+    }
+
+    /**
+     * Get the number of frames which were lost because the writer was too slow.
+     *
+     * @return Number of frames
+     */
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Get the size of the recording.
+     *
+     * @return Number of bytes
+     */
+    public long getSize() {
+        return this.written;
+    }
+
+    /**
+     * Is the recorder still writing?
+     *
+     * @return Is it recording?
+     */
+    public boolean isRecording() {
+        return this.running && this.error == null;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Producer */
+
+    /**
+     * Queue a frame (listener thread only).
+     *
+     * @param snapshot Snapshot with extracted data
+     */
+    void add(FrameSnapshot snapshot) {
+        if (!this.running) {
+            return;
+        }
+        long head = this.head.get();
+        if (head - this.tail.get() >= this.slots.length) {
+            this.dropped.incrementAndGet();
+            return;
+        }
+        FrameSnapshot slot = this.slots[(int) (head % this.slots.length)];
+        slot.copy(snapshot);
+        slot.frame = null;
+        this.head.lazySet(head + 1);
+        LockSupport.unpark(this.writer);
+    }
+
+    /**
+     * Write all queued frames and close the file.
+     *
+     * @throws IOException if the file could not be written
+     */
+    public synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.running = false;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.mapped != null) {
+            this.mapped.force();
+            this.mapped = null;
+        }
+        try {
+            this.channel.truncate(this.written);
+        } catch (IOException e) {
+            // the file stays mapped on some platforms, readers stop at the first empty frame
+        }
+        this.channel.close();
+        this.access.close();
+        if (this.error != null) {
+            throw this.error;
+        }
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Consumer */
+
+    private void write() {
+        try {
+            while (true) {
+                long tail = this.tail.get();
+                if (tail == this.head.get()) {
+                    if (!this.running) {
+                        break;
+                    }
+                    LockSupport.parkNanos(this, 10000000L);
+                    continue;
+                }
+                FrameSnapshot slot = this.slots[(int) (tail % this.slots.length)];
+                int length = this.codec.encode(slot);
+                this.tail.lazySet(tail + 1);
+                this.append(this.codec.getBuffer(), length);
+                this.frames.incrementAndGet();
+            }
+        } catch (IOException e) {
+            this.error = e;
+            this.running = false;
+            this.mapped = null;
+        }
+    }
+
+    private void append(byte[] data, int length) throws IOException {
+        if (this.mapped.remaining() < length + 5) {
+            this.map(this.written);
+        }
+        int value = length;
+        while ((value & ~0x7F) != 0) {
+            this.mapped.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        this.mapped.put((byte) value);
+        this.mapped.put(data, 0, length);
+        this.written = this.mappedStart + this.mapped.position();
+    }
+
+    private void map(long start) throws IOException {
+        this.mappedStart = start;
+        this.mapped = this.channel.map(FileChannel.MapMode.READ_WRITE, start, CHUNK);
+    }
+
+}
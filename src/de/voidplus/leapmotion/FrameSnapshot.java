@@ -0,0 +1,561 @@
+package de.voidplus.leapmotion;
+
+import com.leapmotion.leap.Frame;
+import com.leapmotion.leap.Vector;
+
+
+/**
+ * Copy of the tracking data of a single frame in primitive arrays.
+ * <p/>
+ * The data is extracted once on the listener thread, so the wrapper classes (Hand, Finger, Bone, Arm, Tool) can read it without any further calls to the native SDK. All positions are raw data in millimeters.
+ * <p/>
+ * Snapshots are recycled by the library. Wrappers which read from a snapshot are only valid within the draw() in which they were requested.
+ */
+public final class FrameSnapshot {
+
+    // Fingers per hand and bones per finger
+    public static final int FINGERS = 5;
+    public static final int BONES = 4;
+
+    // Layout of the palm data (per hand)
+    public static final int PALM_POSITION = 0;
+    public static final int PALM_STABILIZED_POSITION = 3;
+    public static final int PALM_VELOCITY = 6;
+    public static final int PALM_NORMAL = 9;
+    public static final int PALM_DIRECTION = 12;
+    public static final int PALM_SPHERE_CENTER = 15;
+    public static final int PALM_SPHERE_RADIUS = 18;
+    public static final int PALM_CONFIDENCE = 19;
+    public static final int PALM_GRAB_STRENGTH = 20;
+    public static final int PALM_PINCH_STRENGTH = 21;
+    public static final int PALM_TIME_VISIBLE = 22;
+    public static final int PALM_WIDTH = 23;
+    public static final int PALM_STRIDE = 24;
+
+    // Layout of the arm data (per hand)
+    public static final int ARM_ELBOW_POSITION = 0;
+    public static final int ARM_WRIST_POSITION = 3;
+    public static final int ARM_CENTER = 6;
+    public static final int ARM_WIDTH = 9;
+    public static final int ARM_STRIDE = 10;
+
+    // Layout of the pointable data (per finger or tool)
+    public static final int POINTABLE_TIP_POSITION = 0;
+    public static final int POINTABLE_STABILIZED_TIP_POSITION = 3;
+    public static final int POINTABLE_TIP_VELOCITY = 6;
+    public static final int POINTABLE_DIRECTION = 9;
+    public static final int POINTABLE_LENGTH = 12;
+    public static final int POINTABLE_WIDTH = 13;
+    public static final int POINTABLE_TIME_VISIBLE = 14;
+    public static final int POINTABLE_TOUCH_DISTANCE = 15;
+    public static final int POINTABLE_STRIDE = 16;
+
+    // Layout of the joints (per finger): 4 bones (0=distal ... 3=metacarpal) x prev/next joint x xyz
+    public static final int JOINT_PREV = 0;
+    public static final int JOINT_NEXT = 3;
+    public static final int JOINT_BONE_STRIDE = 6;
+    public static final int JOINT_STRIDE = BONES * JOINT_BONE_STRIDE;
+
+    // Layout of the bone data (per finger): 4 bones x (direction xyz, length, width)
+    public static final int BONE_DIRECTION = 0;
+    public static final int BONE_LENGTH = 3;
+    public static final int BONE_WIDTH = 4;
+    public static final int BONE_ELEMENT_STRIDE = 5;
+    public static final int BONE_STRIDE = BONES * BONE_ELEMENT_STRIDE;
+
+    // Flags of hands
+    public static final int HAND_LEFT = 1;
+    public static final int HAND_ARM = 2;
+
+    // Flags of pointables
+    public static final int POINTABLE_EXTENDED = 1;
+
+    // Type of tools in the pointable types
+    public static final int TYPE_TOOL = -1;
+
+    static final com.leapmotion.leap.Bone.Type[] BONE_TYPES = {
+            com.leapmotion.leap.Bone.Type.TYPE_DISTAL,
+            com.leapmotion.leap.Bone.Type.TYPE_INTERMEDIATE,
+            com.leapmotion.leap.Bone.Type.TYPE_PROXIMAL,
+            com.leapmotion.leap.Bone.Type.TYPE_METACARPAL
+    };
+
+    // Frame
+    Frame frame;
+    boolean extracted;
+    long id;
+    long timestamp;
+    float frameRate;
+
+    // Hands
+    int handCount;
+    int[] handIds;
+    int[] handFlags;
+    int[] handFingerOffsets;
+    int[] handFingerCounts;
+    float[] palms;
+    float[] arms;
+
+    // Pointables (fingers first, followed by the tools)
+    int fingerCount;
+    int pointableCount;
+    int[] pointableIds;
+    int[] pointableTypes;
+    int[] pointableHands;
+    int[] pointableFlags;
+    int[] pointableZones;
+    float[] pointables;
+    float[] joints;
+    float[] bones;
+
+    FrameSnapshot(Frame frame) {
+        this.ensureHands(2);
+        this.ensurePointables(2 * FrameSnapshot.FINGERS);
+        this.reset(frame);
+    }
+
+    /**
+     * Get the frame of the snapshot.
+     *
+     * @return Raw instance of com.leapmotion.leap.Frame or null
+     */
+    public Frame getFrame() {
+        return this.frame;
+    }
+
+    /**
+     * Has the tracking data been extracted?
+     *
+     * @return Has the tracking data been extracted?
+     */
+    public boolean isExtracted() {
+        return this.extracted;
+    }
+
+    /**
+     * Get the frame ID.
+     *
+     * @return Frame ID
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Get the timestamp in microseconds.
+     *
+     * @return Timestamp
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Get the instantaneous framerate.
+     *
+     * @return Framerate
+     */
+    public float getFrameRate() {
+        return this.frameRate;
+    }
+
+    /**
+     * Get the number of hands.
+     *
+     * @return Number of hands
+     */
+    public int countHands() {
+        return this.handCount;
+    }
+
+    /**
+     * Get the number of fingers.
+     *
+     * @return Number of fingers
+     */
+    public int countFingers() {
+        return this.fingerCount;
+    }
+
+    /**
+     * Get the number of tools.
+     *
+     * @return Number of tools
+     */
+    public int countTools() {
+        return this.pointableCount - this.fingerCount;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Lookup */
+
+    /**
+     * Get the index of a hand by ID.
+     *
+     * @param id ID of the hand
+     * @return Index or -1
+     */
+    int indexOfHand(int id) {
+        for (int h = 0; h < this.handCount; h++) {
+            if (this.handIds[h] == id) {
+                return h;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the index of a pointable by ID.
+     *
+     * @param id ID of the finger or tool
+     * @return Index or -1
+     */
+    int indexOfPointable(int id) {
+        for (int p = 0; p < this.pointableCount; p++) {
+            if (this.pointableIds[p] == id) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the index of the finger of a hand by type.
+     *
+     * @param hand Index of the hand
+     * @param type Type of finger (0-4)
+     * @return Index or -1
+     */
+    int indexOfFinger(int hand, int type) {
+        int offset = this.handFingerOffsets[hand];
+        for (int p = offset; p < offset + this.handFingerCounts[hand]; p++) {
+            if (this.pointableTypes[p] == type) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the index of the hand with the smallest or largest coordinate.
+     *
+     * @param axis    Axis (0=x, 1=y, 2=z)
+     * @param largest Search for the largest coordinate?
+     * @return Index or -1
+     */
+    int findHand(int axis, boolean largest) {
+        int found = -1;
+        for (int h = 0; h < this.handCount; h++) {
+            float value = this.palms[h * FrameSnapshot.PALM_STRIDE + FrameSnapshot.PALM_POSITION + axis];
+            if (found == -1 || (largest ? value > this.palms[found * FrameSnapshot.PALM_STRIDE + FrameSnapshot.PALM_POSITION + axis]
+                                        : value < this.palms[found * FrameSnapshot.PALM_STRIDE + FrameSnapshot.PALM_POSITION + axis])) {
+                found = h;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Get the index of the pointable with the smallest or largest tip coordinate.
+     *
+     * @param from    First index
+     * @param to      Last index (exclusive)
+     * @param hand    Index of the hand or -1 for all hands
+     * @param axis    Axis (0=x, 1=y, 2=z)
+     * @param largest Search for the largest coordinate?
+     * @return Index or -1
+     */
+    int findPointable(int from, int to, int hand, int axis, boolean largest) {
+        int found = -1;
+        for (int p = from; p < to; p++) {
+            if (hand != -1 && this.pointableHands[p] != hand) {
+                continue;
+            }
+            float value = this.pointables[p * FrameSnapshot.POINTABLE_STRIDE + FrameSnapshot.POINTABLE_TIP_POSITION + axis];
+            if (found == -1 || (largest ? value > this.pointables[found * FrameSnapshot.POINTABLE_STRIDE + FrameSnapshot.POINTABLE_TIP_POSITION + axis]
+                                        : value < this.pointables[found * FrameSnapshot.POINTABLE_STRIDE + FrameSnapshot.POINTABLE_TIP_POSITION + axis])) {
+                found = p;
+            }
+        }
+        return found;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Angles */
+
+    /**
+     * The pitch angle of a vector in radians (see com.leapmotion.leap.Vector).
+     *
+     * @param data   Source array
+     * @param offset Offset of the x component
+     * @return Angle
+     */
+    static float pitch(float[] data, int offset) {
+        return (float) Math.atan2(data[offset + 1], -data[offset + 2]);
+    }
+
+    /**
+     * The yaw angle of a vector in radians (see com.leapmotion.leap.Vector).
+     *
+     * @param data   Source array
+     * @param offset Offset of the x component
+     * @return Angle
+     */
+    static float yaw(float[] data, int offset) {
+        return (float) Math.atan2(data[offset], -data[offset + 2]);
+    }
+
+    /**
+     * The roll angle of a vector in radians (see com.leapmotion.leap.Vector).
+     *
+     * @param data   Source array
+     * @param offset Offset of the x component
+     * @return Angle
+     */
+    static float roll(float[] data, int offset) {
+        return (float) Math.atan2(data[offset], -data[offset + 1]);
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Extraction */
+
+    /**
+     * Reset the snapshot to a frame without extracting the tracking data.
+     *
+     * @param frame Raw instance of com.leapmotion.leap.Frame
+     */
+    void reset(Frame frame) {
+        this.frame = frame;
+        this.extracted = false;
+        this.handCount = 0;
+        this.fingerCount = 0;
+        this.pointableCount = 0;
+    }
+
+    /**
+     * Extract all tracking data of a frame.
+     *
+     * @param frame Raw instance of com.leapmotion.leap.Frame
+     */
+    void extract(Frame frame) {
+        this.reset(frame);
+        this.id = frame.id();
+        this.timestamp = frame.timestamp();
+        this.frameRate = frame.currentFramesPerSecond();
+
+        // Hands with fingers
+        com.leapmotion.leap.HandList hands = frame.hands();
+        int handCount = hands.count();
+        this.ensureHands(handCount);
+        int p = 0;
+        for (int h = 0; h < handCount; h++) {
+            com.leapmotion.leap.Hand hand = hands.get(h);
+            int offset = h * FrameSnapshot.PALM_STRIDE;
+            this.handIds[h] = hand.id();
+            FrameSnapshot.put(this.palms, offset + FrameSnapshot.PALM_POSITION, hand.palmPosition());
+            FrameSnapshot.put(this.palms, offset + FrameSnapshot.PALM_STABILIZED_POSITION, hand.stabilizedPalmPosition());
+            FrameSnapshot.put(this.palms, offset + FrameSnapshot.PALM_VELOCITY, hand.palmVelocity());
+            FrameSnapshot.put(this.palms, offset + FrameSnapshot.PALM_NORMAL, hand.palmNormal());
+            FrameSnapshot.put(this.palms, offset + FrameSnapshot.PALM_DIRECTION, hand.direction());
+            FrameSnapshot.put(this.palms, offset + FrameSnapshot.PALM_SPHERE_CENTER, hand.sphereCenter());
+            this.palms[offset + FrameSnapshot.PALM_SPHERE_RADIUS] = hand.sphereRadius();
+            this.palms[offset + FrameSnapshot.PALM_CONFIDENCE] = hand.confidence();
+            this.palms[offset + FrameSnapshot.PALM_GRAB_STRENGTH] = hand.grabStrength();
+            this.palms[offset + FrameSnapshot.PALM_PINCH_STRENGTH] = hand.pinchStrength();
+            this.palms[offset + FrameSnapshot.PALM_TIME_VISIBLE] = hand.timeVisible();
+            this.palms[offset + FrameSnapshot.PALM_WIDTH] = hand.palmWidth();
+
+            int flags = hand.isLeft() ? FrameSnapshot.HAND_LEFT : 0;
+            com.leapmotion.leap.Arm arm = hand.arm();
+            if (arm.isValid()) {
+                flags |= FrameSnapshot.HAND_ARM;
+                offset = h * FrameSnapshot.ARM_STRIDE;
+                FrameSnapshot.put(this.arms, offset + FrameSnapshot.ARM_ELBOW_POSITION, arm.elbowPosition());
+                FrameSnapshot.put(this.arms, offset + FrameSnapshot.ARM_WRIST_POSITION, arm.wristPosition());
+                FrameSnapshot.put(this.arms, offset + FrameSnapshot.ARM_CENTER, arm.center());
+                this.arms[offset + FrameSnapshot.ARM_WIDTH] = arm.width();
+            }
+            this.handFlags[h] = flags;
+
+            com.leapmotion.leap.FingerList fingers = hand.fingers();
+            int fingerCount = fingers.count();
+            this.ensurePointables(p + fingerCount);
+            this.handFingerOffsets[h] = p;
+            this.handFingerCounts[h] = fingerCount;
+            for (int f = 0; f < fingerCount; f++, p++) {
+                com.leapmotion.leap.Finger finger = fingers.get(f);
+                this.putPointable(p, finger, h);
+                this.pointableTypes[p] = finger.type().swigValue();
+                for (int b = 0; b < FrameSnapshot.BONES; b++) {
+                    com.leapmotion.leap.Bone bone = finger.bone(FrameSnapshot.BONE_TYPES[b]);
+                    offset = p * FrameSnapshot.JOINT_STRIDE + b * FrameSnapshot.JOINT_BONE_STRIDE;
+                    FrameSnapshot.put(this.joints, offset + FrameSnapshot.JOINT_PREV, bone.prevJoint());
+                    FrameSnapshot.put(this.joints, offset + FrameSnapshot.JOINT_NEXT, bone.nextJoint());
+                    offset = p * FrameSnapshot.BONE_STRIDE + b * FrameSnapshot.BONE_ELEMENT_STRIDE;
+                    FrameSnapshot.put(this.bones, offset + FrameSnapshot.BONE_DIRECTION, bone.direction());
+                    this.bones[offset + FrameSnapshot.BONE_LENGTH] = bone.length();
+                    this.bones[offset + FrameSnapshot.BONE_WIDTH] = bone.width();
+                }
+            }
+        }
+        this.handCount = handCount;
+        this.fingerCount = p;
+
+        // Tools
+        com.leapmotion.leap.ToolList tools = frame.tools();
+        int toolCount = tools.count();
+        this.ensurePointables(p + toolCount);
+        for (int t = 0; t < toolCount; t++, p++) {
+            com.leapmotion.leap.Tool tool = tools.get(t);
+            this.putPointable(p, tool, this.indexOfHand(tool.hand().id()));
+            this.pointableTypes[p] = FrameSnapshot.TYPE_TOOL;
+        }
+        this.pointableCount = p;
+        this.extracted = true;
+    }
+
+    /**
+     * Copy all data of another snapshot.
+     *
+     * @param source Snapshot to copy
+     */
+    void copy(FrameSnapshot source) {
+        this.reset(source.frame);
+        this.id = source.id;
+        this.timestamp = source.timestamp;
+        this.frameRate = source.frameRate;
+        if (!source.extracted) {
+            return;
+        }
+        int hands = source.handCount;
+        int pointables = source.pointableCount;
+        this.ensureHands(hands);
+        this.ensurePointables(pointables);
+        System.arraycopy(source.handIds, 0, this.handIds, 0, hands);
+        System.arraycopy(source.handFlags, 0, this.handFlags, 0, hands);
+        System.arraycopy(source.handFingerOffsets, 0, this.handFingerOffsets, 0, hands);
+        System.arraycopy(source.handFingerCounts, 0, this.handFingerCounts, 0, hands);
+        System.arraycopy(source.palms, 0, this.palms, 0, hands * FrameSnapshot.PALM_STRIDE);
+        System.arraycopy(source.arms, 0, this.arms, 0, hands * FrameSnapshot.ARM_STRIDE);
+        System.arraycopy(source.pointableIds, 0, this.pointableIds, 0, pointables);
+        System.arraycopy(source.pointableTypes, 0, this.pointableTypes, 0, pointables);
+        System.arraycopy(source.pointableHands, 0, this.pointableHands, 0, pointables);
+        System.arraycopy(source.pointableFlags, 0, this.pointableFlags, 0, pointables);
+        System.arraycopy(source.pointableZones, 0, this.pointableZones, 0, pointables);
+        System.arraycopy(source.pointables, 0, this.pointables, 0, pointables * FrameSnapshot.POINTABLE_STRIDE);
+        System.arraycopy(source.joints, 0, this.joints, 0, source.fingerCount * FrameSnapshot.JOINT_STRIDE);
+        System.arraycopy(source.bones, 0, this.bones, 0, source.fingerCount * FrameSnapshot.BONE_STRIDE);
+        this.handCount = hands;
+        this.fingerCount = source.fingerCount;
+        this.pointableCount = pointables;
+        this.extracted = true;
+    }
+
+    /**
+     * Extract the data which fingers and tools have in common.
+     *
+     * @param p          Index of the pointable
+     * @param _pointable Raw instance of com.leapmotion.leap.Pointable
+     * @param hand       Index of the hand or -1
+     */
+    private void putPointable(int p, com.leapmotion.leap.Pointable _pointable, int hand) {
+        int offset = p * FrameSnapshot.POINTABLE_STRIDE;
+        this.pointableIds[p] = _pointable.id();
+        this.pointableHands[p] = hand;
+        this.pointableFlags[p] = _pointable.isExtended() ? FrameSnapshot.POINTABLE_EXTENDED : 0;
+        switch (_pointable.touchZone()) {
+            case ZONE_HOVERING:
+                this.pointableZones[p] = 0;
+                break;
+            case ZONE_TOUCHING:
+                this.pointableZones[p] = 1;
+                break;
+            default:
+                this.pointableZones[p] = -1;
+                break;
+        }
+        FrameSnapshot.put(this.pointables, offset + FrameSnapshot.POINTABLE_TIP_POSITION, _pointable.tipPosition());
+        FrameSnapshot.put(this.pointables, offset + FrameSnapshot.POINTABLE_STABILIZED_TIP_POSITION, _pointable.stabilizedTipPosition());
+        FrameSnapshot.put(this.pointables, offset + FrameSnapshot.POINTABLE_TIP_VELOCITY, _pointable.tipVelocity());
+        FrameSnapshot.put(this.pointables, offset + FrameSnapshot.POINTABLE_DIRECTION, _pointable.direction());
+        this.pointables[offset + FrameSnapshot.POINTABLE_LENGTH] = _pointable.length();
+        this.pointables[offset + FrameSnapshot.POINTABLE_WIDTH] = _pointable.width();
+        this.pointables[offset + FrameSnapshot.POINTABLE_TIME_VISIBLE] = _pointable.timeVisible();
+        this.pointables[offset + FrameSnapshot.POINTABLE_TOUCH_DISTANCE] = _pointable.touchDistance();
+    }
+
+    /**
+     * Copy the components of a vector.
+     *
+     * @param data   Target array
+     * @param offset Offset of the x component
+     * @param vector Instance of com.leapmotion.leap.Vector
+     */
+    static void put(float[] data, int offset, Vector vector) {
+        data[offset] = vector.getX();
+        data[offset + 1] = vector.getY();
+        data[offset + 2] = vector.getZ();
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Capacity */
+
+    /**
+     * Grow the hand arrays if necessary.
+     *
+     * @param hands Number of hands
+     */
+    void ensureHands(int hands) {
+        if (this.handIds != null && this.handIds.length >= hands) {
+            return;
+        }
+        hands = Math.max(hands, (this.handIds == null) ? 0 : this.handIds.length * 2);
+        this.handIds = FrameSnapshot.grow(this.handIds, hands);
+        this.handFlags = FrameSnapshot.grow(this.handFlags, hands);
+        this.handFingerOffsets = FrameSnapshot.grow(this.handFingerOffsets, hands);
+        this.handFingerCounts = FrameSnapshot.grow(this.handFingerCounts, hands);
+        this.palms = FrameSnapshot.grow(this.palms, hands * FrameSnapshot.PALM_STRIDE);
+        this.arms = FrameSnapshot.grow(this.arms, hands * FrameSnapshot.ARM_STRIDE);
+    }
+
+    /**
+     * Grow the pointable arrays if necessary.
+     *
+     * @param pointables Number of fingers and tools
+     */
+    void ensurePointables(int pointables) {
+        if (this.pointableIds != null && this.pointableIds.length >= pointables) {
+            return;
+        }
+        pointables = Math.max(pointables, (this.pointableIds == null) ? 0 : this.pointableIds.length * 2);
+        this.pointableIds = FrameSnapshot.grow(this.pointableIds, pointables);
+        this.pointableTypes = FrameSnapshot.grow(this.pointableTypes, pointables);
+        this.pointableHands = FrameSnapshot.grow(this.pointableHands, pointables);
+        this.pointableFlags = FrameSnapshot.grow(this.pointableFlags, pointables);
+        this.pointableZones = FrameSnapshot.grow(this.pointableZones, pointables);
+        this.pointables = FrameSnapshot.grow(this.pointables, pointables * FrameSnapshot.POINTABLE_STRIDE);
+        this.joints = FrameSnapshot.grow(this.joints, pointables * FrameSnapshot.JOINT_STRIDE);
+        this.bones = FrameSnapshot.grow(this.bones, pointables * FrameSnapshot.BONE_STRIDE);
+    }
+
+    private static int[] grow(int[] data, int length) {
+        int[] grown = new int[length];
+        if (data != null) {
+            System.arraycopy(data, 0, grown, 0, data.length);
+        }
+        return grown;
+    }
+
+    private static float[] grow(float[] data, int length) {
+        float[] grown = new float[length];
+        if (data != null) {
+            System.arraycopy(data, 0, grown, 0, data.length);
+        }
+        return grown;
+    }
+
+}
@@ -0,0 +1,30 @@
+package de.voidplus.leapmotion;
+
+
+/**
+ * Source of the frames of a LeapMotion instance.
+ * <p/>
+ * ControllerSource delivers the frames of the device through the native SDK (default), ReplaySource the frames of a recording (see FrameRecorder), e.g. to run sketches, tests and benchmarks without a device.
+ */
+public interface FrameSource {
+
+    /**
+     * Start delivering frames.
+     *
+     * @param leap Instance which receives the frames
+     */
+    void start(LeapMotion leap);
+
+    /**
+     * Stop delivering frames.
+     */
+    void stop();
+
+    /**
+     * Is the source connected (e.g. device plugged in, recording not finished)?
+     *
+     * @return Is it connected?
+     */
+    boolean isConnected();
+
+}
@@ -0,0 +1,75 @@
+package de.voidplus.leapmotion;
+
+import java.util.ArrayList;
+
+import com.leapmotion.leap.Frame;
+
+
+/**
+ * Frame, which is read by the queries of one thread, and the results, which are kept for it.
+ * <p/>
+ * The sketch thread reads the frame taken by pre(), the listener thread reads the frame it just published while leapOnFrame runs. The lists, extremes and pools of both are separate, so neither thread touches the instances of the other.
+ */
+final class FrameView {
+
+    FrameSnapshot snapshot;
+    Frame frame;
+
+    ArrayList<Hand> hands;
+    ArrayList<Finger> fingers;
+    ArrayList<Finger> outstretchedFingers;
+    ArrayList<Finger> outstretchedFingersByAngel;
+    int outstretchedFingersByAngelSimilarity;
+    final float[] fingerJoints;
+    ArrayList<Tool> tools;
+    Hand frontHand, leftHand, rightHand;
+    Finger frontFinger, leftFinger, rightFinger;
+    Tool frontTool, leftTool, rightTool;
+    long cachedFrame;
+    int cached;
+
+    final JointBuffer joints;
+    final ArrayList<Hand> handPool;
+    final ArrayList<Finger> fingerPool;
+    final ArrayList<Tool> toolPool;
+
+    /**
+     * @param leap     LeapMotion
+     * @param snapshot Snapshot of the first frame
+     */
+    FrameView(LeapMotion leap, FrameSnapshot snapshot) {
+        this.hands = new ArrayList<Hand>();
+        this.fingers = new ArrayList<Finger>();
+        this.outstretchedFingers = new ArrayList<Finger>();
+        this.outstretchedFingersByAngel = new ArrayList<Finger>();
+        this.fingerJoints = new float[FrameSnapshot.JOINT_STRIDE];
+        this.tools = new ArrayList<Tool>();
+        this.cachedFrame = Long.MIN_VALUE;
+        this.joints = new JointBuffer(leap, 2);
+        this.handPool = new ArrayList<Hand>();
+        this.fingerPool = new ArrayList<Finger>();
+        this.toolPool = new ArrayList<Tool>();
+        this.bind(snapshot);
+    }
+
+    /**
+     * Read another frame (the kept results are dropped).
+     *
+     * @param snapshot Snapshot of the frame
+     */
+    void bind(FrameSnapshot snapshot) {
+        this.snapshot = snapshot;
+        this.frame = snapshot.getFrame();
+        this.cached = 0;
+    }
+
+    /**
+     * Drop the pooled instances.
+     */
+    void clearPools() {
+        this.handPool.clear();
+        this.fingerPool.clear();
+        this.toolPool.clear();
+    }
+
+}
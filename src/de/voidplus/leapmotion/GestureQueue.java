@@ -0,0 +1,193 @@
+package de.voidplus.leapmotion;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+
+/**
+ * Bounded lock-free queue of the gestures of every device frame (multiple producers, single consumer).
+ * <p/>
+ * The listener thread adds the gestures of every frame, the animation thread drains them in pre(). The ID and the state of every gesture are kept next to it, so the consumer does not call the native SDK to coalesce them. If the queue runs full, the overflow policy decides which gestures are lost: LeapMotion.GESTURES_DROP_NEWEST rejects every new gesture, LeapMotion.GESTURES_COALESCE keeps START and STOP but skips or merges intermediate UPDATE states as soon as the queue is three quarters full. Below that, every UPDATE is delivered.
+ *
+ * @param <T> Type of the gestures
+ */
+class GestureQueue<T> {
+
+    private final Object[] gestures;
+    private final int[] ids;
+    private final boolean[] updates;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final int threshold;
+    private final AtomicLong tail;
+    private final AtomicLong head;
+
+    private volatile int policy;
+    private final AtomicLong dropped;
+    private final AtomicLong coalesced;
+
+    GestureQueue(int capacity, int policy) {
+        this(capacity, policy, new AtomicLong(0), new AtomicLong(0));
+    }
+
+    /**
+     * Replacement of a queue with another capacity, which continues its policy and counters.
+     *
+     * @param capacity Maximum number of queued gestures
+     * @param previous Replaced queue
+     */
+    GestureQueue(int capacity, GestureQueue<T> previous) {
+        this(capacity, previous.policy, previous.dropped, previous.coalesced);
+    }
+
+    private GestureQueue(int capacity, int policy, AtomicLong dropped, AtomicLong coalesced) {
+        int size = 2;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.gestures = new Object[size];
+        this.ids = new int[size];
+        this.updates = new boolean[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.threshold = size - size / 4;
+        this.tail = new AtomicLong(0);
+        this.head = new AtomicLong(0);
+        this.policy = policy;
+        this.dropped = dropped;
+        this.coalesced = coalesced;
+    }
+
+    /**
+     * Get the maximum number of queued gestures.
+     *
+     * @return Capacity
+     */
+    int getCapacity() {
+        return this.gestures.length;
+    }
+
+    void setPolicy(int policy) {
+        this.policy = policy;
+    }
+
+    int getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * Get the number of gestures which were lost because the queue was full.
+     *
+     * @return Number of gestures
+     */
+    long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Get the number of UPDATE states which were merged or skipped.
+     *
+     * @return Number of gestures
+     */
+    long getCoalesced() {
+        return this.coalesced.get();
+    }
+
+    /**
+     * Add a gesture (any thread).
+     *
+     * @param gesture Gesture
+     * @param id      ID of the gesture
+     * @param update  Is it an UPDATE state (not START or STOP)?
+     * @return Has the gesture been added?
+     */
+    boolean offer(T gesture, int id, boolean update) {
+        while (true) {
+            long tail = this.tail.get();
+            int index = (int) (tail & this.mask);
+            long difference = this.sequences.get(index) - tail;
+            if (difference == 0) {
+                if (update && this.policy == LeapMotion.GESTURES_COALESCE && tail - this.head.get() >= this.threshold) {
+                    this.coalesced.incrementAndGet();
+                    return false;
+                }
+                if (this.tail.compareAndSet(tail, tail + 1)) {
+                    this.gestures[index] = gesture;
+                    this.ids[index] = id;
+                    this.updates[index] = update;
+                    this.sequences.lazySet(index, tail + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // full
+                if (update && this.policy == LeapMotion.GESTURES_COALESCE) {
+                    this.coalesced.incrementAndGet();
+                } else {
+                    this.dropped.incrementAndGet();
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Take all queued gestures and append them to a list (consumer only).
+     * <p/>
+     * With LeapMotion.GESTURES_COALESCE and a queue, which is at least three quarters full, only the latest UPDATE of a gesture is kept, unless it is followed by its STOP.
+     *
+     * @param target List for the gestures
+     * @return Target list
+     */
+    @SuppressWarnings("unchecked")
+    ArrayList<T> drain(ArrayList<T> target) {
+        long head = this.head.get();
+        boolean coalesce = this.policy == LeapMotion.GESTURES_COALESCE && this.tail.get() - head >= this.threshold;
+        long first = head;
+        while (true) {
+            int index = (int) (head & this.mask);
+            if (this.sequences.get(index) != head + 1) {
+                break;
+            }
+            if (!coalesce || !this.updates[index] || !this.isUpdatedLater(index, head)) {
+                target.add((T) this.gestures[index]);
+            } else {
+                this.coalesced.incrementAndGet();
+            }
+            head++;
+        }
+        // release the slots after coalescing (they are read by isUpdatedLater)
+        for (long sequence = first; sequence < head; sequence++) {
+            int index = (int) (sequence & this.mask);
+            this.gestures[index] = null;
+            this.sequences.lazySet(index, sequence + this.gestures.length);
+        }
+        this.head.lazySet(head);
+        return target;
+    }
+
+    /**
+     * Is the gesture followed by a later UPDATE of the same gesture in the queue?
+     *
+     * @param index    Slot of the gesture
+     * @param sequence Sequence number of the gesture
+     * @return Is there a later UPDATE?
+     */
+    private boolean isUpdatedLater(int index, long sequence) {
+        int id = this.ids[index];
+        for (long later = sequence + 1; ; later++) {
+            int slot = (int) (later & this.mask);
+            if (this.sequences.get(slot) != later + 1) {
+                return false;
+            }
+            if (this.ids[slot] == id) {
+                return this.updates[slot];
+            }
+        }
+    }
+
+}
@@ -1,6 +1,9 @@
 package de.voidplus.leapmotion;
 
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 
 import processing.core.PApplet;
 import processing.core.PConstants;
@@ -9,13 +12,50 @@ import processing.core.PVector;
 
 public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
 
+    // Queries, whose results are kept as long as the instance is bound to the same hand
+    private static final int CACHED_FINGERS = 1;
+    private static final int CACHED_OUTSTRETCHED_FINGERS = 1 << 1;
+    private static final int CACHED_OUTSTRETCHED_FINGERS_BY_ANGEL = 1 << 2;
+    private static final int CACHED_FRONT_FINGER = 1 << 3;
+    private static final int CACHED_LEFT_FINGER = 1 << 4;
+    private static final int CACHED_RIGHT_FINGER = 1 << 5;
+    private static final int CACHED_TOOLS = 1 << 6;
+    private static final int CACHED_FRONT_TOOL = 1 << 7;
+    private static final int CACHED_LEFT_TOOL = 1 << 8;
+    private static final int CACHED_RIGHT_TOOL = 1 << 9;
+    private static final int CACHED_FINGER_TYPES = 1 << 10;
+
+    // Types of the fingers by name (see getFinger(String))
+    private static final HashMap<String, Integer> FINGER_TYPES = new HashMap<String, Integer>();
+
+    static {
+        Hand.FINGER_TYPES.put("thumb", 0);
+        Hand.FINGER_TYPES.put("index", 1);
+        Hand.FINGER_TYPES.put("middle", 2);
+        Hand.FINGER_TYPES.put("ring", 3);
+        Hand.FINGER_TYPES.put("pinky", 4);
+    }
+
     protected PApplet parent;
     protected LeapMotion leap;
     private com.leapmotion.leap.Hand _hand;
     protected ArrayList<Finger> fingers;
     protected ArrayList<Finger> outstretchedFingers;
     protected ArrayList<Finger> outstretchedFingersByAngel;
+    private int outstretchedFingersByAngelSimilarity;
+    private float[] fingerJoints;
+    private JointBuffer jointBuffer;
     protected ArrayList<Tool> tools;
+    private Finger frontFinger, leftFinger, rightFinger;
+    private final Finger[] fingerTypes;
+    private Tool frontTool, leftTool, rightTool;
+    private long snapshotId;
+    private int cached;
+    protected FrameSnapshot snapshot;
+    protected int index;
+    private ArrayList<Finger> fingerPool;
+    private ArrayList<Tool> toolPool;
+    private Arm arm;
 
     public Hand(PApplet parent, LeapMotion leap, com.leapmotion.leap.Hand _hand) {
         this.parent = parent;
@@ -24,10 +64,47 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
         this.fingers = new ArrayList<Finger>();
         this.outstretchedFingers = new ArrayList<Finger>();
         this.outstretchedFingersByAngel = new ArrayList<Finger>();
+        this.fingerTypes = new Finger[FrameSnapshot.FINGERS];
 
         this.tools = new ArrayList<Tool>();
     }
 
+    Hand(PApplet parent, LeapMotion leap, FrameSnapshot snapshot, int index) {
+        this(parent, leap, (com.leapmotion.leap.Hand) null);
+        this.snapshot = snapshot;
+        this.index = index;
+        this.snapshotId = snapshot.getId();
+    }
+
+    /**
+     * Rebind the (pooled) instance to another hand.
+     *
+     * @param _hand Instance of com.leapmotion.leap.Hand
+     */
+    void bind(com.leapmotion.leap.Hand _hand) {
+        this._hand = _hand;
+        this.snapshot = null;
+        this.cached = 0;
+    }
+
+    /**
+     * Rebind the (pooled) instance to another hand of a snapshot.
+     *
+     * @param snapshot Snapshot with extracted data
+     * @param index    Index of the hand
+     */
+    void bind(FrameSnapshot snapshot, int index) {
+        if (this.snapshot == snapshot && this.index == index && this.snapshotId == snapshot.getId()) {
+            // same hand of the same frame, keep the results
+            return;
+        }
+        this._hand = null;
+        this.snapshot = snapshot;
+        this.index = index;
+        this.snapshotId = snapshot.getId();
+        this.cached = 0;
+    }
+
     /**
      * Is it a valid Hand object?
      *
@@ -35,6 +112,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      */
     @Override
     public boolean isValid() {
+        if (this.snapshot != null) {
+            return true;
+        }
         return this._hand.isValid();
     }
 
@@ -45,6 +125,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      */
     @Override
     public com.leapmotion.leap.Hand getRaw() {
+        if (this._hand == null && this.snapshot != null && this.snapshot.getFrame() != null) {
+            this._hand = this.snapshot.getFrame().hand(this.getId());
+        }
         return this._hand;
     }
 
@@ -58,6 +141,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return ID
      */
     public int getId() {
+        if (this.snapshot != null) {
+            return this.snapshot.handIds[this.index];
+        }
         return this._hand.id();
     }
 
@@ -67,7 +153,34 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Position
      */
     public PVector getPosition() {
-        return this.leap.map(this._hand.palmPosition());
+        return this.getPosition(new PVector());
+    }
+
+    /**
+     * The center position of the palm in millimeters.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.palms, this.offset(FrameSnapshot.PALM_POSITION), target);
+        }
+        return this.leap.map(this._hand.palmPosition(), target);
+    }
+
+    /**
+     * The center position of the palm in millimeters.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.palms, this.offset(FrameSnapshot.PALM_POSITION), target, offset);
+        }
+        return this.leap.map(this._hand.palmPosition(), target, offset);
     }
 
     /**
@@ -76,7 +189,34 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Raw position
      */
     public PVector getRawPosition() {
-        return this.leap.convert(this._hand.palmPosition());
+        return this.getRawPosition(new PVector());
+    }
+
+    /**
+     * Raw data of the center position.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.palms, this.offset(FrameSnapshot.PALM_POSITION), target);
+        }
+        return this.leap.convert(this._hand.palmPosition(), target);
+    }
+
+    /**
+     * Raw data of the center position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.palms, this.offset(FrameSnapshot.PALM_POSITION), target, offset);
+        }
+        return this.leap.convert(this._hand.palmPosition(), target, offset);
     }
 
     /**
@@ -85,7 +225,28 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Position
      */
     public PVector getPalmPosition() {
-        return this.getPosition();
+        return this.getPalmPosition(new PVector());
+    }
+
+    /**
+     * The center position of the palm in millimeters.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPalmPosition(PVector target) {
+        return this.getPosition(target);
+    }
+
+    /**
+     * The center position of the palm in millimeters.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPalmPosition(float[] target, int offset) {
+        return this.getPosition(target, offset);
     }
 
     /**
@@ -94,7 +255,34 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Position
      */
     public PVector getStabilizedPosition() {
-        return this.leap.map(this._hand.stabilizedPalmPosition());
+        return this.getStabilizedPosition(new PVector());
+    }
+
+    /**
+     * The stabilized center position of the palm in millimeters.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getStabilizedPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.palms, this.offset(FrameSnapshot.PALM_STABILIZED_POSITION), target);
+        }
+        return this.leap.map(this._hand.stabilizedPalmPosition(), target);
+    }
+
+    /**
+     * The stabilized center position of the palm in millimeters.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getStabilizedPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.palms, this.offset(FrameSnapshot.PALM_STABILIZED_POSITION), target, offset);
+        }
+        return this.leap.map(this._hand.stabilizedPalmPosition(), target, offset);
     }
 
     /**
@@ -103,7 +291,28 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Position
      */
     public PVector getStabilizedPalmPosition() {
-        return this.getStabilizedPosition();
+        return this.getStabilizedPalmPosition(new PVector());
+    }
+
+    /**
+     * The stabilized center position of the palm in millimeters.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getStabilizedPalmPosition(PVector target) {
+        return this.getStabilizedPosition(target);
+    }
+
+    /**
+     * The stabilized center position of the palm in millimeters.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getStabilizedPalmPosition(float[] target, int offset) {
+        return this.getStabilizedPosition(target, offset);
     }
 
     /**
@@ -112,7 +321,34 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Position
      */
     public PVector getRawStabilizedPosition() {
-        return this.leap.convert(this._hand.stabilizedPalmPosition());
+        return this.getRawStabilizedPosition(new PVector());
+    }
+
+    /**
+     * Raw data of the stabilized center position.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getRawStabilizedPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.palms, this.offset(FrameSnapshot.PALM_STABILIZED_POSITION), target);
+        }
+        return this.leap.convert(this._hand.stabilizedPalmPosition(), target);
+    }
+
+    /**
+     * Raw data of the stabilized center position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getRawStabilizedPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.palms, this.offset(FrameSnapshot.PALM_STABILIZED_POSITION), target, offset);
+        }
+        return this.leap.convert(this._hand.stabilizedPalmPosition(), target, offset);
     }
 
     /**
@@ -121,7 +357,28 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Raw position
      */
     public PVector getRawStabilizedParlmPosition() {
-        return this.getRawStabilizedPosition();
+        return this.getRawStabilizedParlmPosition(new PVector());
+    }
+
+    /**
+     * Raw data of the stabilized center position.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawStabilizedParlmPosition(PVector target) {
+        return this.getRawStabilizedPosition(target);
+    }
+
+    /**
+     * Raw data of the stabilized center position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawStabilizedParlmPosition(float[] target, int offset) {
+        return this.getRawStabilizedPosition(target, offset);
     }
 
     /**
@@ -130,20 +387,86 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Direction
      */
     public PVector getDirection() {
-        return new PVector(
+        return this.getDirection(new PVector());
+    }
+
+    /**
+     * The direction from the palm position toward the fingers.
+     *
+     * @param target Target vector
+     * @return Direction
+     */
+    public PVector getDirection(PVector target) {
+        if (this.snapshot != null) {
+            int offset = this.offset(FrameSnapshot.PALM_DIRECTION);
+            return target.set(
+                PApplet.degrees(FrameSnapshot.roll(this.snapshot.palms, offset)),
+                PApplet.degrees(FrameSnapshot.pitch(this.snapshot.palms, offset)),
+                PApplet.degrees(FrameSnapshot.yaw(this.snapshot.palms, offset))
+            );
+        }
+        return target.set(
             PApplet.degrees(this._hand.direction().roll()),
             PApplet.degrees(this._hand.direction().pitch()),
             PApplet.degrees(this._hand.direction().yaw())
         );
     }
 
+    /**
+     * The direction from the palm position toward the fingers.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Direction
+     */
+    public float[] getDirection(float[] target, int offset) {
+        if (this.snapshot != null) {
+            int from = this.offset(FrameSnapshot.PALM_DIRECTION);
+            target[offset] = PApplet.degrees(FrameSnapshot.roll(this.snapshot.palms, from));
+            target[offset + 1] = PApplet.degrees(FrameSnapshot.pitch(this.snapshot.palms, from));
+            target[offset + 2] = PApplet.degrees(FrameSnapshot.yaw(this.snapshot.palms, from));
+            return target;
+        }
+        target[offset] = PApplet.degrees(this._hand.direction().roll());
+        target[offset + 1] = PApplet.degrees(this._hand.direction().pitch());
+        target[offset + 2] = PApplet.degrees(this._hand.direction().yaw());
+        return target;
+    }
+
     /**
      * Raw data of the direction from the palm position toward the fingers.
      *
      * @return Raw direction
      */
     public PVector getRawDirection() {
-        return this.leap.convert(this._hand.direction());
+        return this.getRawDirection(new PVector());
+    }
+
+    /**
+     * Raw data of the direction from the palm position toward the fingers.
+     *
+     * @param target Target vector
+     * @return Raw direction
+     */
+    public PVector getRawDirection(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.palms, this.offset(FrameSnapshot.PALM_DIRECTION), target);
+        }
+        return this.leap.convert(this._hand.direction(), target);
+    }
+
+    /**
+     * Raw data of the direction from the palm position toward the fingers.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw direction
+     */
+    public float[] getRawDirection(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.palms, this.offset(FrameSnapshot.PALM_DIRECTION), target, offset);
+        }
+        return this.leap.convert(this._hand.direction(), target, offset);
     }
 
     /**
@@ -152,6 +475,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Confidence level ranges between 0.0 and 1.0
      */
     public float getConfidence() {
+        if (this.snapshot != null) {
+            return this.snapshot.palms[this.offset(FrameSnapshot.PALM_CONFIDENCE)];
+        }
         return this._hand.confidence();
     }
 
@@ -161,6 +487,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return True if the hand is identified as a left hand.
      */
     public boolean isLeft() {
+        if (this.snapshot != null) {
+            return (this.snapshot.handFlags[this.index] & FrameSnapshot.HAND_LEFT) != 0;
+        }
         return this._hand.isLeft();
     }
 
@@ -170,6 +499,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return True if the hand is identified as a right hand.
      */
     public boolean isRight() {
+        if (this.snapshot != null) {
+            return (this.snapshot.handFlags[this.index] & FrameSnapshot.HAND_LEFT) == 0;
+        }
         return this._hand.isRight();
     }
 
@@ -179,15 +511,34 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return A float value in the [0..1] range representing the holding strength of the pose.
      */
     public float getGrabStrength() {
+        if (this.snapshot != null) {
+            return this.snapshot.palms[this.offset(FrameSnapshot.PALM_GRAB_STRENGTH)];
+        }
         return this._hand.grabStrength();
     }
 
+    /**
+     * Get the current pose of the hand (see LeapMotion.allowPoses).
+     *
+     * @return Name of the pose or null
+     */
+    public String getPose() {
+        PoseClassifier classifier = this.leap.getPoseClassifier();
+        if (classifier == null) {
+            return null;
+        }
+        return classifier.getPose(this.getId());
+    }
+
     /**
      * The holding strength of a pinch hand pose. The strength is zero for an open hand, and blends to 1.0 when a pinching hand pose is recognized. Pinching can be done between the thumb and any other finger of the same hand.
      *
      * @return A float value in the [0..1] range representing the holding strength of the pinch pose.
      */
     public float getPinchStrength() {
+        if (this.snapshot != null) {
+            return this.snapshot.palms[this.offset(FrameSnapshot.PALM_PINCH_STRENGTH)];
+        }
         return this._hand.pinchStrength();
     }
 
@@ -197,6 +548,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Duration
      */
     public float getTimeVisible() {
+        if (this.snapshot != null) {
+            return this.snapshot.palms[this.offset(FrameSnapshot.PALM_TIME_VISIBLE)];
+        }
         return this._hand.timeVisible();
     }
 
@@ -206,6 +560,19 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Single finger
      */
     public Finger getFrontFinger() {
+        if ((this.cached & CACHED_FRONT_FINGER) == 0) {
+            this.frontFinger = this.findFrontFinger();
+            this.cached |= CACHED_FRONT_FINGER;
+        }
+        return this.frontFinger;
+    }
+
+    private Finger findFrontFinger() {
+        if (this.snapshot != null) {
+            int offset = this.snapshot.handFingerOffsets[this.index];
+            int found = this.snapshot.findPointable(offset, offset + this.snapshot.handFingerCounts[this.index], this.index, 2, false);
+            return (found != -1) ? new Finger(this.parent, this.leap, this.snapshot, found) : null;
+        }
         return new Finger(this.parent, this.leap, this._hand.fingers().frontmost());
     }
 
@@ -215,6 +582,19 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Single finger
      */
     public Finger getLeftFinger() {
+        if ((this.cached & CACHED_LEFT_FINGER) == 0) {
+            this.leftFinger = this.findLeftFinger();
+            this.cached |= CACHED_LEFT_FINGER;
+        }
+        return this.leftFinger;
+    }
+
+    private Finger findLeftFinger() {
+        if (this.snapshot != null) {
+            int offset = this.snapshot.handFingerOffsets[this.index];
+            int found = this.snapshot.findPointable(offset, offset + this.snapshot.handFingerCounts[this.index], this.index, 0, false);
+            return (found != -1) ? new Finger(this.parent, this.leap, this.snapshot, found) : null;
+        }
         return new Finger(this.parent, this.leap, this._hand.fingers().leftmost());
     }
 
@@ -224,6 +604,19 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Single finger
      */
     public Finger getRightFinger() {
+        if ((this.cached & CACHED_RIGHT_FINGER) == 0) {
+            this.rightFinger = this.findRightFinger();
+            this.cached |= CACHED_RIGHT_FINGER;
+        }
+        return this.rightFinger;
+    }
+
+    private Finger findRightFinger() {
+        if (this.snapshot != null) {
+            int offset = this.snapshot.handFingerOffsets[this.index];
+            int found = this.snapshot.findPointable(offset, offset + this.snapshot.handFingerCounts[this.index], this.index, 0, true);
+            return (found != -1) ? new Finger(this.parent, this.leap, this.snapshot, found) : null;
+        }
         return new Finger(this.parent, this.leap, this._hand.fingers().rightmost());
     }
 
@@ -233,6 +626,19 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Single tool
      */
     public Tool getFrontTool() {
+        if ((this.cached & CACHED_FRONT_TOOL) == 0) {
+            this.frontTool = this.findFrontTool();
+            this.cached |= CACHED_FRONT_TOOL;
+        }
+        return this.frontTool;
+    }
+
+    private Tool findFrontTool() {
+        if (this.snapshot != null) {
+            int found = this.snapshot.findPointable(this.snapshot.countFingers(),
+                    this.snapshot.countFingers() + this.snapshot.countTools(), this.index, 2, false);
+            return (found != -1) ? new Tool(this.parent, this.leap, this.snapshot, found) : null;
+        }
         return new Tool(this.parent, this.leap, this._hand.tools().frontmost());
     }
 
@@ -242,6 +648,19 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Single tool
      */
     public Tool getLeftTool() {
+        if ((this.cached & CACHED_LEFT_TOOL) == 0) {
+            this.leftTool = this.findLeftTool();
+            this.cached |= CACHED_LEFT_TOOL;
+        }
+        return this.leftTool;
+    }
+
+    private Tool findLeftTool() {
+        if (this.snapshot != null) {
+            int found = this.snapshot.findPointable(this.snapshot.countFingers(),
+                    this.snapshot.countFingers() + this.snapshot.countTools(), this.index, 0, false);
+            return (found != -1) ? new Tool(this.parent, this.leap, this.snapshot, found) : null;
+        }
         return new Tool(this.parent, this.leap, this._hand.tools().leftmost());
     }
 
@@ -251,6 +670,19 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Single tool
      */
     public Tool getRightTool() {
+        if ((this.cached & CACHED_RIGHT_TOOL) == 0) {
+            this.rightTool = this.findRightTool();
+            this.cached |= CACHED_RIGHT_TOOL;
+        }
+        return this.rightTool;
+    }
+
+    private Tool findRightTool() {
+        if (this.snapshot != null) {
+            int found = this.snapshot.findPointable(this.snapshot.countFingers(),
+                    this.snapshot.countFingers() + this.snapshot.countTools(), this.index, 0, true);
+            return (found != -1) ? new Tool(this.parent, this.leap, this.snapshot, found) : null;
+        }
         return new Tool(this.parent, this.leap, this._hand.tools().rightmost());
     }
 
@@ -264,7 +696,31 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Angles
      */
     public PVector getDynamics() {
-        return new PVector(this.getRoll(), this.getPitch(), this.getYaw());
+        return this.getDynamics(new PVector());
+    }
+
+    /**
+     * Get the angles of the hand (x=roll, y=pich, z=yaw).
+     *
+     * @param target Target vector
+     * @return Angles
+     */
+    public PVector getDynamics(PVector target) {
+        return target.set(this.getRoll(), this.getPitch(), this.getYaw());
+    }
+
+    /**
+     * Get the angles of the hand (x=roll, y=pich, z=yaw).
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Angles
+     */
+    public float[] getDynamics(float[] target, int offset) {
+        target[offset] = this.getRoll();
+        target[offset + 1] = this.getPitch();
+        target[offset + 2] = this.getYaw();
+        return target;
     }
 
     /**
@@ -273,6 +729,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Single angle
      */
     public float getRoll() {
+        if (this.snapshot != null) {
+            return -PApplet.degrees(FrameSnapshot.roll(this.snapshot.palms, this.offset(FrameSnapshot.PALM_NORMAL)));
+        }
         return -PApplet.degrees(this._hand.palmNormal().roll());
     }
 
@@ -282,6 +741,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Single angle
      */
     public float getPitch() {
+        if (this.snapshot != null) {
+            return PApplet.degrees(FrameSnapshot.pitch(this.snapshot.palms, this.offset(FrameSnapshot.PALM_DIRECTION)));
+        }
         return PApplet.degrees(this._hand.direction().pitch());
     }
 
@@ -291,6 +753,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Single angle
      */
     public float getYaw() {
+        if (this.snapshot != null) {
+            return PApplet.degrees(FrameSnapshot.yaw(this.snapshot.palms, this.offset(FrameSnapshot.PALM_DIRECTION)));
+        }
         return PApplet.degrees(this._hand.direction().yaw());
     }
 
@@ -304,7 +769,34 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Position
      */
     public PVector getSpherePosition() {
-        return this.leap.map(this._hand.sphereCenter());
+        return this.getSpherePosition(new PVector());
+    }
+
+    /**
+     * The center of a sphere fit to the curvature of this hand.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getSpherePosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.palms, this.offset(FrameSnapshot.PALM_SPHERE_CENTER), target);
+        }
+        return this.leap.map(this._hand.sphereCenter(), target);
+    }
+
+    /**
+     * The center of a sphere fit to the curvature of this hand.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getSpherePosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.palms, this.offset(FrameSnapshot.PALM_SPHERE_CENTER), target, offset);
+        }
+        return this.leap.map(this._hand.sphereCenter(), target, offset);
     }
 
     /**
@@ -313,7 +805,34 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Raw position
      */
     public PVector getRawSpherePosition() {
-        return this.leap.convert(this._hand.sphereCenter());
+        return this.getRawSpherePosition(new PVector());
+    }
+
+    /**
+     * Raw data of the center of a sphere fit to the curvature of this _hand.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawSpherePosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.palms, this.offset(FrameSnapshot.PALM_SPHERE_CENTER), target);
+        }
+        return this.leap.convert(this._hand.sphereCenter(), target);
+    }
+
+    /**
+     * Raw data of the center of a sphere fit to the curvature of this _hand.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawSpherePosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.palms, this.offset(FrameSnapshot.PALM_SPHERE_CENTER), target, offset);
+        }
+        return this.leap.convert(this._hand.sphereCenter(), target, offset);
     }
 
     /**
@@ -322,6 +841,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Radius
      */
     public float getSphereRadius() {
+        if (this.snapshot != null) {
+            return this.snapshot.palms[this.offset(FrameSnapshot.PALM_SPHERE_RADIUS)];
+        }
         return this._hand.sphereRadius();
     }
 
@@ -331,14 +853,28 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
 
     /**
      * Get all detected fingers of the _hand.
+     * <p/>
+     * Like all lists and single fingers and tools of the hand, the result is kept for the current frame: repeated requests return the same instances without asking the device again.
      *
      * @return List of fingers
      */
     public ArrayList<Finger> getFingers() {
+        if ((this.cached & CACHED_FINGERS) != 0) {
+            return this.fingers;
+        }
+        this.cached |= CACHED_FINGERS;
         fingers.clear();
+        if (this.snapshot != null) {
+            int offset = this.snapshot.handFingerOffsets[this.index];
+            for (int p = offset; p < offset + this.snapshot.handFingerCounts[this.index]; p++) {
+                this.fingers.add(this.getFinger(p - offset, p));
+            }
+            return fingers;
+        }
         if (this.hasFingers()) {
+            int slot = 0;
             for (com.leapmotion.leap.Finger finger : this._hand.fingers()) {
-                this.fingers.add(new Finger(this.parent, this.leap, finger));
+                this.fingers.add(this.getFinger(slot++, finger));
             }
         }
         return fingers;
@@ -350,7 +886,31 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return List of fingers
      */
     public ArrayList<Finger> getOutstretchedFingers() {
+        if ((this.cached & CACHED_OUTSTRETCHED_FINGERS) != 0) {
+            return this.outstretchedFingers;
+        }
+        this.cached |= CACHED_OUTSTRETCHED_FINGERS;
         this.outstretchedFingers.clear();
+        if (this.snapshot != null) {
+            int offset = this.snapshot.handFingerOffsets[this.index];
+            for (int p = offset; p < offset + this.snapshot.handFingerCounts[this.index]; p++) {
+                if ((this.snapshot.pointableFlags[p] & FrameSnapshot.POINTABLE_EXTENDED) != 0) {
+                    this.outstretchedFingers.add(this.getFinger(p - offset, p));
+                }
+            }
+            return this.outstretchedFingers;
+        }
+        if (this.leap.isPooling()) {
+            // same slots as getFingers()
+            int slot = 0;
+            for (com.leapmotion.leap.Finger finger : this._hand.fingers()) {
+                if (finger.isExtended()) {
+                    this.outstretchedFingers.add(this.getFinger(slot, finger));
+                }
+                slot++;
+            }
+            return this.outstretchedFingers;
+        }
         if (!this._hand.fingers().extended().isEmpty()) {
             for (com.leapmotion.leap.Finger finger : this._hand.fingers().extended()) {
                 this.outstretchedFingers.add(new Finger(this.parent, this.leap, finger));
@@ -370,33 +930,37 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
 
     /**
      * Get all outstretched fingers by angle.
+     * <p/>
+     * The ratio is calculated on the raw joints (independent of the size of the sketch) and only the outstretched fingers are wrapped. The result is kept for the current frame (see getFingers()), so repeated calls with the same similarity are free.
      *
      * @param similarity Minimum value of similarity
      * @return List of fingers
      */
     public ArrayList<Finger> getOutstretchedFingersByAngel(int similarity) {
+        if ((this.cached & CACHED_OUTSTRETCHED_FINGERS_BY_ANGEL) != 0 && similarity == this.outstretchedFingersByAngelSimilarity) {
+            return this.outstretchedFingersByAngel;
+        }
+        this.cached |= CACHED_OUTSTRETCHED_FINGERS_BY_ANGEL;
+        this.outstretchedFingersByAngelSimilarity = similarity;
         this.outstretchedFingersByAngel.clear();
         if (this.hasFingers()) {
-            for (com.leapmotion.leap.Finger finger : this._hand.fingers()) {
-                if (finger.isValid()) {
-                    Finger candidate = new Finger(this.parent, this.leap, finger);
-                    // calculate total distance
-                    float distance = 0.0f;
-                    for (int b = 0; b < 4; b++) {
-                        distance += PVector.dist(
-                                candidate.getBone(b).getNextJoint(),
-                                candidate.getBone(b).getPrevJoint()
-                        );
+            if (this.snapshot != null) {
+                int offset = this.snapshot.handFingerOffsets[this.index];
+                for (int p = offset; p < offset + this.snapshot.handFingerCounts[this.index]; p++) {
+                    if (Finger.isOutstretchedByAngel(this.snapshot.joints, p * FrameSnapshot.JOINT_STRIDE, this.snapshot.pointableTypes[p], similarity)) {
+                        this.outstretchedFingersByAngel.add(this.getFinger(p - offset, p));
                     }
-                    // calculate shortest distance
-                    float direct = PVector.dist(
-                            candidate.getBone(0).getNextJoint(),
-                            candidate.getBone(((candidate.getType() != 0) ? 3 : 2)).getPrevJoint()
-                    );
-                    // calculate ratio
-                    if ((direct / distance * 100) >= similarity) {
-                        outstretchedFingersByAngel.add(candidate);
+                }
+            } else {
+                if (this.fingerJoints == null) {
+                    this.fingerJoints = new float[FrameSnapshot.JOINT_STRIDE];
+                }
+                int slot = 0;
+                for (com.leapmotion.leap.Finger finger : this._hand.fingers()) {
+                    if (finger.isValid() && Finger.isOutstretchedByAngel(Finger.getJoints(finger, this.fingerJoints), 0, finger.type().swigValue(), similarity)) {
+                        this.outstretchedFingersByAngel.add(this.getFinger(slot, finger));
                     }
+                    slot++;
                 }
             }
         }
@@ -418,6 +982,7 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return List of fingers
      */
     public ArrayList<Finger> getRawOutstrechtedFingers() {
+        this.cached &= ~CACHED_OUTSTRETCHED_FINGERS;
         this.outstretchedFingers.clear();
 
         return this.outstretchedFingers;
@@ -429,6 +994,9 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Is there any finger?
      */
     public boolean hasFingers() {
+        if (this.snapshot != null) {
+            return this.snapshot.handFingerCounts[this.index] > 0;
+        }
         return this.leap.isConnected() && !this._hand.fingers().isEmpty();
     }
 
@@ -438,25 +1006,80 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Number of fingers
      */
     public int countFingers() {
+        if (this.snapshot != null) {
+            return this.snapshot.handFingerCounts[this.index];
+        }
         if (this.leap.isConnected()) {
-            return this._hand.fingers().count();
+            return ((this.cached & CACHED_FINGERS) != 0) ? this.fingers.size() : this._hand.fingers().count();
         }
         return 0;
     }
 
     /**
      * Get a specific finger by id.
+     * <p/>
+     * The fingers of the current frame are indexed by their type once, so the lookup (e.g. by getThumb()) is free afterwards and keeps the list of getFingers().
      *
      * @param type 0:TYPE_THUMB, 1:TYPE_INDEX, 2:TYPE_MIDDLE, 3:TYPE_RING, 4:TYPE_PINKY
      * @return Single finger or null
      */
     public Finger getFinger(int type) {
-        for (Finger finger : this.getFingers()) {
-            if (finger.getType() == type) {
-                return finger;
+        if (type < 0 || type >= this.fingerTypes.length) {
+            return null;
+        }
+        if ((this.cached & CACHED_FINGER_TYPES) == 0) {
+            Arrays.fill(this.fingerTypes, null);
+            for (Finger finger : this.getFingers()) {
+                int current = finger.getType();
+                if (current >= 0 && current < this.fingerTypes.length && this.fingerTypes[current] == null) {
+                    this.fingerTypes[current] = finger;
+                }
             }
+            this.cached |= CACHED_FINGER_TYPES;
+        }
+        return this.fingerTypes[type];
+    }
+
+    /**
+     * Get a finger of the snapshot (reused if pooling is allowed).
+     *
+     * @param slot  Slot in the pool
+     * @param index Index of the finger in the snapshot
+     * @return Single finger
+     */
+    private Finger getFinger(int slot, int index) {
+        if (this.leap.isPooling()) {
+            Finger finger = this.getPooledFinger(slot);
+            finger.bind(this.snapshot, index);
+            return finger;
+        }
+        return new Finger(this.parent, this.leap, this.snapshot, index);
+    }
+
+    /**
+     * Get a finger (reused if pooling is allowed).
+     *
+     * @param slot    Slot in the pool
+     * @param _finger Instance of com.leapmotion.leap.Finger
+     * @return Single finger
+     */
+    private Finger getFinger(int slot, com.leapmotion.leap.Finger _finger) {
+        if (this.leap.isPooling()) {
+            Finger finger = this.getPooledFinger(slot);
+            finger.bind(_finger);
+            return finger;
         }
-        return null;
+        return new Finger(this.parent, this.leap, _finger);
+    }
+
+    private Finger getPooledFinger(int slot) {
+        if (this.fingerPool == null) {
+            this.fingerPool = new ArrayList<Finger>();
+        }
+        while (this.fingerPool.size() <= slot) {
+            this.fingerPool.add(new Finger(this.parent, this.leap, (com.leapmotion.leap.Finger) null));
+        }
+        return this.fingerPool.get(slot);
     }
 
     /**
@@ -466,19 +1089,8 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Single finger or null
      */
     public Finger getFinger(String name) {
-        name = name.toLowerCase();
-        if (name.equals("thumb")) {
-            return this.getFinger(0);
-        } else if (name.equals("index")) {
-            return this.getFinger(1);
-        } else if (name.equals("middle")) {
-            return this.getFinger(2);
-        } else if (name.equals("ring")) {
-            return this.getFinger(3);
-        } else if (name.equals("pinky")) {
-            return this.getFinger(4);
-        }
-        return null;
+        Integer type = Hand.FINGER_TYPES.get(name.toLowerCase());
+        return (type != null) ? this.getFinger(type.intValue()) : null;
     }
 
     /**
@@ -536,21 +1148,60 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return List of tools
      */
     public ArrayList<Tool> getTools() {
+        if ((this.cached & CACHED_TOOLS) != 0) {
+            return this.tools;
+        }
+        this.cached |= CACHED_TOOLS;
         tools.clear();
+        if (this.snapshot != null) {
+            int slot = 0;
+            for (int p = this.snapshot.countFingers(); p < this.snapshot.countFingers() + this.snapshot.countTools(); p++) {
+                if (this.snapshot.pointableHands[p] == this.index) {
+                    if (this.leap.isPooling()) {
+                        Tool tool = this.getPooledTool(slot++);
+                        tool.bind(this.snapshot, p);
+                        tools.add(tool);
+                    } else {
+                        tools.add(new Tool(this.parent, this.leap, this.snapshot, p));
+                    }
+                }
+            }
+            return tools;
+        }
         if (this.hasTools()) {
+            int slot = 0;
             for (com.leapmotion.leap.Tool tool : this._hand.tools()) {
-                tools.add(new Tool(this.parent, this.leap, tool));
+                if (this.leap.isPooling()) {
+                    Tool pooled = this.getPooledTool(slot++);
+                    pooled.bind(tool);
+                    tools.add(pooled);
+                } else {
+                    tools.add(new Tool(this.parent, this.leap, tool));
+                }
             }
         }
         return tools;
     }
 
+    private Tool getPooledTool(int slot) {
+        if (this.toolPool == null) {
+            this.toolPool = new ArrayList<Tool>();
+        }
+        while (this.toolPool.size() <= slot) {
+            this.toolPool.add(new Tool(this.parent, this.leap, (com.leapmotion.leap.Tool) null));
+        }
+        return this.toolPool.get(slot);
+    }
+
     /**
      * Is there any tool?
      *
      * @return Is there any tool?
      */
     public boolean hasTools() {
+        if (this.snapshot != null) {
+            return this.countTools() > 0;
+        }
         if (this.leap.isConnected()) {
             return !this._hand.tools().isEmpty();
         }
@@ -563,8 +1214,17 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Number of tools
      */
     public int countTools() {
+        if (this.snapshot != null) {
+            int count = 0;
+            for (int p = this.snapshot.countFingers(); p < this.snapshot.countFingers() + this.snapshot.countTools(); p++) {
+                if (this.snapshot.pointableHands[p] == this.index) {
+                    count++;
+                }
+            }
+            return count;
+        }
         if (this.leap.isConnected()) {
-            return this._hand.tools().count();
+            return ((this.cached & CACHED_TOOLS) != 0) ? this.tools.size() : this._hand.tools().count();
         }
         return 0;
     }
@@ -579,6 +1239,20 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Single arm
      */
     public Arm getArm() {
+        if (this.leap.isPooling()) {
+            if (this.arm == null) {
+                this.arm = new Arm(this.parent, this.leap, (com.leapmotion.leap.Arm) null);
+            }
+            if (this.snapshot != null) {
+                this.arm.bind(this.snapshot, this.index);
+            } else {
+                this.arm.bind(this._hand.arm());
+            }
+            return this.arm;
+        }
+        if (this.snapshot != null) {
+            return new Arm(this.parent, this.leap, this.snapshot, this.index);
+        }
         return new Arm(this.parent, this.leap, this._hand.arm());
     }
 
@@ -588,10 +1262,81 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      * @return Is there any arm?
      */
     public boolean hasArm() {
+        if (this.snapshot != null) {
+            return (this.snapshot.handFlags[this.index] & FrameSnapshot.HAND_ARM) != 0;
+        }
         return this._hand.arm().isValid();
     }
 	
 	
+    /**
+     * Get the center position of the palm in the coordinate system of the device (millimeters, without origin).
+     *
+     * @param target Target array (x, y, z)
+     * @return Position
+     */
+    float[] getDevicePosition(float[] target) {
+        if (this.snapshot != null) {
+            System.arraycopy(this.snapshot.palms, this.offset(FrameSnapshot.PALM_POSITION), target, 0, 3);
+            return target;
+        }
+        com.leapmotion.leap.Vector position = this._hand.palmPosition();
+        target[0] = position.getX();
+        target[1] = position.getY();
+        target[2] = position.getZ();
+        return target;
+    }
+
+    /**
+     * Get the offset of a value in the palm data of the snapshot.
+     *
+     * @param field Field of the layout (e.g. FrameSnapshot.PALM_POSITION)
+     * @return Offset
+     */
+    protected int offset(int field) {
+        return this.index * FrameSnapshot.PALM_STRIDE + field;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+	/* JOINTS */
+
+    /**
+     * Get all joints of the hand in one direct buffer.
+     * <p/>
+     * Layout: 5 fingers (0=thumb ... 4=pinky) x 4 bones (0=distal ... 3=metacarpal) x prev/next joint x xyz (120 floats). Joints of fingers which are not tracked are zero. Every hand has its own buffer, which is reused by its next call (and by the following frames if pooling is allowed).
+     *
+     * @return Buffer with the mapped joint positions
+     */
+    public FloatBuffer getJointBuffer() {
+        return this.getJointBuffer(false);
+    }
+
+    /**
+     * Get all raw joints of the hand in one direct buffer.
+     * <p/>
+     * Same layout and buffer as getJointBuffer().
+     *
+     * @return Buffer with the raw joint positions
+     */
+    public FloatBuffer getRawJointBuffer() {
+        return this.getJointBuffer(true);
+    }
+
+    private FloatBuffer getJointBuffer(boolean raw) {
+        if (this.jointBuffer == null) {
+            this.jointBuffer = new JointBuffer(this.leap, 1);
+        }
+        this.jointBuffer.clear();
+        if (this.snapshot != null) {
+            this.jointBuffer.add(this.snapshot, this.index);
+        } else {
+            this.jointBuffer.add(this.getRaw());
+        }
+        return this.jointBuffer.flip(raw);
+    }
+	
+	
 	/* ------------------------------------------------------------------------ */
 	/* DRAWING */
 
@@ -688,7 +1433,7 @@ public class Hand implements PConstants, RawAccess<com.leapmotion.leap.Hand> {
      */
     public void drawFingers(int radius) {
         if (this.hasFingers()) {
-            for (Finger finger : this.fingers) {
+            for (Finger finger : this.getFingers()) {
                 finger.draw(radius);
             }
         }
@@ -1,5 +1,10 @@
 package de.voidplus.leapmotion;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+import com.leapmotion.leap.Vector;
+
 import processing.core.PApplet;
 import processing.core.PConstants;
 import processing.core.PImage;
@@ -7,31 +12,337 @@ import processing.core.PImage;
 
 public class Image extends PImage implements RawAccess<com.leapmotion.leap.Image> {
 
+    // Gray pixel (opaque ARGB) of every brightness value
+    static final int[] GRAY = new int[256];
+
+    static {
+        for (int i = 0; i < Image.GRAY.length; i++) {
+            Image.GRAY[i] = 0xFF000000 | (i << 16) | (i << 8) | i;
+        }
+    }
+
     protected PApplet parent;
     protected LeapMotion leap;
     private com.leapmotion.leap.Image _image;
     protected int id;
 
+    // Brightness values of the bound camera image (revision increases with every new camera image)
+    private byte[] data;
+    private long sequence;
+    private long timestamp;
+    private int revision;
+    private int pixelsRevision;
+    private int bufferRevision;
+    private ByteBuffer buffer;
+
+    // Rectified image (distortion correction)
+    private Rectification rectification;
+    private PImage rectified;
+    private int rectifiedRevision;
+    private boolean rectifiedBilinear;
+
+    // Windows around the hands (region of interest)
+    private final ArrayList<ImageRegion> regions = new ArrayList<ImageRegion>();
+    private final float[] palm = new float[3];
+    private final float[] window = new float[4];
+    private Vector ray;
+
+    // Conversion on a worker thread
+    final Runnable conversion = new Runnable() {
+        public void run() {
+            Image.this.convert();
+        }
+    };
+
     public Image(PApplet parent, LeapMotion leap, com.leapmotion.leap.Image _image) {
+        this(parent, leap, _image, true);
+    }
+
+    Image(PApplet parent, LeapMotion leap, com.leapmotion.leap.Image _image, boolean convert) {
         super(_image.width(), _image.height(), PConstants.RGB);
 
         this.parent = parent;
         this.leap = leap;
+        this.revision = -1;
+        this.pixelsRevision = -1;
+        this.bufferRevision = -1;
+        this.rectifiedRevision = -1;
 
+        // https://developer.leapmotion.com/documentation/skeletal/java/devguide/Leap_Images.html
+        this.bind(_image);
+        if (convert) {
+            this.convert();
+        }
+    }
+
+    /**
+     * Bind the image to the camera image of a new frame.
+     *
+     * @param _image Instance of com.leapmotion.leap.Image
+     * @return Have the pixels to be converted?
+     */
+    boolean bind(com.leapmotion.leap.Image _image) {
         this._image = _image;
         this.id = _image.id();
+        return this.isChanged() || this.pixelsRevision != this.revision;
+    }
 
-        // https://developer.leapmotion.com/documentation/skeletal/java/devguide/Leap_Images.html
-        this.loadPixels();
-        byte[] imageData = this._image.data();
-        int r, g, b;
-        for (int i = 0; i < _image.width() * _image.height(); i++) {
-            r = (imageData[i] & 0xFF) << 16;
-            g = (imageData[i] & 0xFF) << 8;
-            b = imageData[i] & 0xFF;
-            this.pixels[i] = r | g | b;
+    /**
+     * Is the bound camera image newer than the copied brightness values?
+     *
+     * @return Has it changed?
+     */
+    private boolean isChanged() {
+        return this.revision < 0 || this._image.sequenceId() != this.sequence || this._image.timestamp() != this.timestamp;
+    }
+
+    /**
+     * Copy the brightness values of the bound camera image (if it has changed).
+     */
+    private void fetch() {
+        if (!this.isChanged()) {
+            return;
         }
+        int length = this._image.width() * this._image.height() * this._image.bytesPerPixel();
+        if (this.data == null || this.data.length != length) {
+            this.data = new byte[length];
+        }
+        this._image.data(this.data);
+        this.sequence = this._image.sequenceId();
+        this.timestamp = this._image.timestamp();
+        this.revision++;
+    }
+
+    /**
+     * Convert the brightness values of the bound camera image to pixels (if it has changed).
+     */
+    void convert() {
+        this.fetch();
+        if (this.pixelsRevision == this.revision) {
+            return;
+        }
+        int width = this._image.width();
+        int height = this._image.height();
+        if (width != this.width || height != this.height) {
+            this.init(width, height, PConstants.RGB);
+        }
+        this.loadPixels();
+        Image.toPixels(this.data, this.pixels, width * height);
         this.updatePixels();
+        this.pixelsRevision = this.revision;
+    }
+
+    /**
+     * Get the raw brightness values (8 bit infrared) of the camera.
+     * <p/>
+     * The direct buffer is reused and refreshed in place, as soon as the camera delivers a new image. Rows are stored one after another (getWidth() bytes per row).
+     *
+     * @return Buffer (position 0, limit = number of bytes)
+     */
+    public ByteBuffer getBuffer() {
+        this.fetch();
+        if (this.bufferRevision != this.revision) {
+            if (this.buffer == null || this.buffer.capacity() < this.data.length) {
+                this.buffer = ByteBuffer.allocateDirect(this.data.length);
+            }
+            this.buffer.clear();
+            this.buffer.put(this.data);
+            this.buffer.flip();
+            this.bufferRevision = this.revision;
+        }
+        return this.buffer;
+    }
+
+    /**
+     * Get the rectified camera image (distortion correction, nearest neighbour).
+     *
+     * @return Reused image
+     */
+    public PImage getRectified() {
+        return this.getRectified(false);
+    }
+
+    /**
+     * Get the rectified camera image (distortion correction).
+     * <p/>
+     * The calibration of the camera is turned into a lookup table once and reused for every frame. The image is reused and only remapped, if the camera delivered a new image.
+     *
+     * @param bilinear Interpolate bilinear instead of nearest neighbour?
+     * @return Reused image
+     */
+    public PImage getRectified(boolean bilinear) {
+        this.fetch();
+        if (this.rectification == null || !this.rectification.matches(this._image)) {
+            this.rectification = new Rectification(this._image);
+            this.rectifiedRevision = -1;
+        }
+        if (this.rectified == null
+                || this.rectified.width != this.rectification.width
+                || this.rectified.height != this.rectification.height) {
+            this.rectified = new PImage(this.rectification.width, this.rectification.height, PConstants.RGB);
+            this.rectifiedRevision = -1;
+        }
+        if (this.rectifiedRevision != this.revision || this.rectifiedBilinear != bilinear) {
+            this.rectified.loadPixels();
+            this.rectification.remap(this.data, this.rectified.pixels, bilinear,
+                    (this.leap != null) ? this.leap.getImageWorkers() : null);
+            this.rectified.updatePixels();
+            this.rectifiedRevision = this.revision;
+            this.rectifiedBilinear = bilinear;
+        }
+        return this.rectified;
+    }
+
+    /**
+     * Get the window of the camera image around a hand (region of interest).
+     * <p/>
+     * The palm is projected into the camera image (calibration of the camera, the cameras are 40 millimeters apart). Only the pixels of the window are converted, the pixels of the whole image are not touched. The region is reused for the hand and only converted again, if the camera delivered a new image.
+     *
+     * @param hand       Hand
+     * @param radius     Size of the window (millimeters around the palm, e.g. ImageRegion.RADIUS)
+     * @param downsample Camera pixels per pixel of the region (1 = full resolution)
+     * @return Reused region or null (hand is not visible for the camera)
+     */
+    public ImageRegion getRegion(Hand hand, float radius, int downsample) {
+        this.fetch();
+        int scale = Math.max(downsample, 1);
+        ImageRegion region = this.getPooledRegion(hand.getId());
+        if (region.isCurrent(this.revision, radius, scale)) {
+            return region;
+        }
+        if (!this.project(hand.getDevicePosition(this.palm), radius, this.window)) {
+            return null;
+        }
+        int imageWidth = this._image.width();
+        int imageHeight = this._image.height();
+        int width = Image.fit(this.window[2] - this.window[0], scale, imageWidth);
+        int height = Image.fit(this.window[3] - this.window[1], scale, imageHeight);
+        if (width == 0 || height == 0) {
+            return null;
+        }
+        int x = Image.place((this.window[0] + this.window[2]) * 0.5f, width * scale, imageWidth);
+        int y = Image.place((this.window[1] + this.window[3]) * 0.5f, height * scale, imageHeight);
+        region.crop(this.data, imageWidth, this.id, x, y, width, height, scale);
+        region.update(this.revision, radius);
+        return region;
+    }
+
+    /**
+     * Get the window of the camera image around a hand (full resolution, see getRegion).
+     *
+     * @param hand Hand
+     * @return Reused region or null (hand is not visible for the camera)
+     */
+    public ImageRegion getRegion(Hand hand) {
+        return this.getRegion(hand, ImageRegion.RADIUS, 1);
+    }
+
+    /**
+     * Get the region of a hand (or a region, which was not used for the last camera images).
+     *
+     * @param handId ID of the hand
+     * @return Region
+     */
+    private ImageRegion getPooledRegion(int handId) {
+        ImageRegion free = null;
+        for (ImageRegion region : this.regions) {
+            if (region.handId == handId) {
+                return region;
+            }
+            if (free == null && region.revision < this.revision - 1) {
+                free = region;
+            }
+        }
+        if (free == null) {
+            free = new ImageRegion();
+            this.regions.add(free);
+        }
+        free.handId = handId;
+        free.revision = -1;
+        return free;
+    }
+
+    /**
+     * Project the square (2 * radius) around the palm into the camera image.
+     * <p/>
+     * https://developer.leapmotion.com/documentation/java/devguide/Leap_Images.html (Get the raw pixel coordinates of a tracked point)
+     *
+     * @param palm   Position of the palm (coordinate system of the device)
+     * @param radius Size of the window (millimeters)
+     * @param window Target bounds (left, top, right, bottom in camera pixels)
+     * @return Is the palm in front of the camera?
+     */
+    private boolean project(float[] palm, float radius, float[] window) {
+        if (palm[1] <= 0) {
+            return false;
+        }
+        if (this.ray == null) {
+            this.ray = new Vector();
+        }
+        // camera offset of the SDK sample: x is shifted by -20 millimeters for isRight() (id 0) and by +20 for isLeft() (id 1)
+        float camera = 20 * (2 * this.id - 1);
+        window[0] = Float.MAX_VALUE;
+        window[1] = Float.MAX_VALUE;
+        window[2] = -Float.MAX_VALUE;
+        window[3] = -Float.MAX_VALUE;
+        for (int corner = 0; corner < 4; corner++) {
+            float x = palm[0] + (((corner & 1) == 0) ? -radius : radius);
+            float z = palm[2] + (((corner & 2) == 0) ? -radius : radius);
+            this.ray.setX(-(x + camera) / palm[1]);
+            this.ray.setY(z / palm[1]);
+            Vector pixel = this._image.warp(this.ray);
+            float px = pixel.getX();
+            float py = pixel.getY();
+            pixel.delete();
+            if (Float.isNaN(px) || Float.isNaN(py)) {
+                continue;
+            }
+            window[0] = Math.min(window[0], px);
+            window[1] = Math.min(window[1], py);
+            window[2] = Math.max(window[2], px);
+            window[3] = Math.max(window[3], py);
+        }
+        return window[0] < this._image.width() && window[2] >= 0
+                && window[1] < this._image.height() && window[3] >= 0;
+    }
+
+    /**
+     * Get the size of a region (rounded up to ImageRegion.GRID, at most the camera image).
+     *
+     * @param size  Size of the window (camera pixels)
+     * @param scale Downsampling
+     * @param limit Size of the camera image
+     * @return Size of the region
+     */
+    private static int fit(float size, int scale, int limit) {
+        int cells = (int) Math.ceil(size / (scale * ImageRegion.GRID));
+        return Math.min(Math.max(cells, 1) * ImageRegion.GRID, limit / scale);
+    }
+
+    /**
+     * Get the border of a window around a center, moved into the camera image.
+     *
+     * @param center Center (camera pixels)
+     * @param size   Size of the window (camera pixels)
+     * @param limit  Size of the camera image
+     * @return Left or top border
+     */
+    private static int place(float center, int size, int limit) {
+        return Math.min(Math.max(Math.round(center - size * 0.5f), 0), limit - size);
+    }
+
+    /**
+     * Convert the brightness values of the camera to gray pixels.
+     *
+     * @param data   Brightness values
+     * @param pixels Target pixels
+     * @param count  Number of pixels
+     */
+    static void toPixels(byte[] data, int[] pixels, int count) {
+        int[] gray = Image.GRAY;
+        for (int i = 0; i < count; i++) {
+            pixels[i] = gray[data[i] & 0xFF];
+        }
     }
 
     /**
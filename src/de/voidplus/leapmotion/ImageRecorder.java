@@ -0,0 +1,315 @@
+package de.voidplus.leapmotion;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Recorder of the raw camera stream (brightness values of both cameras) into a raw Y8 file and an index.
+ * <p/>
+ * The listener thread only copies every new camera image into a preallocated queue of slots. A background thread appends them to the data file through a memory-mapped buffer, which is mapped in chunks of FrameRecorder.CHUNK bytes, and writes one index entry per image. If the writer falls behind (e.g. a slow disk), new images are dropped (see getDropped).
+ * <p/>
+ * Data file: the images one after another (8 bit per pixel, rows one after another, no header), so it can be read by any tool for raw gray video.
+ * <p/>
+ * Index file (data file + ".idx"): "LMIR", version (1 byte), entries of ImageRecorder.ENTRY bytes (big endian): offset in the data file (long), timestamp (long, microseconds), sequence (long), camera id (int), width (short), height (short).
+ */
+public class ImageRecorder {
+
+    static final byte[] MAGIC = {'L', 'M', 'I', 'R'};
+    static final int VERSION = 1;
+    static final int ENTRY = 32;
+
+    // Number of index entries which are collected before they are written
+    private static final int ENTRIES = 256;
+
+    private final File file;
+    private final File indexFile;
+    private final RandomAccessFile access;
+    private final FileChannel channel;
+    private final RandomAccessFile indexAccess;
+    private final FileChannel indexChannel;
+    private final ByteBuffer index;
+    private MappedByteBuffer mapped;
+    private long mappedStart;
+    // Size of the file (written by the writer thread, read by getSize)
+    private volatile long written;
+
+    // Queue between the listener thread (producer) and the writer thread (consumer)
+    private final Slot[] slots;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+    private final AtomicLong dropped;
+    private final AtomicLong images;
+
+    // Sequence of the last queued image per camera (producer only)
+    private final long[] sequences;
+
+    private final Thread writer;
+    private volatile boolean running;
+    private volatile IOException error;
+    private boolean closed;
+
+    private static class Slot {
+        byte[] data = new byte[0];
+        int length;
+        int id;
+        int width;
+        int height;
+        long sequence;
+        long timestamp;
+    }
+
+    /**
+     * Create a recorder and start its writer thread.
+     *
+     * @param file   Target file (will be overwritten)
+     * @param images Number of camera images which can wait for the writer
+     * @throws IOException if the files can not be opened
+     */
+    ImageRecorder(File file, int images) throws IOException {
+        this.file = file;
+        this.indexFile = new File(file.getPath() + ".idx");
+        this.access = new RandomAccessFile(file, "rw");
+        this.access.setLength(0);
+        this.channel = this.access.getChannel();
+        this.indexAccess = new RandomAccessFile(this.indexFile, "rw");
+        this.indexAccess.setLength(0);
+        this.indexChannel = this.indexAccess.getChannel();
+        this.index = ByteBuffer.allocateDirect(ENTRY * ENTRIES);
+        this.index.put(MAGIC);
+        this.index.put((byte) VERSION);
+        this.map(0);
+
+        // the buffers of the slots grow to the size of the camera images with the first images
+        this.slots = new Slot[Math.max(images, 2)];
+        for (int i = 0; i < this.slots.length; i++) {
+            this.slots[i] = new Slot();
+        }
+        this.head = new AtomicLong(0);
+        this.tail = new AtomicLong(0);
+        this.dropped = new AtomicLong(0);
+        this.images = new AtomicLong(0);
+        this.sequences = new long[]{-1, -1, -1, -1};
+
+        this.running = true;
+        this.writer = new Thread(new Runnable() {
+            public void run() {
+                ImageRecorder.this.write();
+            }
+        }, "LeapMotion-ImageRecorder");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Get the target file (raw data).
+     *
+     * @return File
+     */
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Get the index file.
+     *
+     * @return File
+     */
+    public File getIndexFile() {
+        return this.indexFile;
+    }
+
+    /**
+     * Get the number of recorded camera images.
+     *
+     * @return Number of images
+     */
+    public long getImages() {
+        return this.images.get();
+    }
+
+    /**
+     * Get the number of camera images which were lost because the writer was too slow.
+     *
+     * @return Number of images
+     */
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Get the size of the raw data.
+     *
+     * @return Number of bytes
+     */
+    public long getSize() {
+        return this.written;
+    }
+
+    /**
+     * Is the recorder still writing?
+     *
+     * @return Is it recording?
+     */
+    public boolean isRecording() {
+        return this.running && this.error == null;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Producer */
+
+    /**
+     * Queue the new camera images of a frame (listener thread only).
+     *
+     * @param frame Raw instance of com.leapmotion.leap.Frame
+     */
+    void add(com.leapmotion.leap.Frame frame) {
+        if (!this.running) {
+            return;
+        }
+        for (com.leapmotion.leap.Image _image : frame.images()) {
+            if (_image.isValid()) {
+                this.add(_image);
+            }
+        }
+    }
+
+    private void add(com.leapmotion.leap.Image _image) {
+        int id = _image.id();
+        long sequence = _image.sequenceId();
+        if (id >= 0 && id < this.sequences.length) {
+            if (this.sequences[id] == sequence) {
+                return;
+            }
+            this.sequences[id] = sequence;
+        }
+        long head = this.head.get();
+        if (head - this.tail.get() >= this.slots.length) {
+            this.dropped.incrementAndGet();
+            return;
+        }
+        Slot slot = this.slots[(int) (head % this.slots.length)];
+        int width = _image.width();
+        int height = _image.height();
+        int length = width * height * _image.bytesPerPixel();
+        if (slot.data.length != length) {
+            slot.data = new byte[length];
+        }
+        _image.data(slot.data);
+        slot.length = length;
+        slot.id = id;
+        slot.width = width;
+        slot.height = height;
+        slot.sequence = sequence;
+        slot.timestamp = _image.timestamp();
+        this.head.lazySet(head + 1);
+        LockSupport.unpark(this.writer);
+    }
+
+    /**
+     * Write all queued camera images and close the files.
+     *
+     * @throws IOException if the files could not be written
+     */
+    public synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.running = false;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.mapped != null) {
+            this.mapped.force();
+            this.mapped = null;
+        }
+        try {
+            this.channel.truncate(this.written);
+        } catch (IOException e) {
+            // the file stays mapped on some platforms, the index tells the end of the data
+        }
+        this.channel.close();
+        this.access.close();
+        this.indexChannel.close();
+        this.indexAccess.close();
+        if (this.error != null) {
+            throw this.error;
+        }
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Consumer */
+
+    private void write() {
+        try {
+            while (true) {
+                long tail = this.tail.get();
+                if (tail == this.head.get()) {
+                    this.flush();
+                    if (!this.running) {
+                        break;
+                    }
+                    LockSupport.parkNanos(this, 10000000L);
+                    continue;
+                }
+                Slot slot = this.slots[(int) (tail % this.slots.length)];
+                long offset = this.written;
+                this.append(slot.data, slot.length);
+                if (this.index.remaining() < ENTRY) {
+                    this.flush();
+                }
+                this.index.putLong(offset);
+                this.index.putLong(slot.timestamp);
+                this.index.putLong(slot.sequence);
+                this.index.putInt(slot.id);
+                this.index.putShort((short) slot.width);
+                this.index.putShort((short) slot.height);
+                this.tail.lazySet(tail + 1);
+                this.images.incrementAndGet();
+            }
+        } catch (IOException e) {
+            this.error = e;
+            this.running = false;
+            this.mapped = null;
+        }
+    }
+
+    private void append(byte[] data, int length) throws IOException {
+        int from = 0;
+        while (from < length) {
+            if (!this.mapped.hasRemaining()) {
+                this.map(this.written);
+            }
+            int count = Math.min(length - from, this.mapped.remaining());
+            this.mapped.put(data, from, count);
+            from += count;
+            this.written = this.mappedStart + this.mapped.position();
+        }
+    }
+
+    private void flush() throws IOException {
+        this.index.flip();
+        while (this.index.hasRemaining()) {
+            this.indexChannel.write(this.index);
+        }
+        this.index.clear();
+    }
+
+    private void map(long start) throws IOException {
+        this.mappedStart = start;
+        this.mapped = this.channel.map(FileChannel.MapMode.READ_WRITE, start, FrameRecorder.CHUNK);
+    }
+
+}
@@ -0,0 +1,171 @@
+package de.voidplus.leapmotion;
+
+import processing.core.PConstants;
+import processing.core.PImage;
+
+
+/**
+ * Window of a camera image around a hand (region of interest).
+ * <p/>
+ * Only the pixels of the window are converted, optionally downsampled (average of scale x scale camera pixels). The instances are pooled per camera and reused for the following frames. A pixel (x, y) of the region is the pixel (getX() + x * getScale(), getY() + y * getScale()) of the camera image.
+ */
+public class ImageRegion extends PImage {
+
+    // Default size of the window (millimeters around the palm)
+    public static final float RADIUS = 100;
+
+    // The size of the region is a multiple of GRID pixels, so it keeps its size while the hand moves slightly
+    static final int GRID = 8;
+
+    int handId;
+    int revision;
+    private int cameraId;
+    private int x;
+    private int y;
+    private int scale;
+    private float radius;
+
+    ImageRegion() {
+        super(GRID, GRID, PConstants.RGB);
+        this.revision = -1;
+        this.scale = 1;
+    }
+
+    /**
+     * Is the region up to date for a camera image?
+     *
+     * @param revision Revision of the camera image
+     * @param radius   Size of the window
+     * @param scale    Downsampling
+     * @return Is it up to date?
+     */
+    boolean isCurrent(int revision, float radius, int scale) {
+        return this.revision == revision && this.radius == radius && this.scale == scale;
+    }
+
+    /**
+     * Convert a window of the brightness values of a camera to gray pixels.
+     *
+     * @param data     Brightness values of the camera image
+     * @param stride   Width of the camera image
+     * @param cameraId ID of the camera
+     * @param x        Left border (camera pixels)
+     * @param y        Top border (camera pixels)
+     * @param width    Width of the region
+     * @param height   Height of the region
+     * @param scale    Camera pixels per pixel of the region (in each direction)
+     */
+    void crop(byte[] data, int stride, int cameraId, int x, int y, int width, int height, int scale) {
+        if (width != this.width || height != this.height || this.pixels == null) {
+            this.init(width, height, PConstants.RGB);
+        }
+        this.cameraId = cameraId;
+        this.x = x;
+        this.y = y;
+        this.scale = scale;
+        this.loadPixels();
+        int[] pixels = this.pixels;
+        int[] gray = Image.GRAY;
+        int i = 0;
+        if (scale == 1) {
+            for (int row = 0; row < height; row++) {
+                int index = (y + row) * stride + x;
+                for (int col = 0; col < width; col++) {
+                    pixels[i++] = gray[data[index++] & 0xFF];
+                }
+            }
+        } else {
+            int area = scale * scale;
+            for (int row = 0; row < height; row++) {
+                int top = (y + row * scale) * stride + x;
+                for (int col = 0; col < width; col++) {
+                    int sum = 0;
+                    int index = top + col * scale;
+                    for (int dy = 0; dy < scale; dy++) {
+                        for (int dx = 0; dx < scale; dx++) {
+                            sum += data[index + dx] & 0xFF;
+                        }
+                        index += stride;
+                    }
+                    pixels[i++] = gray[sum / area];
+                }
+            }
+        }
+        this.updatePixels();
+    }
+
+    /**
+     * Remember the parameters of the last conversion.
+     *
+     * @param revision Revision of the camera image
+     * @param radius   Size of the window
+     */
+    void update(int revision, float radius) {
+        this.revision = revision;
+        this.radius = radius;
+    }
+
+    /**
+     * Get the id of the hand.
+     *
+     * @return ID
+     */
+    public int getHandId() {
+        return this.handId;
+    }
+
+    /**
+     * Get the id of the camera.
+     *
+     * @return ID
+     */
+    public int getCameraId() {
+        return this.cameraId;
+    }
+
+    /**
+     * Get the left border of the window in the camera image.
+     *
+     * @return Pixels
+     */
+    public int getX() {
+        return this.x;
+    }
+
+    /**
+     * Get the top border of the window in the camera image.
+     *
+     * @return Pixels
+     */
+    public int getY() {
+        return this.y;
+    }
+
+    /**
+     * Get the downsampling of the window.
+     *
+     * @return Camera pixels per pixel (in each direction)
+     */
+    public int getScale() {
+        return this.scale;
+    }
+
+    /**
+     * Get region width.
+     *
+     * @return Width
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Get region height.
+     *
+     * @return Height
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+}
@@ -0,0 +1,129 @@
+package de.voidplus.leapmotion;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+
+/**
+ * All joints of one or more hands in a single direct FloatBuffer (e.g. to upload them to a vertex buffer at once).
+ * <p/>
+ * Layout: hands x 5 fingers (0=thumb ... 4=pinky) x 4 bones (0=distal ... 3=metacarpal) x prev/next joint x xyz, so every hand takes JointBuffer.HAND_STRIDE floats. Joints of fingers which are not tracked are set to zero.
+ */
+class JointBuffer {
+
+    // Floats per finger and per hand
+    static final int FINGER_STRIDE = FrameSnapshot.JOINT_STRIDE;
+    static final int HAND_STRIDE = FrameSnapshot.FINGERS * JointBuffer.FINGER_STRIDE;
+
+    private final LeapMotion leap;
+    private float[] data;
+    private boolean[] tracked;
+    private FloatBuffer buffer;
+    private int hands;
+
+    JointBuffer(LeapMotion leap, int hands) {
+        this.leap = leap;
+        this.ensure(hands);
+    }
+
+    /**
+     * Remove all hands.
+     */
+    void clear() {
+        this.hands = 0;
+    }
+
+    /**
+     * Add the joints of a hand of a snapshot.
+     *
+     * @param snapshot Snapshot with extracted data
+     * @param hand     Index of the hand
+     */
+    void add(FrameSnapshot snapshot, int hand) {
+        this.ensure(this.hands + 1);
+        int target = this.hands * JointBuffer.HAND_STRIDE;
+        Arrays.fill(this.tracked, this.hands * FrameSnapshot.FINGERS, (this.hands + 1) * FrameSnapshot.FINGERS, false);
+        int offset = snapshot.handFingerOffsets[hand];
+        for (int p = offset; p < offset + snapshot.handFingerCounts[hand]; p++) {
+            int type = snapshot.pointableTypes[p];
+            if (type < 0 || type >= FrameSnapshot.FINGERS) {
+                continue;
+            }
+            System.arraycopy(
+                    snapshot.joints, p * FrameSnapshot.JOINT_STRIDE,
+                    this.data, target + type * JointBuffer.FINGER_STRIDE,
+                    JointBuffer.FINGER_STRIDE
+            );
+            this.tracked[this.hands * FrameSnapshot.FINGERS + type] = true;
+        }
+        this.hands++;
+    }
+
+    /**
+     * Add the joints of a hand of the device.
+     *
+     * @param _hand Instance of com.leapmotion.leap.Hand
+     */
+    void add(com.leapmotion.leap.Hand _hand) {
+        this.ensure(this.hands + 1);
+        int target = this.hands * JointBuffer.HAND_STRIDE;
+        Arrays.fill(this.tracked, this.hands * FrameSnapshot.FINGERS, (this.hands + 1) * FrameSnapshot.FINGERS, false);
+        for (com.leapmotion.leap.Finger _finger : _hand.fingers()) {
+            int type = _finger.type().swigValue();
+            if (type < 0 || type >= FrameSnapshot.FINGERS) {
+                continue;
+            }
+            for (int b = 0; b < FrameSnapshot.BONES; b++) {
+                com.leapmotion.leap.Bone _bone = _finger.bone(FrameSnapshot.BONE_TYPES[b]);
+                int offset = target + type * JointBuffer.FINGER_STRIDE + b * FrameSnapshot.JOINT_BONE_STRIDE;
+                FrameSnapshot.put(this.data, offset + FrameSnapshot.JOINT_PREV, _bone.prevJoint());
+                FrameSnapshot.put(this.data, offset + FrameSnapshot.JOINT_NEXT, _bone.nextJoint());
+            }
+            this.tracked[this.hands * FrameSnapshot.FINGERS + type] = true;
+        }
+        this.hands++;
+    }
+
+    /**
+     * Map or convert all added joints and write them to the buffer.
+     *
+     * @param raw Convert (raw data) instead of map (world settings)?
+     * @return Buffer (position 0, limit = number of hands x JointBuffer.HAND_STRIDE)
+     */
+    FloatBuffer flip(boolean raw) {
+        int length = this.hands * JointBuffer.HAND_STRIDE;
+        if (raw) {
+            this.leap.convertAll(this.data, this.data, length / 3);
+        } else {
+            this.leap.mapAll(this.data, this.data, length / 3);
+        }
+        for (int f = 0; f < this.hands * FrameSnapshot.FINGERS; f++) {
+            if (!this.tracked[f]) {
+                Arrays.fill(this.data, f * JointBuffer.FINGER_STRIDE, (f + 1) * JointBuffer.FINGER_STRIDE, 0.0f);
+            }
+        }
+        this.buffer.clear();
+        this.buffer.put(this.data, 0, length);
+        this.buffer.flip();
+        return this.buffer;
+    }
+
+    private void ensure(int hands) {
+        if (this.data != null && this.data.length >= hands * JointBuffer.HAND_STRIDE) {
+            return;
+        }
+        int capacity = Math.max(hands, this.data == null ? 0 : this.data.length / JointBuffer.HAND_STRIDE * 2);
+        float[] data = new float[capacity * JointBuffer.HAND_STRIDE];
+        boolean[] tracked = new boolean[capacity * FrameSnapshot.FINGERS];
+        if (this.data != null) {
+            System.arraycopy(this.data, 0, data, 0, this.data.length);
+            System.arraycopy(this.tracked, 0, tracked, 0, this.tracked.length);
+        }
+        this.data = data;
+        this.tracked = tracked;
+        this.buffer = ByteBuffer.allocateDirect(data.length * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+}
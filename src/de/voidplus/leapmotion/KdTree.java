@@ -0,0 +1,185 @@
+package de.voidplus.leapmotion;
+
+
+/**
+ * Static k-d tree for nearest neighbour queries over feature vectors.
+ * <p/>
+ * The tree is implicit: the points are reordered in place, so the median of every range is the node which splits it (on the axis with the largest spread), and the halves left and right of it are its subtrees. Queries need no allocations and visit only the branches which can contain a closer point.
+ */
+class KdTree {
+
+    private final int dimensions;
+    private float[] points;
+    private int[] labels;
+    private int[] axes;
+    private int count;
+
+    // State of the current query
+    private float[] query;
+    private float bestDistance;
+    private int bestIndex;
+
+    KdTree(int dimensions) {
+        this.dimensions = dimensions;
+        this.points = new float[0];
+        this.labels = new int[0];
+        this.axes = new int[0];
+    }
+
+    /**
+     * Build the tree.
+     *
+     * @param points Points (dimensions values per point)
+     * @param labels Label per point
+     * @param count  Number of points
+     */
+    void build(float[] points, int[] labels, int count) {
+        int k = this.dimensions;
+        if (this.points.length < count * k) {
+            this.points = new float[count * k];
+            this.labels = new int[count];
+            this.axes = new int[count];
+        }
+        System.arraycopy(points, 0, this.points, 0, count * k);
+        System.arraycopy(labels, 0, this.labels, 0, count);
+        this.count = count;
+        this.build(0, count);
+    }
+
+    private void build(int from, int to) {
+        if (to - from <= 0) {
+            return;
+        }
+        int k = this.dimensions;
+        int axis = 0;
+        float spread = -1;
+        for (int d = 0; d < k; d++) {
+            float min = Float.MAX_VALUE;
+            float max = -Float.MAX_VALUE;
+            for (int i = from; i < to; i++) {
+                float value = this.points[i * k + d];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > spread) {
+                spread = max - min;
+                axis = d;
+            }
+        }
+        int middle = (from + to) >>> 1;
+        this.select(from, to - 1, middle, axis);
+        this.axes[middle] = axis;
+        this.build(from, middle);
+        this.build(middle + 1, to);
+    }
+
+    /**
+     * Move the n-th smallest point (on an axis) of a range to position n (quickselect).
+     */
+    private void select(int left, int right, int n, int axis) {
+        int k = this.dimensions;
+        while (left < right) {
+            float pivot = this.points[((left + right) >>> 1) * k + axis];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (this.points[i * k + axis] < pivot) {
+                    i++;
+                }
+                while (this.points[j * k + axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    this.swap(i++, j--);
+                }
+            }
+            if (n <= j) {
+                right = j;
+            } else if (n >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        int k = this.dimensions;
+        for (int d = 0; d < k; d++) {
+            float value = this.points[a * k + d];
+            this.points[a * k + d] = this.points[b * k + d];
+            this.points[b * k + d] = value;
+        }
+        int label = this.labels[a];
+        this.labels[a] = this.labels[b];
+        this.labels[b] = label;
+    }
+
+    /**
+     * Get the number of points.
+     *
+     * @return Number of points
+     */
+    int size() {
+        return this.count;
+    }
+
+    /**
+     * Search the nearest point.
+     *
+     * @param query Query (dimensions values)
+     * @return Label of the nearest point or -1 (empty tree)
+     */
+    int nearest(float[] query) {
+        this.query = query;
+        this.bestDistance = Float.POSITIVE_INFINITY;
+        this.bestIndex = -1;
+        this.search(0, this.count);
+        this.query = null;
+        return (this.bestIndex < 0) ? -1 : this.labels[this.bestIndex];
+    }
+
+    /**
+     * Get the distance of the nearest point of the last query.
+     *
+     * @return Euclidean distance
+     */
+    float distance() {
+        return (float) Math.sqrt(this.bestDistance);
+    }
+
+    private void search(int from, int to) {
+        if (to - from <= 0) {
+            return;
+        }
+        int k = this.dimensions;
+        int middle = (from + to) >>> 1;
+        float[] points = this.points;
+        float[] query = this.query;
+        // partial distance, abandoned as soon as it exceeds the best distance
+        float best = this.bestDistance;
+        float distance = 0;
+        for (int d = 0, offset = middle * k; d < k && distance < best; d++) {
+            float delta = query[d] - points[offset + d];
+            distance += delta * delta;
+        }
+        if (distance < best) {
+            this.bestDistance = distance;
+            this.bestIndex = middle;
+        }
+        int axis = this.axes[middle];
+        float delta = query[axis] - points[middle * k + axis];
+        if (delta < 0) {
+            this.search(from, middle);
+            if (delta * delta < this.bestDistance) {
+                this.search(middle + 1, to);
+            }
+        } else {
+            this.search(middle + 1, to);
+            if (delta * delta < this.bestDistance) {
+                this.search(from, middle);
+            }
+        }
+    }
+
+}
@@ -29,7 +29,28 @@ public class KeyTapGesture extends Gesture implements RawAccess<com.leapmotion.l
      * @return Position
      */
     public PVector getPosition() {
-        return this.leap.map(this._keyTap.position());
+        return this.getPosition(new PVector());
+    }
+
+    /**
+     * The position where the key tap is registered.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPosition(PVector target) {
+        return this.leap.map(this._keyTap.position(), target);
+    }
+
+    /**
+     * The position where the key tap is registered.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPosition(float[] target, int offset) {
+        return this.leap.map(this._keyTap.position(), target, offset);
     }
 
     /**
@@ -38,7 +59,28 @@ public class KeyTapGesture extends Gesture implements RawAccess<com.leapmotion.l
      * @return Raw position
      */
     public PVector getRawPosition() {
-        return this.leap.convert(this._keyTap.position());
+        return this.getRawPosition(new PVector());
+    }
+
+    /**
+     * Raw data of the position where the key tap is registered.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawPosition(PVector target) {
+        return this.leap.convert(this._keyTap.position(), target);
+    }
+
+    /**
+     * Raw data of the position where the key tap is registered.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawPosition(float[] target, int offset) {
+        return this.leap.convert(this._keyTap.position(), target, offset);
     }
 
     /**
@@ -47,20 +89,65 @@ public class KeyTapGesture extends Gesture implements RawAccess<com.leapmotion.l
      * @return Direction
      */
     public PVector getDirection() {
-        return new PVector(
+        return this.getDirection(new PVector());
+    }
+
+    /**
+     * The direction of finger tip motion.
+     *
+     * @param target Target vector
+     * @return Direction
+     */
+    public PVector getDirection(PVector target) {
+        return target.set(
             PApplet.degrees(this._keyTap.direction().roll()),
             PApplet.degrees(this._keyTap.direction().pitch()),
             PApplet.degrees(this._keyTap.direction().yaw())
         );
     }
 
+    /**
+     * The direction of finger tip motion.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Direction
+     */
+    public float[] getDirection(float[] target, int offset) {
+        target[offset] = PApplet.degrees(this._keyTap.direction().roll());
+        target[offset + 1] = PApplet.degrees(this._keyTap.direction().pitch());
+        target[offset + 2] = PApplet.degrees(this._keyTap.direction().yaw());
+        return target;
+    }
+
     /**
      * Raw data of the position where the key tap is registered.
      *
      * @return Raw direction
      */
     public PVector getRawDirection() {
-        return this.leap.convert(this._keyTap.direction());
+        return this.getRawDirection(new PVector());
+    }
+
+    /**
+     * Raw data of the position where the key tap is registered.
+     *
+     * @param target Target vector
+     * @return Raw direction
+     */
+    public PVector getRawDirection(PVector target) {
+        return this.leap.convert(this._keyTap.direction(), target);
+    }
+
+    /**
+     * Raw data of the position where the key tap is registered.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw direction
+     */
+    public float[] getRawDirection(float[] target, int offset) {
+        return this.leap.convert(this._keyTap.direction(), target, offset);
     }
 
     /**
@@ -1,17 +1,26 @@
 package de.voidplus.leapmotion;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import com.leapmotion.leap.Controller.PolicyFlag;
 import com.leapmotion.leap.Frame;
-import com.leapmotion.leap.Listener;
 import com.leapmotion.leap.Vector;
 import com.leapmotion.leap.Controller;
 import com.leapmotion.leap.Gesture;
 import com.leapmotion.leap.Gesture.State;
 import processing.core.PApplet;
+import processing.core.PImage;
 import processing.core.PVector;
 
 
@@ -28,39 +37,82 @@ public class LeapMotion {
     private static final String VERSION = "2.3.1.6";
     private static final String SDK_VERSION = "2.3.1+31549";
 
+    // Queries, whose results are kept for the current frame
+    private static final int CACHED_HANDS = 1;
+    private static final int CACHED_FRONT_HAND = 1 << 1;
+    private static final int CACHED_LEFT_HAND = 1 << 2;
+    private static final int CACHED_RIGHT_HAND = 1 << 3;
+    private static final int CACHED_FINGERS = 1 << 4;
+    private static final int CACHED_OUTSTRETCHED_FINGERS = 1 << 5;
+    private static final int CACHED_OUTSTRETCHED_FINGERS_BY_ANGEL = 1 << 6;
+    private static final int CACHED_FRONT_FINGER = 1 << 7;
+    private static final int CACHED_LEFT_FINGER = 1 << 8;
+    private static final int CACHED_RIGHT_FINGER = 1 << 9;
+    private static final int CACHED_TOOLS = 1 << 10;
+    private static final int CACHED_FRONT_TOOL = 1 << 11;
+    private static final int CACHED_LEFT_TOOL = 1 << 12;
+    private static final int CACHED_RIGHT_TOOL = 1 << 13;
+
+    // Overflow policies of the gesture queue
+    public static final int GESTURES_DROP_NEWEST = 0;
+    public static final int GESTURES_COALESCE = 1;
+
     // Processing
     private final PApplet parent;
     protected boolean is2D;
 
     // Global flags
     private boolean verbose;
-    private boolean recognition;
+    private volatile boolean recognition;
+    private volatile boolean snapshots;
+    private volatile FrameHistory history;
+    private volatile FrameRecorder recorder;
+    private volatile ImageRecorder imageRecorder;
+    private TemplateRecognizer templateRecognizer;
+    private DtwRecognizer dtwRecognizer;
+    private PoseClassifier poseClassifier;
+    private boolean pooling;
 
     // Data
-    private PVector world;
-    private PVector origin;
-    private ArrayList<Hand> hands;
-    private ArrayList<Finger> fingers;
-    private ArrayList<Finger> outstretchedFingers;
-    private ArrayList<Finger> outstretchedFingersByAngel;
-    private ArrayList<Tool> tools;
+    private volatile PVector world;
+    private volatile PVector origin;
+
+    // Cached mapping of world settings (replaced, never modified)
+    private volatile WorldTransform transform;
     private ArrayList<Device> devices;
     private ArrayList<Image> images;
+    private final ArrayList<Image> imagePool;
+    private final ArrayList<Image> pendingImages;
+    private final ArrayList<PImage> rectifiedImages;
+    private final ArrayList<ImageRegion> handRegions;
+    private final ArrayList<Future<?>> imageTasks;
+    private ExecutorService imageWorkers;
 
     // Internal handler
-    private Frame frame;
     private Frame lastFrame;
+    private volatile GestureQueue<com.leapmotion.leap.Gesture> gestures;
+    private final ArrayList<com.leapmotion.leap.Gesture> pendingGestures;
+    private final ArrayList<GestureQueue<com.leapmotion.leap.Gesture>> retiredGestures;
+    private volatile long gestureFrames;
+    private long retiredAt;
+    private final TripleBuffer<FrameSnapshot> frames;
+    private final FrameSnapshot extracted;
+    private final FrameView sketchView;
+    private final FrameView listenerView;
+    private Thread dispatching;
+    private final FrameSource source;
     private final Controller controller;
-    private final Listener listener;
+    private final Callbacks callbacks;
 
 
     /**
-     * LeapMotion constructor to initialize the controller and listener.
+     * LeapMotion constructor to initialize the frame source.
      *
      * @param parent  Instance (this) of the used sketch
+     * @param source  Source of the frames (e.g. ControllerSource or ReplaySource)
      * @param verbose Print debug information to the console
      */
-    public LeapMotion(PApplet parent, boolean verbose) {
+    public LeapMotion(PApplet parent, FrameSource source, boolean verbose) {
         this.parent = parent;
         this.is2D = parent.g.is2D();
         this.setVerbose(verbose);
@@ -76,47 +128,64 @@ public class LeapMotion {
 
         // Data
         this.setWorld(200, 500, 200);
-        this.hands = new ArrayList<Hand>();
-        this.fingers = new ArrayList<Finger>();
-        this.outstretchedFingers = new ArrayList<Finger>();
-        this.outstretchedFingersByAngel = new ArrayList<Finger>();
-        this.tools = new ArrayList<Tool>();
         this.devices = new ArrayList<Device>();
         this.images = new ArrayList<Image>();
+        this.imagePool = new ArrayList<Image>();
+        this.pendingImages = new ArrayList<Image>();
+        this.rectifiedImages = new ArrayList<PImage>();
+        this.handRegions = new ArrayList<ImageRegion>();
+        this.imageTasks = new ArrayList<Future<?>>();
 
         // Internal handler
-        this.frame = Frame.invalid();
-        this.lastFrame = Frame.invalid();
-        this.controller = new Controller();
-        this.listener = new Listener() {
-            public void onInit(Controller controller) {
-                dispatch("leapOnInit");
-            }
-
-            public void onConnect(Controller controller) {
-                dispatch("leapOnConnect");
-            }
-
-            public void onDisconnect(Controller controller) {
-                dispatch("leapOnDisconnect");
-            }
-
-            public void onExit(Controller controller) {
-                dispatch("leapOnExit");
-            }
-
-            public void onFrame(Controller controller) {
-                frame = controller.frame();
-                dispatch("leapOnFrame");
-            }
-        };
-        this.controller.addListener(this.listener);
+        this.callbacks = new Callbacks(parent);
+        this.source = source;
+        this.controller = (source instanceof ControllerSource) ? ((ControllerSource) source).getController() : null;
+        Frame frame = (this.controller != null) ? Frame.invalid() : null;
+        this.lastFrame = frame;
+        this.gestures = new GestureQueue<com.leapmotion.leap.Gesture>(256, LeapMotion.GESTURES_COALESCE);
+        this.pendingGestures = new ArrayList<com.leapmotion.leap.Gesture>();
+        this.retiredGestures = new ArrayList<GestureQueue<com.leapmotion.leap.Gesture>>();
+        FrameSnapshot snapshot = new FrameSnapshot(frame);
+        if (frame == null) {
+            // sources without the native SDK deliver extracted snapshots only
+            snapshot.extracted = true;
+        }
+        this.frames = new TripleBuffer<FrameSnapshot>(
+                snapshot,
+                new FrameSnapshot(frame),
+                new FrameSnapshot(frame)
+        );
+        this.extracted = new FrameSnapshot(frame);
+        this.sketchView = new FrameView(this, snapshot);
+        this.listenerView = new FrameView(this, snapshot);
+        this.source.start(this);
         this.allowBackgroundApps();
 
         // support since version 2.0b7 (REV 0215)
+        this.parent.registerMethod("pre", this);
         this.parent.registerMethod("dispose", this);
     }
 
+    /**
+     * LeapMotion constructor to initialize the controller and listener.
+     *
+     * @param parent  Instance (this) of the used sketch
+     * @param verbose Print debug information to the console
+     */
+    public LeapMotion(PApplet parent, boolean verbose) {
+        this(parent, new ControllerSource(), verbose);
+    }
+
+    /**
+     * LeapMotion constructor to initialize the frame source.
+     *
+     * @param parent Reference (this) of sketch.
+     * @param source Source of the frames (e.g. ControllerSource or ReplaySource)
+     */
+    public LeapMotion(PApplet parent, FrameSource source) {
+        this(parent, source, false);
+    }
+
     /**
      * LeapMotion constructor to initialize the controller and listener.
      *
@@ -132,8 +201,12 @@ public class LeapMotion {
      * @return Instantaneous framerwate
      */
     public int getFrameRate() {
+        FrameView view = this.view();
         if (this.isConnected()) {
-            return (int) this.frame.currentFramesPerSecond();
+            if (view.snapshot.isExtracted()) {
+                return (int) view.snapshot.getFrameRate();
+            }
+            return (int) view.frame.currentFramesPerSecond();
         }
         return 0;
     }
@@ -144,8 +217,12 @@ public class LeapMotion {
      * @return Current timestamp
      */
     public long getTimestamp() {
+        FrameView view = this.view();
         if (this.isConnected()) {
-            return this.frame.timestamp();
+            if (view.snapshot.isExtracted()) {
+                return view.snapshot.getTimestamp();
+            }
+            return view.frame.timestamp();
         }
         return 0;
     }
@@ -156,10 +233,32 @@ public class LeapMotion {
      * @return Frame ID
      */
     public long getId() {
+        FrameView view = this.view();
         if (this.isConnected()) {
-            return this.frame.id();
+            if (view.snapshot.isExtracted()) {
+                return view.snapshot.getId();
+            }
+            return view.frame.id();
         }
-        return Frame.invalid().id();
+        return (this.controller != null) ? Frame.invalid().id() : -1;
+    }
+
+    /**
+     * Is the result of a query already known for the current frame?
+     * <p/>
+     * The results are kept until the id of the frame changes (or a new frame is taken by pre()).
+     *
+     * @param query Query (e.g. CACHED_HANDS)
+     * @return Is the result known?
+     */
+    private boolean isCached(int query) {
+        FrameView view = this.view();
+        long id = this.getId();
+        if (id != view.cachedFrame) {
+            view.cachedFrame = id;
+            view.cached = 0;
+        }
+        return (view.cached & query) != 0;
     }
 
 	
@@ -170,6 +269,9 @@ public class LeapMotion {
      * Print all policy flags.
      */
     public void printPolicyFlags() {
+        if (this.controller == null) {
+            return;
+        }
         for (PolicyFlag _flag : PolicyFlag.values()) {
             if (this.controller.isPolicySet(_flag)) {
                 this.log(String.format("'%s' is set.", _flag.toString()));
@@ -183,7 +285,7 @@ public class LeapMotion {
      * @return LeapMotion
      */
     public LeapMotion allowBackgroundApps() {
-        if (!this.controller.isPolicySet(Controller.PolicyFlag.POLICY_BACKGROUND_FRAMES)) {
+        if (this.controller != null && !this.controller.isPolicySet(Controller.PolicyFlag.POLICY_BACKGROUND_FRAMES)) {
             this.controller.setPolicy(Controller.PolicyFlag.POLICY_BACKGROUND_FRAMES);
         }
         return this;
@@ -239,13 +341,314 @@ public class LeapMotion {
      * @return LeapMotion
      */
     public LeapMotion disallowBackgroundApps() {
-        if (this.controller.isPolicySet(Controller.PolicyFlag.POLICY_BACKGROUND_FRAMES)) {
+        if (this.controller != null && this.controller.isPolicySet(Controller.PolicyFlag.POLICY_BACKGROUND_FRAMES)) {
             this.controller.clearPolicy(Controller.PolicyFlag.POLICY_BACKGROUND_FRAMES);
         }
         return this;
     }
 
 	
+	/* ------------------------------------------------------------------------ */
+    /* Snapshots */
+
+    /**
+     * Copy the tracking data of every frame once into primitive arrays.
+     * <p/>
+     * Hands, fingers, bones, arms and tools read their data from these arrays instead of calling the native SDK. The objects are only valid within the draw() in which they were requested.
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion allowSnapshots() {
+        this.snapshots = true;
+        return this;
+    }
+
+    /**
+     * Read the tracking data directly from the native SDK (default).
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion disallowSnapshots() {
+        this.snapshots = false;
+        return this;
+    }
+
+    /**
+     * Record the palm and joint positions of the last frames.
+     *
+     * @param frames Number of frames
+     * @param hands  Maximum number of hands per frame
+     * @return LeapMotion
+     */
+    public LeapMotion allowHistory(int frames, int hands) {
+        this.history = new FrameHistory(this, Math.max(frames, 1), Math.max(hands, 1));
+        return this;
+    }
+
+    /**
+     * Record the palm and joint positions of the last frames (up to 2 hands).
+     *
+     * @param frames Number of frames
+     * @return LeapMotion
+     */
+    public LeapMotion allowHistory(int frames) {
+        return this.allowHistory(frames, 2);
+    }
+
+    /**
+     * Stop recording the last frames.
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion disallowHistory() {
+        this.history = null;
+        return this;
+    }
+
+    /**
+     * Get the history of the last frames.
+     *
+     * @return History or null
+     */
+    public FrameHistory getHistory() {
+        return this.history;
+    }
+
+    /**
+     * Record all frames into a compact binary file (see FrameRecorder).
+     *
+     * @param path Path of the file (relative to the sketch folder)
+     * @return LeapMotion
+     */
+    public LeapMotion allowRecording(String path) {
+        this.disallowRecording();
+        try {
+            this.recorder = new FrameRecorder(new File(this.parent.sketchPath(path)), 256);
+        } catch (IOException e) {
+            this.println("Could not record to " + path + ": " + e.getMessage());
+        }
+        return this;
+    }
+
+    /**
+     * Stop recording and close the file.
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion disallowRecording() {
+        FrameRecorder recorder = this.recorder;
+        this.recorder = null;
+        if (recorder != null) {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                this.println("Could not write " + recorder.getFile() + ": " + e.getMessage());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Get the active recorder.
+     *
+     * @return Recorder or null
+     */
+    public FrameRecorder getRecorder() {
+        return this.recorder;
+    }
+
+    /**
+     * Record the raw camera images of both cameras into a raw Y8 file and an index (see ImageRecorder).
+     * <p/>
+     * The listener thread only copies the images, the sketch is not involved. Allows the camera images.
+     *
+     * @param path Path of the file (relative to the sketch folder)
+     * @return LeapMotion
+     */
+    public LeapMotion allowImageRecording(String path) {
+        this.disallowImageRecording();
+        if (this.controller == null) {
+            this.println("Camera images are not available for this source.");
+            return this;
+        }
+        this.allowImages();
+        try {
+            this.imageRecorder = new ImageRecorder(new File(this.parent.sketchPath(path)), 64);
+        } catch (IOException e) {
+            this.println("Could not record to " + path + ": " + e.getMessage());
+        }
+        return this;
+    }
+
+    /**
+     * Stop recording the camera images and close the files.
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion disallowImageRecording() {
+        ImageRecorder recorder = this.imageRecorder;
+        this.imageRecorder = null;
+        if (recorder != null) {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                this.println("Could not write " + recorder.getFile() + ": " + e.getMessage());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Get the active recorder of the camera images.
+     *
+     * @return Recorder or null
+     */
+    public ImageRecorder getImageRecorder() {
+        return this.imageRecorder;
+    }
+
+    /**
+     * Recognize custom gestures by templates (see TemplateRecognizer), which are reported by leapOnCustomGesture(String name, float score).
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion allowTemplateGestures() {
+        if (this.templateRecognizer == null) {
+            this.templateRecognizer = new TemplateRecognizer(this);
+        }
+        return this;
+    }
+
+    /**
+     * Stop recognizing custom gestures and remove all templates.
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion disallowTemplateGestures() {
+        this.templateRecognizer = null;
+        return this;
+    }
+
+    /**
+     * Get the recognizer of custom gestures (e.g. to add templates).
+     *
+     * @return Recognizer or null
+     */
+    public TemplateRecognizer getTemplateRecognizer() {
+        return this.templateRecognizer;
+    }
+
+    /**
+     * Recognize gestures by dynamic time warping against a library of templates (see DtwRecognizer), which are reported by leapOnDtwGesture(DtwGesture gesture, int state).
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion allowDtwGestures() {
+        if (this.dtwRecognizer == null) {
+            this.dtwRecognizer = new DtwRecognizer(this);
+        }
+        return this;
+    }
+
+    /**
+     * Stop recognizing gestures by dynamic time warping and remove all templates.
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion disallowDtwGestures() {
+        this.dtwRecognizer = null;
+        return this;
+    }
+
+    /**
+     * Get the recognizer of gestures by dynamic time warping (e.g. to add templates).
+     *
+     * @return Recognizer or null
+     */
+    public DtwRecognizer getDtwRecognizer() {
+        return this.dtwRecognizer;
+    }
+
+    /**
+     * Classify the poses of the hands (see PoseClassifier), changes are reported by leapOnPoseChange(Hand hand, String pose).
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion allowPoses() {
+        if (this.poseClassifier == null) {
+            this.poseClassifier = new PoseClassifier(this);
+        }
+        return this;
+    }
+
+    /**
+     * Stop classifying the poses of the hands and remove all examples.
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion disallowPoses() {
+        this.poseClassifier = null;
+        return this;
+    }
+
+    /**
+     * Get the classifier of the hand poses (e.g. to add examples).
+     *
+     * @return Classifier or null
+     */
+    public PoseClassifier getPoseClassifier() {
+        return this.poseClassifier;
+    }
+
+    /**
+     * Get the snapshot of the current frame.
+     *
+     * @return Snapshot of the current frame
+     */
+    public FrameSnapshot getSnapshot() {
+        FrameView view = this.view();
+        return view.snapshot;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Pooling */
+
+    /**
+     * Reuse the instances of hands, fingers, bones, arms and tools for the following frames instead of creating new ones.
+     * <p/>
+     * The instances are rebound to the data of the current frame on every request, so keep the values (e.g. positions) instead of the instances if they are needed for longer.
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion allowPooling() {
+        this.pooling = true;
+        this.sketchView.cached = 0;
+        return this;
+    }
+
+    /**
+     * Create new instances on every request (default).
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion disallowPooling() {
+        this.pooling = false;
+        this.sketchView.cached = 0;
+        this.sketchView.clearPools();
+        return this;
+    }
+
+    /**
+     * Are the instances of hands, fingers, bones, arms and tools reused?
+     *
+     * @return Are the instances reused?
+     */
+    boolean isPooling() {
+        return this.pooling;
+    }
+
+	
 	/* ------------------------------------------------------------------------ */
     /* World */
 
@@ -268,7 +671,7 @@ public class LeapMotion {
      * @return LeapMotion
      */
     public LeapMotion setWorld(PVector world) {
-        this.world = world;
+        this.world = new PVector(world.x, world.y, world.z);
         return this;
     }
 
@@ -291,7 +694,7 @@ public class LeapMotion {
      * @return LeapMotion
      */
     public LeapMotion moveWorld(PVector origin) {
-        this.origin = origin;
+        this.origin = (origin != null) ? new PVector(origin.x, origin.y, origin.z) : null;
         return this;
     }
 
@@ -305,18 +708,27 @@ public class LeapMotion {
      * @return Is the device connected successfully?
      */
     public boolean isConnected() {
-        return this.controller.isConnected();
+        return this.source.isConnected();
     }
 
     /**
      * Get the raw instance of com.leapmotion.leap.Controller
      *
-     * @return used com.leapmotion.leap.Controller instance
+     * @return used com.leapmotion.leap.Controller instance or null (other frame sources)
      */
     public Controller getController() {
         return this.controller;
     }
 
+    /**
+     * Get the source of the frames.
+     *
+     * @return Frame source
+     */
+    public FrameSource getSource() {
+        return this.source;
+    }
+
     /**
      * Get all devices (for future updates)
      *
@@ -324,7 +736,7 @@ public class LeapMotion {
      */
     public ArrayList<Device> getDevices() {
         devices.clear();
-        if (this.isConnected()) {
+        if (this.controller != null && this.isConnected()) {
             if (!this.getController().devices().isEmpty()) {
                 for (com.leapmotion.leap.Device _device : this.getController().devices()) {
                     devices.add(new Device(this.parent, this, _device));
@@ -354,7 +766,11 @@ public class LeapMotion {
      * @return Are there any hands?
      */
     public boolean hasHands() {
-        return this.isConnected() && !this.frame.hands().isEmpty();
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.isConnected() && view.snapshot.countHands() > 0;
+        }
+        return this.isConnected() && !view.frame.hands().isEmpty();
     }
 
     /**
@@ -363,7 +779,14 @@ public class LeapMotion {
      * @return Number of detected hands
      */
     public int countHands() {
-        return this.isConnected() ? this.frame.hands().count() : 0;
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.isConnected() ? view.snapshot.countHands() : 0;
+        }
+        if (this.isCached(CACHED_HANDS)) {
+            return view.hands.size();
+        }
+        return this.isConnected() ? view.frame.hands().count() : 0;
     }
 
     /**
@@ -373,8 +796,12 @@ public class LeapMotion {
      * @return Single hand or null
      */
     public Hand getHand(Integer id) {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.getSnapshotHand(view.snapshot.indexOfHand(id));
+        }
         if (!this.hasHands()) {
-            com.leapmotion.leap.Hand _hand = this.frame.hand(id);
+            com.leapmotion.leap.Hand _hand = view.frame.hand(id);
             if (LeapMotion.isValid(_hand)) {
                 return new Hand(this.parent, this, _hand);
             }
@@ -384,19 +811,41 @@ public class LeapMotion {
 
     /**
      * Get all detected hands.
+     * <p/>
+     * Like all lists and single hands, fingers and tools of LeapMotion, the result is kept for the current frame: repeated requests during one draw() return the same instances without asking the device again.
      *
      * @return List of all detected hands
      */
     public ArrayList<Hand> getHands() {
-        this.hands.clear();
+        FrameView view = this.view();
+        if (this.isCached(CACHED_HANDS)) {
+            return view.hands;
+        }
+        view.cached |= CACHED_HANDS;
+        view.hands.clear();
+        if (view.snapshot.isExtracted()) {
+            if (this.hasHands()) {
+                for (int h = 0; h < view.snapshot.countHands(); h++) {
+                    view.hands.add(this.getSnapshotHand(h));
+                }
+            }
+            return view.hands;
+        }
         if (this.hasHands()) {
-            for (com.leapmotion.leap.Hand _hand : this.frame.hands()) {
+            int slot = 0;
+            for (com.leapmotion.leap.Hand _hand : view.frame.hands()) {
                 if (LeapMotion.isValid(_hand)) {
-                    hands.add(new Hand(this.parent, this, _hand));
+                    if (this.pooling) {
+                        Hand hand = this.getPooledHand(slot++);
+                        hand.bind(_hand);
+                        view.hands.add(hand);
+                    } else {
+                        view.hands.add(new Hand(this.parent, this, _hand));
+                    }
                 }
             }
         }
-        return this.hands;
+        return view.hands;
     }
 
     /**
@@ -405,8 +854,21 @@ public class LeapMotion {
      * @return Single hand or null
      */
     public Hand getFrontHand() {
+        FrameView view = this.view();
+        if (!this.isCached(CACHED_FRONT_HAND)) {
+            view.frontHand = this.findFrontHand();
+            view.cached |= CACHED_FRONT_HAND;
+        }
+        return view.frontHand;
+    }
+
+    private Hand findFrontHand() {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.getSnapshotHand(view.snapshot.findHand(2, false));
+        }
         if (!this.hasHands()) {
-            com.leapmotion.leap.Hand _hand = this.frame.hands().frontmost();
+            com.leapmotion.leap.Hand _hand = view.frame.hands().frontmost();
             if (LeapMotion.isValid(_hand)) {
                 return new Hand(this.parent, this, _hand);
             }
@@ -420,8 +882,21 @@ public class LeapMotion {
      * @return Single hand or null
      */
     public Hand getLeftHand() {
+        FrameView view = this.view();
+        if (!this.isCached(CACHED_LEFT_HAND)) {
+            view.leftHand = this.findLeftHand();
+            view.cached |= CACHED_LEFT_HAND;
+        }
+        return view.leftHand;
+    }
+
+    private Hand findLeftHand() {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.getSnapshotHand(view.snapshot.findHand(0, false));
+        }
         if (this.hasHands()) {
-            com.leapmotion.leap.Hand _hand = this.frame.hands().leftmost();
+            com.leapmotion.leap.Hand _hand = view.frame.hands().leftmost();
             if (LeapMotion.isValid(_hand)) {
                 return new Hand(this.parent, this, _hand);
             }
@@ -435,8 +910,21 @@ public class LeapMotion {
      * @return Right hand or null
      */
     public Hand getRightHand() {
+        FrameView view = this.view();
+        if (!this.isCached(CACHED_RIGHT_HAND)) {
+            view.rightHand = this.findRightHand();
+            view.cached |= CACHED_RIGHT_HAND;
+        }
+        return view.rightHand;
+    }
+
+    private Hand findRightHand() {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.getSnapshotHand(view.snapshot.findHand(0, true));
+        }
         if (this.hasHands()) {
-            com.leapmotion.leap.Hand _hand = this.frame.hands().rightmost();
+            com.leapmotion.leap.Hand _hand = view.frame.hands().rightmost();
             if (LeapMotion.isValid(_hand)) {
                 return new Hand(this.parent, this, _hand);
             }
@@ -444,6 +932,84 @@ public class LeapMotion {
         return null;
     }
 
+    /**
+     * Get a hand of the current snapshot.
+     *
+     * @param index Index of the hand in the snapshot
+     * @return Single hand or null
+     */
+    private Hand getSnapshotHand(int index) {
+        FrameView view = this.view();
+        if (this.isConnected() && index != -1) {
+            if (this.pooling) {
+                Hand hand = this.getPooledHand(index);
+                hand.bind(view.snapshot, index);
+                return hand;
+            }
+            return new Hand(this.parent, this, view.snapshot, index);
+        }
+        return null;
+    }
+
+    /**
+     * Get a reusable hand.
+     *
+     * @param slot Slot in the pool
+     * @return Single hand
+     */
+    private Hand getPooledHand(int slot) {
+        FrameView view = this.view();
+        while (view.handPool.size() <= slot) {
+            view.handPool.add(new Hand(this.parent, this, (com.leapmotion.leap.Hand) null));
+        }
+        return view.handPool.get(slot);
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Joints */
+
+    /**
+     * Get the joints of all detected hands in one direct buffer.
+     * <p/>
+     * Layout: hands x 5 fingers (0=thumb ... 4=pinky) x 4 bones (0=distal ... 3=metacarpal) x prev/next joint x xyz (120 floats per hand). Joints of fingers which are not tracked are zero. The buffer is reused by the next call.
+     *
+     * @return Buffer with the mapped joint positions
+     */
+    public FloatBuffer getJointBuffer() {
+        return this.getJointBuffer(false);
+    }
+
+    /**
+     * Get the raw joints of all detected hands in one direct buffer.
+     * <p/>
+     * Same layout as getJointBuffer(). The buffer is reused by the next call.
+     *
+     * @return Buffer with the raw joint positions
+     */
+    public FloatBuffer getRawJointBuffer() {
+        return this.getJointBuffer(true);
+    }
+
+    private FloatBuffer getJointBuffer(boolean raw) {
+        FrameView view = this.view();
+        view.joints.clear();
+        if (this.hasHands()) {
+            if (view.snapshot.isExtracted()) {
+                for (int h = 0; h < view.snapshot.countHands(); h++) {
+                    view.joints.add(view.snapshot, h);
+                }
+            } else {
+                for (com.leapmotion.leap.Hand _hand : view.frame.hands()) {
+                    if (LeapMotion.isValid(_hand)) {
+                        view.joints.add(_hand);
+                    }
+                }
+            }
+        }
+        return view.joints.flip(raw);
+    }
+
 
 	/* ------------------------------------------------------------------------ */
     /* Fingers */
@@ -464,7 +1030,11 @@ public class LeapMotion {
      * @return Are there any fingers?
      */
     public boolean hasFingers() {
-        return this.isConnected() && !this.frame.fingers().isEmpty();
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.isConnected() && view.snapshot.countFingers() > 0;
+        }
+        return this.isConnected() && !view.frame.fingers().isEmpty();
     }
 
     /**
@@ -474,8 +1044,13 @@ public class LeapMotion {
      * @return Single finger or null
      */
     public Finger getFinger(Integer id) {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            int index = view.snapshot.indexOfPointable(id);
+            return this.getSnapshotFinger((index < view.snapshot.countFingers()) ? index : -1);
+        }
         if (this.hasFingers()) {
-            com.leapmotion.leap.Finger _finger = this.frame.finger(id);
+            com.leapmotion.leap.Finger _finger = view.frame.finger(id);
             if (!LeapMotion.isValid(_finger)) {
                 return new Finger(this.parent, this, _finger);
             }
@@ -489,15 +1064,35 @@ public class LeapMotion {
      * @return List of fingers
      */
     public ArrayList<Finger> getFingers() {
-        this.fingers.clear();
+        FrameView view = this.view();
+        if (this.isCached(CACHED_FINGERS)) {
+            return view.fingers;
+        }
+        view.cached |= CACHED_FINGERS;
+        view.fingers.clear();
+        if (view.snapshot.isExtracted()) {
+            if (this.hasFingers()) {
+                for (int p = 0; p < view.snapshot.countFingers(); p++) {
+                    view.fingers.add(this.getSnapshotFinger(p));
+                }
+            }
+            return view.fingers;
+        }
         if (this.hasFingers()) {
-            for (com.leapmotion.leap.Finger _finger : this.frame.fingers()) {
+            int slot = 0;
+            for (com.leapmotion.leap.Finger _finger : view.frame.fingers()) {
                 if (_finger.isValid()) {
-                    fingers.add(new Finger(this.parent, this, _finger));
+                    if (this.pooling) {
+                        Finger finger = this.getPooledFinger(slot++);
+                        finger.bind(_finger);
+                        view.fingers.add(finger);
+                    } else {
+                        view.fingers.add(new Finger(this.parent, this, _finger));
+                    }
                 }
             }
         }
-        return this.fingers;
+        return view.fingers;
     }
 
     /**
@@ -506,48 +1101,86 @@ public class LeapMotion {
      * @return List of fingers
      */
     public ArrayList<Finger> getOutstretchedFingers() {
-        this.outstretchedFingers.clear();
-        if (!this.frame.fingers().extended().isEmpty()) {
-            for (com.leapmotion.leap.Finger _finger : this.frame.fingers().extended()) {
-                this.outstretchedFingers.add(new Finger(this.parent, this, _finger));
+        FrameView view = this.view();
+        if (this.isCached(CACHED_OUTSTRETCHED_FINGERS)) {
+            return view.outstretchedFingers;
+        }
+        view.cached |= CACHED_OUTSTRETCHED_FINGERS;
+        view.outstretchedFingers.clear();
+        if (view.snapshot.isExtracted()) {
+            for (int p = 0; p < view.snapshot.countFingers(); p++) {
+                if ((view.snapshot.pointableFlags[p] & FrameSnapshot.POINTABLE_EXTENDED) != 0) {
+                    view.outstretchedFingers.add(this.getSnapshotFinger(p));
+                }
             }
+            return view.outstretchedFingers;
         }
-        return this.outstretchedFingers;
+        if (this.pooling) {
+            // same slots as getFingers()
+            int slot = 0;
+            for (com.leapmotion.leap.Finger _finger : view.frame.fingers()) {
+                if (_finger.isValid()) {
+                    Finger finger = this.getPooledFinger(slot++);
+                    if (_finger.isExtended()) {
+                        finger.bind(_finger);
+                        view.outstretchedFingers.add(finger);
+                    }
+                }
+            }
+            return view.outstretchedFingers;
+        }
+        if (!view.frame.fingers().extended().isEmpty()) {
+            for (com.leapmotion.leap.Finger _finger : view.frame.fingers().extended()) {
+                view.outstretchedFingers.add(new Finger(this.parent, this, _finger));
+            }
+        }
+        return view.outstretchedFingers;
     }
 
     /**
      * Get all outstretched fingers by angel.
+     * <p/>
+     * The ratio is calculated on the raw joints (independent of the size of the sketch) and only the outstretched fingers are wrapped. The result is kept for the current frame (see getHands()), so repeated calls with the same similarity are free.
      *
      * @param similarity Minimum value of similarity
      * @return List of fingers
      */
     public ArrayList<Finger> getOutstretchedFingersByAngel(int similarity) {
-        this.outstretchedFingersByAngel.clear();
+        FrameView view = this.view();
+        if (this.isCached(CACHED_OUTSTRETCHED_FINGERS_BY_ANGEL) && similarity == view.outstretchedFingersByAngelSimilarity) {
+            return view.outstretchedFingersByAngel;
+        }
+        view.cached |= CACHED_OUTSTRETCHED_FINGERS_BY_ANGEL;
+        view.outstretchedFingersByAngelSimilarity = similarity;
+        view.outstretchedFingersByAngel.clear();
         if (this.hasFingers()) {
-            for (com.leapmotion.leap.Finger _finger : this.frame.fingers()) {
-                if (_finger.isValid()) {
-                    Finger candidate = new Finger(this.parent, this, _finger);
-                    // calculate total distance
-                    float distance = 0.0f;
-                    for (int b = 0; b < 4; b++) {
-                        distance += PVector.dist(
-                                candidate.getBone(b).getNextJoint(),
-                                candidate.getBone(b).getPrevJoint()
-                        );
+            if (view.snapshot.isExtracted()) {
+                for (int p = 0; p < view.snapshot.countFingers(); p++) {
+                    if (Finger.isOutstretchedByAngel(view.snapshot.joints, p * FrameSnapshot.JOINT_STRIDE, view.snapshot.pointableTypes[p], similarity)) {
+                        view.outstretchedFingersByAngel.add(this.getSnapshotFinger(p));
                     }
-                    // calculate shortest distance
-                    float direct = PVector.dist(
-                            candidate.getBone(0).getNextJoint(),
-                            candidate.getBone(((candidate.getType() != 0) ? 3 : 2)).getPrevJoint()
-                    );
-                    // calculate ratio
-                    if ((direct / distance * 100) >= similarity) {
-                        outstretchedFingersByAngel.add(candidate);
+                }
+            } else {
+                int slot = 0;
+                for (com.leapmotion.leap.Finger _finger : view.frame.fingers()) {
+                    if (_finger.isValid()) {
+                        int current = slot++;
+                        if (!Finger.isOutstretchedByAngel(Finger.getJoints(_finger, view.fingerJoints), 0, _finger.type().swigValue(), similarity)) {
+                            continue;
+                        }
+                        Finger candidate;
+                        if (this.pooling) {
+                            candidate = this.getPooledFinger(current);
+                            candidate.bind(_finger);
+                        } else {
+                            candidate = new Finger(this.parent, this, _finger);
+                        }
+                        view.outstretchedFingersByAngel.add(candidate);
                     }
                 }
             }
         }
-        return this.outstretchedFingersByAngel;
+        return view.outstretchedFingersByAngel;
     }
 
     /**
@@ -565,8 +1198,12 @@ public class LeapMotion {
      * @return Number of fingers
      */
     public int countFingers() {
+        FrameView view = this.view();
         if (this.isConnected()) {
-            return this.frame.fingers().count();
+            if (view.snapshot.isExtracted()) {
+                return view.snapshot.countFingers();
+            }
+            return this.isCached(CACHED_FINGERS) ? view.fingers.size() : view.frame.fingers().count();
         }
         return 0;
     }
@@ -577,8 +1214,21 @@ public class LeapMotion {
      * @return Single finger or null
      */
     public Finger getFrontFinger() {
+        FrameView view = this.view();
+        if (!this.isCached(CACHED_FRONT_FINGER)) {
+            view.frontFinger = this.findFrontFinger();
+            view.cached |= CACHED_FRONT_FINGER;
+        }
+        return view.frontFinger;
+    }
+
+    private Finger findFrontFinger() {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.getSnapshotFinger(view.snapshot.findPointable(0, view.snapshot.countFingers(), -1, 2, false));
+        }
         if (this.hasFingers()) {
-            return new Finger(this.parent, this, this.frame.fingers().frontmost());
+            return new Finger(this.parent, this, view.frame.fingers().frontmost());
         }
         return null;
     }
@@ -589,8 +1239,21 @@ public class LeapMotion {
      * @return Single finger or null
      */
     public Finger getLeftFinger() {
+        FrameView view = this.view();
+        if (!this.isCached(CACHED_LEFT_FINGER)) {
+            view.leftFinger = this.findLeftFinger();
+            view.cached |= CACHED_LEFT_FINGER;
+        }
+        return view.leftFinger;
+    }
+
+    private Finger findLeftFinger() {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.getSnapshotFinger(view.snapshot.findPointable(0, view.snapshot.countFingers(), -1, 0, false));
+        }
         if (this.hasFingers()) {
-            return new Finger(this.parent, this, this.frame.fingers().leftmost());
+            return new Finger(this.parent, this, view.frame.fingers().leftmost());
         }
         return null;
     }
@@ -601,12 +1264,58 @@ public class LeapMotion {
      * @return Single finger or null
      */
     public Finger getRightFinger() {
+        FrameView view = this.view();
+        if (!this.isCached(CACHED_RIGHT_FINGER)) {
+            view.rightFinger = this.findRightFinger();
+            view.cached |= CACHED_RIGHT_FINGER;
+        }
+        return view.rightFinger;
+    }
+
+    private Finger findRightFinger() {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.getSnapshotFinger(view.snapshot.findPointable(0, view.snapshot.countFingers(), -1, 0, true));
+        }
         if (this.hasFingers()) {
-            return new Finger(this.parent, this, this.frame.fingers().rightmost());
+            return new Finger(this.parent, this, view.frame.fingers().rightmost());
+        }
+        return null;
+    }
+
+    /**
+     * Get a finger of the current snapshot.
+     *
+     * @param index Index of the finger in the snapshot
+     * @return Single finger or null
+     */
+    private Finger getSnapshotFinger(int index) {
+        FrameView view = this.view();
+        if (this.isConnected() && index != -1) {
+            if (this.pooling) {
+                Finger finger = this.getPooledFinger(index);
+                finger.bind(view.snapshot, index);
+                return finger;
+            }
+            return new Finger(this.parent, this, view.snapshot, index);
         }
         return null;
     }
 
+    /**
+     * Get a reusable finger.
+     *
+     * @param slot Slot in the pool
+     * @return Single finger
+     */
+    private Finger getPooledFinger(int slot) {
+        FrameView view = this.view();
+        while (view.fingerPool.size() <= slot) {
+            view.fingerPool.add(new Finger(this.parent, this, (com.leapmotion.leap.Finger) null));
+        }
+        return view.fingerPool.get(slot);
+    }
+
 
 	/* ------------------------------------------------------------------------ */
     /* Tools */
@@ -627,7 +1336,11 @@ public class LeapMotion {
      * @return Are there any tools?
      */
     public boolean hasTools() {
-        return this.isConnected() && !this.frame.tools().isEmpty();
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.isConnected() && view.snapshot.countTools() > 0;
+        }
+        return this.isConnected() && !view.frame.tools().isEmpty();
     }
 
     /**
@@ -637,8 +1350,13 @@ public class LeapMotion {
      * @return Single tool or null
      */
     public Tool getTool(Integer id) {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            int index = view.snapshot.indexOfPointable(id);
+            return this.getSnapshotTool((index >= view.snapshot.countFingers()) ? index : -1);
+        }
         if (this.hasTools()) {
-            com.leapmotion.leap.Tool _tool = this.frame.tool(id);
+            com.leapmotion.leap.Tool _tool = view.frame.tool(id);
             if (!LeapMotion.isValid(_tool)) {
                 return new Tool(this.parent, this, _tool);
             }
@@ -652,15 +1370,35 @@ public class LeapMotion {
      * @return List of tools
      */
     public ArrayList<Tool> getTools() {
-        this.tools.clear();
+        FrameView view = this.view();
+        if (this.isCached(CACHED_TOOLS)) {
+            return view.tools;
+        }
+        view.cached |= CACHED_TOOLS;
+        view.tools.clear();
+        if (view.snapshot.isExtracted()) {
+            if (this.hasTools()) {
+                for (int p = view.snapshot.countFingers(); p < view.snapshot.countFingers() + view.snapshot.countTools(); p++) {
+                    view.tools.add(this.getSnapshotTool(p));
+                }
+            }
+            return view.tools;
+        }
         if (this.hasTools()) {
-            for (com.leapmotion.leap.Tool _tool : this.frame.tools()) {
+            int slot = 0;
+            for (com.leapmotion.leap.Tool _tool : view.frame.tools()) {
                 if (LeapMotion.isValid(_tool)) {
-                    tools.add(new Tool(this.parent, this, _tool));
+                    if (this.pooling) {
+                        Tool tool = this.getPooledTool(slot++);
+                        tool.bind(_tool);
+                        view.tools.add(tool);
+                    } else {
+                        view.tools.add(new Tool(this.parent, this, _tool));
+                    }
                 }
             }
         }
-        return this.tools;
+        return view.tools;
     }
 
     /**
@@ -669,8 +1407,12 @@ public class LeapMotion {
      * @return List of tools
      */
     public int countTools() {
+        FrameView view = this.view();
         if (this.isConnected()) {
-            return this.frame.tools().count();
+            if (view.snapshot.isExtracted()) {
+                return view.snapshot.countTools();
+            }
+            return this.isCached(CACHED_TOOLS) ? view.tools.size() : view.frame.tools().count();
         }
         return 0;
     }
@@ -681,8 +1423,22 @@ public class LeapMotion {
      * @return Single tool or null
      */
     public Tool getFrontTool() {
+        FrameView view = this.view();
+        if (!this.isCached(CACHED_FRONT_TOOL)) {
+            view.frontTool = this.findFrontTool();
+            view.cached |= CACHED_FRONT_TOOL;
+        }
+        return view.frontTool;
+    }
+
+    private Tool findFrontTool() {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.getSnapshotTool(view.snapshot.findPointable(
+                    view.snapshot.countFingers(), view.snapshot.countFingers() + view.snapshot.countTools(), -1, 2, false));
+        }
         if (this.hasTools()) {
-            return new Tool(this.parent, this, this.frame.tools().frontmost());
+            return new Tool(this.parent, this, view.frame.tools().frontmost());
         }
         return null;
     }
@@ -693,105 +1449,353 @@ public class LeapMotion {
      * @return Single tool or null
      */
     public Tool getLeftTool() {
+        FrameView view = this.view();
+        if (!this.isCached(CACHED_LEFT_TOOL)) {
+            view.leftTool = this.findLeftTool();
+            view.cached |= CACHED_LEFT_TOOL;
+        }
+        return view.leftTool;
+    }
+
+    private Tool findLeftTool() {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.getSnapshotTool(view.snapshot.findPointable(
+                    view.snapshot.countFingers(), view.snapshot.countFingers() + view.snapshot.countTools(), -1, 0, false));
+        }
         if (this.hasTools()) {
-            return new Tool(this.parent, this, this.frame.tools().leftmost());
+            return new Tool(this.parent, this, view.frame.tools().leftmost());
+        }
+        return null;
+    }
+
+    /**
+     * The member of the list that is farthest to the right within the standard Leap Motion frame of reference (i.e has the largest X coordinate).
+     *
+     * @return Single tool or null
+     */
+    public Tool getRightTool() {
+        FrameView view = this.view();
+        if (!this.isCached(CACHED_RIGHT_TOOL)) {
+            view.rightTool = this.findRightTool();
+            view.cached |= CACHED_RIGHT_TOOL;
+        }
+        return view.rightTool;
+    }
+
+    private Tool findRightTool() {
+        FrameView view = this.view();
+        if (view.snapshot.isExtracted()) {
+            return this.getSnapshotTool(view.snapshot.findPointable(
+                    view.snapshot.countFingers(), view.snapshot.countFingers() + view.snapshot.countTools(), -1, 0, true));
+        }
+        if (this.hasTools()) {
+            return new Tool(this.parent, this, view.frame.tools().rightmost());
+        }
+        return null;
+    }
+
+    /**
+     * Get a tool of the current snapshot.
+     *
+     * @param index Index of the tool in the snapshot
+     * @return Single tool or null
+     */
+    private Tool getSnapshotTool(int index) {
+        FrameView view = this.view();
+        if (this.isConnected() && index != -1) {
+            if (this.pooling) {
+                Tool tool = this.getPooledTool(index - view.snapshot.countFingers());
+                tool.bind(view.snapshot, index);
+                return tool;
+            }
+            return new Tool(this.parent, this, view.snapshot, index);
+        }
+        return null;
+    }
+
+    /**
+     * Get a reusable tool.
+     *
+     * @param slot Slot in the pool
+     * @return Single tool
+     */
+    private Tool getPooledTool(int slot) {
+        FrameView view = this.view();
+        while (view.toolPool.size() <= slot) {
+            view.toolPool.add(new Tool(this.parent, this, (com.leapmotion.leap.Tool) null));
+        }
+        return view.toolPool.get(slot);
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Camera-Images */
+
+    /**
+     * Allow camera images.
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion allowImages() {
+        if (this.controller != null && !this.controller.isPolicySet(Controller.PolicyFlag.POLICY_IMAGES)) {
+            this.controller.setPolicy(Controller.PolicyFlag.POLICY_IMAGES);
+        }
+        return this;
+    }
+
+    /**
+     * Allow camera images.
+     *
+     * @return LeapMotion
+     * @deprecated
+     */
+    public LeapMotion withCameraImages() {
+        this.log("'withCameraImages()' is deprecated. Please use 'allowImages()'.");
+        return this.allowImages();
+    }
+
+    /**
+     * Disallow camera images.
+     *
+     * @return LeapMotion
+     */
+    public LeapMotion disallowImages() {
+        if (this.controller != null && this.controller.isPolicySet(Controller.PolicyFlag.POLICY_IMAGES)) {
+            this.controller.clearPolicy(Controller.PolicyFlag.POLICY_IMAGES);
+        }
+        return this;
+    }
+
+    /**
+     * Disallow camera images.
+     *
+     * @return LeapMotion
+     * @deprecated
+     */
+    public LeapMotion withoutCameraImages() {
+        this.log("'withoutCameraImages()' is deprecated. Please use 'disallowImages()'.");
+        return this.disallowImages();
+    }
+
+    /**
+     * Are there any raw images available?
+     *
+     * @return Are there any raw images available?
+     */
+    public boolean hasImages() {
+        if (this.controller == null) {
+            return false;
+        }
+        if (this.controller.isPolicySet(Controller.PolicyFlag.POLICY_IMAGES)) {
+            if (!this.controller.frame().images().isEmpty()) {
+                return true;
+            }
+        } else {
+            this.allowImages();
+        }
+        return false;
+    }
+
+    /**
+     * Get all raw camera images.
+     * <p/>
+     * There is one instance per camera, which is reused for the following frames. Its pixels are only converted if the camera delivered a new image, the cameras are converted in parallel.
+     *
+     * @return List of images
+     */
+    public ArrayList<Image> getImages() {
+        this.images.clear();
+        this.pendingImages.clear();
+        if (this.hasImages()) {
+            for (com.leapmotion.leap.Image _image : this.controller.frame().images()) {
+                if (_image.isValid()) {
+                    this.images.add(this.getPooledImage(_image));
+                }
+            }
+            this.convertImages();
+        }
+        return this.images;
+    }
+
+    /**
+     * Get all rectified camera images (see Image.getRectified).
+     *
+     * @param bilinear Interpolate bilinear instead of nearest neighbour?
+     * @return List of reused images
+     */
+    public ArrayList<PImage> getRectifiedImages(boolean bilinear) {
+        this.rectifiedImages.clear();
+        if (this.hasImages()) {
+            for (com.leapmotion.leap.Image _image : this.controller.frame().images()) {
+                if (_image.isValid()) {
+                    this.rectifiedImages.add(this.getPooledImage(_image).getRectified(bilinear));
+                }
+            }
+            this.pendingImages.clear();
+        }
+        return this.rectifiedImages;
+    }
+
+    /**
+     * Get all rectified camera images (nearest neighbour, see Image.getRectified).
+     *
+     * @return List of reused images
+     */
+    public ArrayList<PImage> getRectifiedImages() {
+        return this.getRectifiedImages(false);
+    }
+
+    /**
+     * Get the windows of all camera images around the detected hands (see Image.getRegion).
+     * <p/>
+     * Only the windows are converted, not the whole camera images.
+     *
+     * @param radius     Size of the windows (millimeters around the palm, e.g. ImageRegion.RADIUS)
+     * @param downsample Camera pixels per pixel of the regions (1 = full resolution)
+     * @return List of reused regions (per camera and hand)
+     */
+    public ArrayList<ImageRegion> getHandRegions(float radius, int downsample) {
+        this.handRegions.clear();
+        if (this.hasImages()) {
+            ArrayList<Hand> hands = this.getHands();
+            if (!hands.isEmpty()) {
+                for (com.leapmotion.leap.Image _image : this.controller.frame().images()) {
+                    if (_image.isValid()) {
+                        Image image = this.getPooledImage(_image);
+                        for (Hand hand : hands) {
+                            ImageRegion region = image.getRegion(hand, radius, downsample);
+                            if (region != null) {
+                                this.handRegions.add(region);
+                            }
+                        }
+                    }
+                }
+            }
+            this.pendingImages.clear();
         }
-        return null;
+        return this.handRegions;
     }
 
     /**
-     * The member of the list that is farthest to the right within the standard Leap Motion frame of reference (i.e has the largest X coordinate).
+     * Get the windows of all camera images around the detected hands (full resolution, see Image.getRegion).
      *
-     * @return Single tool or null
+     * @return List of reused regions (per camera and hand)
      */
-    public Tool getRightTool() {
-        if (this.hasTools()) {
-            return new Tool(this.parent, this, this.frame.tools().rightmost());
-        }
-        return null;
+    public ArrayList<ImageRegion> getHandRegions() {
+        return this.getHandRegions(ImageRegion.RADIUS, 1);
     }
 
-
-	/* ------------------------------------------------------------------------ */
-    /* Camera-Images */
-
     /**
-     * Allow camera images.
+     * Get the instance of a camera and bind it to the current camera image.
      *
-     * @return LeapMotion
+     * @param _image Instance of com.leapmotion.leap.Image
+     * @return Image
      */
-    public LeapMotion allowImages() {
-        if (!this.controller.isPolicySet(Controller.PolicyFlag.POLICY_IMAGES)) {
-            this.controller.setPolicy(Controller.PolicyFlag.POLICY_IMAGES);
+    private Image getPooledImage(com.leapmotion.leap.Image _image) {
+        int id = _image.id();
+        for (Image image : this.imagePool) {
+            if (image.getId() == id) {
+                if (image.bind(_image)) {
+                    this.pendingImages.add(image);
+                }
+                return image;
+            }
         }
-        return this;
+        Image image = new Image(this.parent, this, _image, false);
+        this.imagePool.add(image);
+        this.pendingImages.add(image);
+        return image;
     }
 
     /**
-     * Allow camera images.
+     * Get the raw brightness values of the left camera (see Image.getBuffer).
      *
-     * @return LeapMotion
-     * @deprecated
+     * @return Reused direct buffer or null
      */
-    public LeapMotion withCameraImages() {
-        this.log("'withCameraImages()' is deprecated. Please use 'allowImages()'.");
-        return this.allowImages();
+    public ByteBuffer getLeftImageBuffer() {
+        return this.getImageBuffer(1);
     }
 
     /**
-     * Disallow camera images.
+     * Get the raw brightness values of the right camera (see Image.getBuffer).
      *
-     * @return LeapMotion
+     * @return Reused direct buffer or null
      */
-    public LeapMotion disallowImages() {
-        if (this.controller.isPolicySet(Controller.PolicyFlag.POLICY_IMAGES)) {
-            this.controller.clearPolicy(Controller.PolicyFlag.POLICY_IMAGES);
-        }
-        return this;
+    public ByteBuffer getRightImageBuffer() {
+        return this.getImageBuffer(0);
     }
 
     /**
-     * Disallow camera images.
+     * Get the raw brightness values of a camera without converting its pixels.
      *
-     * @return LeapMotion
-     * @deprecated
+     * @param id ID of the camera (1 = left, 0 = right)
+     * @return Reused direct buffer or null
      */
-    public LeapMotion withoutCameraImages() {
-        this.log("'withoutCameraImages()' is deprecated. Please use 'disallowImages()'.");
-        return this.disallowImages();
+    private ByteBuffer getImageBuffer(int id) {
+        if (this.hasImages()) {
+            for (com.leapmotion.leap.Image _image : this.controller.frame().images()) {
+                if (_image.isValid() && _image.id() == id) {
+                    Image image = this.getPooledImage(_image);
+                    this.pendingImages.clear();
+                    return image.getBuffer();
+                }
+            }
+        }
+        return null;
     }
 
     /**
-     * Are there any raw images available?
-     *
-     * @return Are there any raw images available?
+     * Convert all changed camera images (the first on the calling thread, the others on the workers).
      */
-    public boolean hasImages() {
-        if (this.controller.isPolicySet(Controller.PolicyFlag.POLICY_IMAGES)) {
-            if (!this.controller.frame().images().isEmpty()) {
-                return true;
+    private void convertImages() {
+        int count = this.pendingImages.size();
+        if (count == 0) {
+            return;
+        }
+        this.imageTasks.clear();
+        if (count > 1 && Runtime.getRuntime().availableProcessors() > 1) {
+            ExecutorService workers = this.getImageWorkers();
+            for (int i = 1; i < count; i++) {
+                this.imageTasks.add(workers.submit(this.pendingImages.get(i).conversion));
             }
         } else {
-            this.allowImages();
+            for (int i = 1; i < count; i++) {
+                this.pendingImages.get(i).convert();
+            }
         }
-        return false;
+        this.pendingImages.get(0).convert();
+        for (Future<?> task : this.imageTasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+        this.imageTasks.clear();
     }
 
     /**
-     * Get all raw camera images.
+     * Get the worker threads for the camera images (daemon threads, stopped by dispose()).
      *
-     * @return List of images
+     * @return Workers
      */
-    public ArrayList<Image> getImages() {
-        this.images.clear();
-        if (this.hasImages()) {
-            for (com.leapmotion.leap.Image _image : this.controller.frame().images()) {
-                if (_image.isValid()) {
-                    images.add(new Image(this.parent, this, _image));
-                }
-            }
+    ExecutorService getImageWorkers() {
+        if (this.imageWorkers == null) {
+            this.imageWorkers = Executors.newFixedThreadPool(
+                    Math.max(Math.min(Runtime.getRuntime().availableProcessors() - 1, 4), 1),
+                    new ThreadFactory() {
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "LeapMotion-Images");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    }
+            );
         }
-        return this.images;
+        return this.imageWorkers;
     }
 
 	
@@ -804,7 +1808,7 @@ public class LeapMotion {
      * @return LeapMotion
      */
     public LeapMotion allowHdm() {
-        if (!this.controller.isPolicySet(Controller.PolicyFlag.POLICY_OPTIMIZE_HMD)) {
+        if (this.controller != null && !this.controller.isPolicySet(Controller.PolicyFlag.POLICY_OPTIMIZE_HMD)) {
             this.controller.setPolicy(Controller.PolicyFlag.POLICY_OPTIMIZE_HMD);
         }
         return this;
@@ -827,7 +1831,7 @@ public class LeapMotion {
      * @return LeapMotion
      */
     public LeapMotion disallowHdm() {
-        if (this.controller.isPolicySet(Controller.PolicyFlag.POLICY_OPTIMIZE_HMD)) {
+        if (this.controller != null && this.controller.isPolicySet(Controller.PolicyFlag.POLICY_OPTIMIZE_HMD)) {
             this.controller.clearPolicy(Controller.PolicyFlag.POLICY_OPTIMIZE_HMD);
         }
         return this;
@@ -863,30 +1867,36 @@ public class LeapMotion {
             this.recognition = true;
             switch (com.leapmotion.leap.Gesture.Type.valueOf(gesture)) {
                 case TYPE_SWIPE:
-                    controller.enableGesture(Gesture.Type.TYPE_SWIPE);
+                    this.enableGesture(Gesture.Type.TYPE_SWIPE);
                     break;
                 case TYPE_CIRCLE:
-                    controller.enableGesture(Gesture.Type.TYPE_CIRCLE);
+                    this.enableGesture(Gesture.Type.TYPE_CIRCLE);
                     break;
                 case TYPE_SCREEN_TAP:
-                    controller.enableGesture(Gesture.Type.TYPE_SCREEN_TAP);
+                    this.enableGesture(Gesture.Type.TYPE_SCREEN_TAP);
                     break;
                 case TYPE_KEY_TAP:
-                    controller.enableGesture(Gesture.Type.TYPE_KEY_TAP);
+                    this.enableGesture(Gesture.Type.TYPE_KEY_TAP);
                     break;
                 default:
                     this.recognition = false;
                     break;
             }
         }
-        if (this.recognition) {
-            this.parent.registerMethod("pre", this);
-        } else {
-            this.parent.unregisterMethod("pre", this);
-        }
         return this;
     }
 
+    /**
+     * Enable a gesture type of the device (if there is one).
+     *
+     * @param type Type of the gesture
+     */
+    private void enableGesture(Gesture.Type type) {
+        if (this.controller != null) {
+            this.controller.enableGesture(type);
+        }
+    }
+
     public LeapMotion allowGestures(String names) {
         return this.withGestures(names);
     }
@@ -905,35 +1915,218 @@ public class LeapMotion {
      * @return LeapMotion
      */
     public LeapMotion withoutGestures() {
-        this.parent.unregisterMethod("pre", this);
         this.recognition = false;
         return this;
     }
 
     /**
-     * Run the recognizer before sketch drawing.
+     * Set the size of the queue, which keeps the gestures of every device frame until the next draw() (default: 256).
+     * <p/>
+     * Gestures, which are still queued, are delivered before the ones of the new queue, so none of them are lost.
+     *
+     * @param capacity Maximum number of queued gestures
+     * @return LeapMotion
+     */
+    public LeapMotion setGestureQueue(int capacity) {
+        GestureQueue<com.leapmotion.leap.Gesture> previous = this.gestures;
+        this.gestures = new GestureQueue<com.leapmotion.leap.Gesture>(capacity, previous);
+        // the listener may still add the gestures of its current frame to the previous queue
+        this.retiredGestures.add(previous);
+        this.retiredAt = this.gestureFrames;
+        return this;
+    }
+
+    /**
+     * Set the behavior of a full gesture queue.
+     *
+     * @param policy LeapMotion.GESTURES_COALESCE (default, keep START and STOP, skip or merge UPDATE states when the queue is three quarters full) or LeapMotion.GESTURES_DROP_NEWEST (skip every new gesture)
+     * @return LeapMotion
+     */
+    public LeapMotion setGestureOverflow(int policy) {
+        this.gestures.setPolicy(policy);
+        return this;
+    }
+
+    /**
+     * Get the number of gestures which were lost because the queue was full.
+     *
+     * @return Number of gestures
+     */
+    public long countDroppedGestures() {
+        return this.gestures.getDropped();
+    }
+
+    /**
+     * Get the number of UPDATE states which were merged into a later UPDATE or skipped to keep space in the queue.
+     *
+     * @return Number of gestures
+     */
+    public long countCoalescedGestures() {
+        return this.gestures.getCoalesced();
+    }
+
+    /**
+     * Take a frame of the device (listener thread of the source).
+     *
+     * @param frame Raw instance of com.leapmotion.leap.Frame
+     */
+    void update(Frame frame) {
+        if (this.recognition) {
+            GestureQueue<com.leapmotion.leap.Gesture> gestures = this.gestures;
+            for (com.leapmotion.leap.Gesture _g : frame.gestures(this.lastFrame)) {
+                gestures.offer(_g, _g.id(), _g.state() == State.STATE_UPDATE);
+            }
+        }
+        this.gestureFrames++;
+        this.lastFrame = frame;
+        FrameHistory history = this.history;
+        FrameRecorder recorder = this.recorder;
+        FrameSnapshot back = this.frames.getBack();
+        FrameSnapshot extracted = back;
+        if (this.snapshots) {
+            back.extract(frame);
+        } else {
+            back.reset(frame);
+            if (history != null || recorder != null) {
+                // extracted aside, the hands of the sketch stay bound to the SDK
+                this.extracted.extract(frame);
+                extracted = this.extracted;
+            }
+        }
+        if (history != null) {
+            history.add(extracted);
+        }
+        if (recorder != null) {
+            recorder.add(extracted);
+        }
+        ImageRecorder imageRecorder = this.imageRecorder;
+        if (imageRecorder != null) {
+            imageRecorder.add(frame);
+        }
+        this.frames.publish();
+        this.dispatchFrame(back);
+    }
+
+    /**
+     * Take a frame with extracted data, e.g. of a recording (thread of the source).
+     *
+     * @param snapshot Snapshot with extracted data
+     */
+    void update(FrameSnapshot snapshot) {
+        FrameHistory history = this.history;
+        FrameRecorder recorder = this.recorder;
+        FrameSnapshot back = this.frames.getBack();
+        back.copy(snapshot);
+        if (history != null) {
+            history.add(back);
+        }
+        if (recorder != null) {
+            recorder.add(back);
+        }
+        this.frames.publish();
+        this.dispatchFrame(back);
+    }
+
+    /**
+     * Call leapOnFrame, whose queries read the frame just published (thread of the source).
+     * <p/>
+     * The published slot isn't written again before the next update, so the hands, fingers and tools of the callback are valid until it returns. The queries of the sketch thread keep the frame of the current draw().
+     *
+     * @param published Snapshot of the published frame
+     */
+    private void dispatchFrame(FrameSnapshot published) {
+        FrameView view = this.listenerView;
+        view.bind(published);
+        if (!this.pooling && !view.handPool.isEmpty()) {
+            view.clearPools();
+        }
+        this.dispatching = Thread.currentThread();
+        try {
+            this.dispatch("leapOnFrame");
+        } finally {
+            this.dispatching = null;
+        }
+    }
+
+    /**
+     * Get the frame and the kept results of the calling thread.
+     * <p/>
+     * Only the thread, which dispatches leapOnFrame, reads the published frame; every other thread reads the frame taken by pre().
+     *
+     * @return FrameView
+     */
+    private FrameView view() {
+        return (this.dispatching == Thread.currentThread()) ? this.listenerView : this.sketchView;
+    }
+
+    /**
+     * Take the latest frame and run the recognizer before sketch drawing.
+     * <p/>
+     * The frame stays the same during the whole draw(), so all hands, fingers and tools belong to one frame. Callbacks of leapOnFrame see the frame, which has just been published, instead.
      */
     public void pre() {
+        if (this.frames.swap()) {
+            this.sketchView.bind(this.frames.getFront());
+            if (this.templateRecognizer != null) {
+                this.templateRecognizer.update();
+            }
+            if (this.dtwRecognizer != null) {
+                this.dtwRecognizer.update();
+            }
+            if (this.poseClassifier != null) {
+                this.poseClassifier.update();
+            }
+        }
         this.check();
     }
 
     /**
-     * Remove listener before destroying sketch.
+     * Stop the frame source before destroying sketch.
      */
     public void dispose() {
-        this.controller.removeListener(this.listener);
+        this.source.stop();
+        if (this.imageWorkers != null) {
+            this.imageWorkers.shutdownNow();
+            this.imageWorkers = null;
+        }
+        this.disallowRecording();
+        this.disallowImageRecording();
+    }
+
+    /**
+     * Take the gestures, which were queued since the last draw(), including the ones of replaced queues (oldest first).
+     *
+     * @return Gestures
+     */
+    private ArrayList<com.leapmotion.leap.Gesture> drainGestures() {
+        this.pendingGestures.clear();
+        if (!this.retiredGestures.isEmpty()) {
+            // a replaced queue is complete as soon as the listener has finished a frame after the replacement
+            boolean complete = this.gestureFrames != this.retiredAt;
+            for (GestureQueue<com.leapmotion.leap.Gesture> retired : this.retiredGestures) {
+                retired.drain(this.pendingGestures);
+            }
+            if (complete) {
+                this.retiredGestures.clear();
+            }
+        }
+        return this.gestures.drain(this.pendingGestures);
     }
 
     /**
-     * Check available gestures.
+     * Check the gestures, which were queued by the listener thread since the last draw().
      */
     private void check() {
-        if (this.isConnected() && this.recognition) {
-            for (com.leapmotion.leap.Gesture _g : this.frame.gestures(this.lastFrame)) {
+        if (this.recognition) {
+            for (com.leapmotion.leap.Gesture _g : this.drainGestures()) {
                 if (_g.isValid()) {
                     int state = 2;
                     switch (_g.type()) {
                         case TYPE_CIRCLE:
+                            if (!this.callbacks.has("leapOnCircleGesture",
+                                    de.voidplus.leapmotion.CircleGesture.class, int.class)) {
+                                break;
+                            }
                             if (_g.state() == State.STATE_START) {
                                 state = 1;
                             } else if (_g.state() == State.STATE_STOP) {
@@ -966,6 +2159,10 @@ public class LeapMotion {
 //                            }
                             break;
                         case TYPE_SWIPE:
+                            if (!this.callbacks.has("leapOnSwipeGesture",
+                                    de.voidplus.leapmotion.SwipeGesture.class, int.class)) {
+                                break;
+                            }
                             if (_g.state() == State.STATE_START) {
                                 state = 1;
                             } else if (_g.state() == State.STATE_STOP) {
@@ -997,7 +2194,8 @@ public class LeapMotion {
 //                            }
                             break;
                         case TYPE_SCREEN_TAP:
-                            if (_g.state() == State.STATE_STOP) {
+                            if (_g.state() == State.STATE_STOP && this.callbacks.has("leapOnScreenTapGesture",
+                                    de.voidplus.leapmotion.ScreenTapGesture.class)) {
                                 dispatch("leapOnScreenTapGesture",
                                         de.voidplus.leapmotion.ScreenTapGesture.class,
                                         new de.voidplus.leapmotion.ScreenTapGesture(
@@ -1022,7 +2220,8 @@ public class LeapMotion {
                             }
                             break;
                         case TYPE_KEY_TAP:
-                            if (_g.state() == State.STATE_STOP) {
+                            if (_g.state() == State.STATE_STOP && this.callbacks.has("leapOnKeyTapGesture",
+                                    de.voidplus.leapmotion.KeyTapGesture.class)) {
                                 dispatch("leapOnKeyTapGesture",
                                         de.voidplus.leapmotion.KeyTapGesture.class,
                                         new de.voidplus.leapmotion.KeyTapGesture(
@@ -1052,7 +2251,7 @@ public class LeapMotion {
                     }
                 }
             }
-            this.lastFrame = this.frame;
+            this.pendingGestures.clear();
         }
     }
 
@@ -1168,12 +2367,14 @@ public class LeapMotion {
      * @return LeapMotion
      */
     public LeapMotion setConfig(String keyString, int value) {
-        if (this.controller.isConnected()) {
+        if (this.controller != null && this.controller.isConnected()) {
             if (this.controller.config().setInt32(keyString, value)) {
                 this.controller.config().save();
             }
         }
-        this.controller.config().save();
+        if (this.controller != null) {
+            this.controller.config().save();
+        }
         return this;
     }
 
@@ -1185,7 +2386,7 @@ public class LeapMotion {
      * @return LeapMotion
      */
     public LeapMotion setConfig(String keyString, float value) {
-        if (this.controller.isConnected()) {
+        if (this.controller != null && this.controller.isConnected()) {
             if (this.controller.config().setFloat(keyString, value)) {
                 this.controller.config().save();
             }
@@ -1201,7 +2402,7 @@ public class LeapMotion {
      * @return LeapMotion
      */
     public LeapMotion setConfig(String keyString, boolean value) {
-        if (this.controller.isConnected()) {
+        if (this.controller != null && this.controller.isConnected()) {
             if (this.controller.config().setBool(keyString, value)) {
                 this.controller.config().save();
             }
@@ -1217,7 +2418,7 @@ public class LeapMotion {
      * @return LeapMotion
      */
     public LeapMotion setConfig(String keyString, String value) {
-        if (this.controller.isConnected()) {
+        if (this.controller != null && this.controller.isConnected()) {
             if (this.controller.config().setString(keyString, value)) {
                 this.controller.config().save();
             }
@@ -1236,6 +2437,90 @@ public class LeapMotion {
      * @return PVector  version of instance Vector
      */
     protected PVector map(Vector position) {
+        return this.map(position, new PVector());
+    }
+
+    /**
+     * Convert/map the Vector data to sketch PVector data with world settings.
+     *
+     * @param position Instance of class Vector
+     * @param target   Target vector
+     * @return Target vector
+     */
+    protected PVector map(Vector position, PVector target) {
+        return this.map(position.getX(), position.getY(), position.getZ(), target);
+    }
+
+    /**
+     * Convert/map the Vector data to sketch coordinates with world settings and write them to an array.
+     *
+     * @param position Instance of class Vector
+     * @param target   Target array
+     * @param to       Offset of the x component in the target array
+     * @return Target array
+     */
+    protected float[] map(Vector position, float[] target, int to) {
+        return this.map(position.getX(), position.getY(), position.getZ(), target, to);
+    }
+
+    /**
+     * Convert/map raw data of a snapshot to sketch PVector data with world settings.
+     *
+     * @param data   Source array
+     * @param offset Offset of the x component
+     * @return PVector
+     */
+    protected PVector map(float[] data, int offset) {
+        return this.map(data, offset, new PVector());
+    }
+
+    /**
+     * Convert/map raw data of a snapshot to sketch PVector data with world settings.
+     *
+     * @param data   Source array
+     * @param offset Offset of the x component
+     * @param target Target vector
+     * @return Target vector
+     */
+    protected PVector map(float[] data, int offset, PVector target) {
+        return this.map(data[offset], data[offset + 1], data[offset + 2], target);
+    }
+
+    /**
+     * Convert/map raw coordinates to sketch coordinates with world settings and write them to an array.
+     *
+     * @param data   Source array
+     * @param offset Offset of the x component in the source array
+     * @param target Target array (may be the source array)
+     * @param to     Offset of the x component in the target array
+     * @return Target array
+     */
+    protected float[] map(float[] data, int offset, float[] target, int to) {
+        return this.map(data[offset], data[offset + 1], data[offset + 2], target, to);
+    }
+
+    /**
+     * Convert/map raw coordinates to sketch PVector data with world settings.
+     *
+     * @param x X coordinate in millimeters
+     * @param y Y coordinate in millimeters
+     * @param z Z coordinate in millimeters
+     * @return PVector
+     */
+    protected PVector map(float x, float y, float z) {
+        return this.map(x, y, z, new PVector());
+    }
+
+    /**
+     * Convert/map raw coordinates to sketch PVector data with world settings.
+     *
+     * @param x      X coordinate in millimeters
+     * @param y      Y coordinate in millimeters
+     * @param z      Z coordinate in millimeters
+     * @param target Target vector
+     * @return Target vector
+     */
+    protected PVector map(float x, float y, float z, PVector target) {
 
 //		InteractionBox box = this.frame.interactionBox();
 //		Vector normalized = box.normalizePoint(position);
@@ -1244,38 +2529,76 @@ public class LeapMotion {
 //			(this.parent.height-normalized.getY()*this.parent.height)
 //		);
 
-        PVector response = new PVector();
+        WorldTransform transform = this.transform();
+        return target.set(
+                x * transform.scaleX + transform.shiftX,
+                y * transform.scaleY + transform.shiftY,
+                z * transform.scaleZ + transform.shiftZ
+        );
+    }
 
-        // WIDTH
-        if (position.getX() > 0) {
-            response.x = PApplet.lerp(
-                    (this.parent.width * 0.5f),
-                    this.parent.width,
-                    (position.getX() / this.world.x)
-            );
-        } else {
-            response.x = PApplet.lerp(
-                    (this.parent.width * 0.5f),
-                    0.0f,
-                    (-position.getX() / this.world.x)
-            );
-        }
+    /**
+     * Convert/map raw coordinates to sketch coordinates with world settings and write them to an array.
+     *
+     * @param x      X coordinate in millimeters
+     * @param y      Y coordinate in millimeters
+     * @param z      Z coordinate in millimeters
+     * @param target Target array
+     * @param to     Offset of the x component in the target array
+     * @return Target array
+     */
+    protected float[] map(float x, float y, float z, float[] target, int to) {
+        WorldTransform transform = this.transform();
+        target[to] = x * transform.scaleX + transform.shiftX;
+        target[to + 1] = y * transform.scaleY + transform.shiftY;
+        target[to + 2] = z * transform.scaleZ + transform.shiftZ;
+        return target;
+    }
 
-        // HEIGHT
-        response.y = PApplet.lerp(
-                this.parent.height,
-                0.0f,
-                (position.getY() / world.y)
-        );
+    /**
+     * Convert/map many raw positions (x, y, z, x, y, z, ...) to sketch coordinates with world settings.
+     *
+     * @param src   Source array with raw positions in millimeters
+     * @param dst   Target array (may be the source array)
+     * @param count Number of positions
+     * @return Target array
+     */
+    public float[] mapAll(float[] src, float[] dst, int count) {
+        WorldTransform transform = this.transform();
+        return BatchMath.transform(src, dst, count,
+                transform.scaleX, transform.scaleY, transform.scaleZ,
+                transform.shiftX, transform.shiftY, transform.shiftZ);
+    }
 
-        // DEPTH
-        response.z = PApplet.lerp(
-                50.0f,
-                0.0f,
-                (position.getZ() / world.z)
-        );
+    /**
+     * Convert many raw positions (x, y, z, x, y, z, ...) without modifications (except the world origin).
+     *
+     * @param src   Source array with raw positions in millimeters
+     * @param dst   Target array (may be the source array)
+     * @param count Number of positions
+     * @return Target array
+     */
+    public float[] convertAll(float[] src, float[] dst, int count) {
+        WorldTransform transform = this.transform();
+        return BatchMath.translate(src, dst, count, transform.originX, transform.originY, transform.originZ);
+    }
 
-        return this.move(response);
+    /**
+     * Get the mapping of the current world settings and sketch size (created again after a change).
+     *
+     * @return Mapping
+     */
+    private WorldTransform transform() {
+        WorldTransform transform = this.transform;
+        PVector world = this.world;
+        PVector origin = this.origin;
+        int width = this.parent.width;
+        int height = this.parent.height;
+        if (transform == null || !transform.matches(world, origin, width, height)) {
+            transform = new WorldTransform(world, origin, width, height);
+            this.transform = transform;
+        }
+        return transform;
     }
 
     /**
@@ -1285,26 +2608,84 @@ public class LeapMotion {
      * @return PVector  version of instance Vector
      */
     protected PVector convert(Vector position) {
-        return this.move(new PVector(
-                position.getX(),
-                position.getY(),
-                position.getZ()
-        ));
+        return this.convert(position, new PVector());
+    }
+
+    /**
+     * Convert Vector to PVector without modifications
+     *
+     * @param position Instance of class Vector
+     * @param target   Target vector
+     * @return Target vector
+     */
+    protected PVector convert(Vector position, PVector target) {
+        WorldTransform transform = this.transform();
+        return target.set(
+                position.getX() + transform.originX,
+                position.getY() + transform.originY,
+                position.getZ() + transform.originZ
+        );
     }
 
     /**
-     * Move all elements.
+     * Convert Vector without modifications and write it to an array.
      *
-     * @param position Shift vector
-     * @return New position
+     * @param position Instance of class Vector
+     * @param target   Target array
+     * @param to       Offset of the x component in the target array
+     * @return Target array
      */
-    private PVector move(PVector position) {
-        if (this.origin != null) {
-            position.x += origin.x;
-            position.y += origin.y;
-            position.z += origin.z;
-        }
-        return position;
+    protected float[] convert(Vector position, float[] target, int to) {
+        WorldTransform transform = this.transform();
+        target[to] = position.getX() + transform.originX;
+        target[to + 1] = position.getY() + transform.originY;
+        target[to + 2] = position.getZ() + transform.originZ;
+        return target;
+    }
+
+    /**
+     * Convert raw data of a snapshot to PVector without modifications
+     *
+     * @param data   Source array
+     * @param offset Offset of the x component
+     * @return PVector
+     */
+    protected PVector convert(float[] data, int offset) {
+        return this.convert(data, offset, new PVector());
+    }
+
+    /**
+     * Convert raw data of a snapshot to PVector without modifications
+     *
+     * @param data   Source array
+     * @param offset Offset of the x component
+     * @param target Target vector
+     * @return Target vector
+     */
+    protected PVector convert(float[] data, int offset, PVector target) {
+        WorldTransform transform = this.transform();
+        return target.set(
+                data[offset] + transform.originX,
+                data[offset + 1] + transform.originY,
+                data[offset + 2] + transform.originZ
+        );
+    }
+
+    /**
+     * Convert raw data without modifications and write it to an array.
+     *
+     * @param data   Source array
+     * @param offset Offset of the x component in the source array
+     * @param target Target array (may be the source array)
+     * @param to     Offset of the x component in the target array
+     * @return Target array
+     */
+    protected float[] convert(float[] data, int offset, float[] target, int to) {
+        WorldTransform transform = this.transform();
+        target[to] = data[offset] + transform.originX;
+        target[to + 1] = data[offset + 1] + transform.originY;
+        target[to + 2] = data[offset + 2] + transform.originZ;
+        return target;
     }
 
 	
@@ -1316,21 +2697,9 @@ public class LeapMotion {
      *
      * @param method Name of the callback
      */
-    private void dispatch(final String method) {
-        boolean success = false;
-        try {
-            this.parent.getClass().getMethod(
-                    method
-            ).invoke(
-                    this.parent
-            );
-            success = true;
-        } catch (Exception e) {
-            // e.printStackTrace();
-        } finally {
-            if (success) {
-                this.log(String.format("Callback %s();", method));
-            }
+    void dispatch(final String method) {
+        if (this.callbacks.invoke(method) && this.verbose) {
+            this.log(String.format("Callback %s();", method));
         }
     }
 
@@ -1342,22 +2711,8 @@ public class LeapMotion {
      * @param obj    Content of argument
      */
     private void dispatch(final String method, Class clazz, Object obj) {
-        boolean success = false;
-        try {
-            this.parent.getClass().getMethod(
-                    method,
-                    clazz
-            ).invoke(
-                    this.parent,
-                    obj
-            );
-            success = true;
-        } catch (Exception e) {
-            // e.printStackTrace();
-        } finally {
-            if (success) {
-                this.log(String.format("Callback %s();", method));
-            }
+        if (this.callbacks.invoke(method, clazz, obj) && this.verbose) {
+            this.log(String.format("Callback %s();", method));
         }
     }
 
@@ -1370,28 +2725,12 @@ public class LeapMotion {
      * @param obj_1   Content of first argument
      * @param obj_2   Content of second argument
      */
-    private void dispatch(final String method,
-                          Class clazz_1, Class clazz_2,
-                          Object obj_1, Object obj_2
+    void dispatch(final String method,
+                  Class clazz_1, Class clazz_2,
+                  Object obj_1, Object obj_2
     ) {
-        boolean success = false;
-        try {
-            this.parent.getClass().getMethod(
-                    method,
-                    clazz_1,
-                    clazz_2
-            ).invoke(
-                    this.parent,
-                    obj_1,
-                    obj_2
-            );
-            success = true;
-        } catch (Exception e) {
-            // e.printStackTrace();
-        } finally {
-            if (success) {
-                this.log(String.format("Callback %s();", method));
-            }
+        if (this.callbacks.invoke(method, clazz_1, clazz_2, obj_1, obj_2) && this.verbose) {
+            this.log(String.format("Callback %s();", method));
         }
     }
 
@@ -1447,7 +2786,7 @@ public class LeapMotion {
      *
      * @param msg Message
      */
-    private void println(String msg) {
+    void println(String msg) {
         this.println(msg, true);
     }
 
@@ -9,6 +9,8 @@ public class Pointable {
     protected PApplet parent;
     protected LeapMotion leap;
     protected com.leapmotion.leap.Pointable _pointable;
+    protected FrameSnapshot snapshot;
+    protected int index;
 
     public Pointable(PApplet parent, LeapMotion leap, com.leapmotion.leap.Pointable _pointable) {
         this.parent = parent;
@@ -16,12 +18,54 @@ public class Pointable {
         this._pointable = _pointable;
     }
 
+    Pointable(PApplet parent, LeapMotion leap, FrameSnapshot snapshot, int index) {
+        this.parent = parent;
+        this.leap = leap;
+        this.snapshot = snapshot;
+        this.index = index;
+    }
+
+    /**
+     * Rebind the (pooled) instance to another pointable.
+     *
+     * @param _pointable Instance of com.leapmotion.leap.Pointable
+     */
+    void bind(com.leapmotion.leap.Pointable _pointable) {
+        this._pointable = _pointable;
+        this.snapshot = null;
+    }
+
+    /**
+     * Rebind the (pooled) instance to another pointable of a snapshot.
+     *
+     * @param snapshot Snapshot with extracted data
+     * @param index    Index of the pointable
+     */
+    void bind(FrameSnapshot snapshot, int index) {
+        this._pointable = null;
+        this.snapshot = snapshot;
+        this.index = index;
+    }
+
+    /**
+     * Get the offset of a value in the pointable data of the snapshot.
+     *
+     * @param field Field of the layout (e.g. FrameSnapshot.POINTABLE_TIP_POSITION)
+     * @return Offset
+     */
+    protected int offset(int field) {
+        return this.index * FrameSnapshot.POINTABLE_STRIDE + field;
+    }
+
     /**
      * Get the unique ID.
      *
      * @return ID
      */
     public int getId() {
+        if (this.snapshot != null) {
+            return this.snapshot.pointableIds[this.index];
+        }
         return this._pointable.id();
     }
 
@@ -31,7 +75,34 @@ public class Pointable {
      * @return Position
      */
     public PVector getPosition() {
-        return this.leap.map(this._pointable.tipPosition());
+        return this.getPosition(new PVector());
+    }
+
+    /**
+     * The tip position in millimeters.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_TIP_POSITION), target);
+        }
+        return this.leap.map(this._pointable.tipPosition(), target);
+    }
+
+    /**
+     * The tip position in millimeters.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_TIP_POSITION), target, offset);
+        }
+        return this.leap.map(this._pointable.tipPosition(), target, offset);
     }
 
     /**
@@ -40,7 +111,34 @@ public class Pointable {
      * @return Raw position
      */
     public PVector getRawPosition() {
-        return this.leap.convert(this._pointable.tipPosition());
+        return this.getRawPosition(new PVector());
+    }
+
+    /**
+     * Raw data of the tip position.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_TIP_POSITION), target);
+        }
+        return this.leap.convert(this._pointable.tipPosition(), target);
+    }
+
+    /**
+     * Raw data of the tip position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_TIP_POSITION), target, offset);
+        }
+        return this.leap.convert(this._pointable.tipPosition(), target, offset);
     }
 
     /**
@@ -49,7 +147,34 @@ public class Pointable {
      * @return Position
      */
     public PVector getStabilizedPosition() {
-        return this.leap.map(this._pointable.stabilizedTipPosition());
+        return this.getStabilizedPosition(new PVector());
+    }
+
+    /**
+     * The stabilized tip position in millimeters.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getStabilizedPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_STABILIZED_TIP_POSITION), target);
+        }
+        return this.leap.map(this._pointable.stabilizedTipPosition(), target);
+    }
+
+    /**
+     * The stabilized tip position in millimeters.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getStabilizedPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_STABILIZED_TIP_POSITION), target, offset);
+        }
+        return this.leap.map(this._pointable.stabilizedTipPosition(), target, offset);
     }
 
     /**
@@ -58,7 +183,34 @@ public class Pointable {
      * @return Position
      */
     public PVector getRawStabilizedPosition() {
-        return this.leap.convert(this._pointable.tipPosition());
+        return this.getRawStabilizedPosition(new PVector());
+    }
+
+    /**
+     * Raw data of the stabilized tip position.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getRawStabilizedPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_TIP_POSITION), target);
+        }
+        return this.leap.convert(this._pointable.tipPosition(), target);
+    }
+
+    /**
+     * Raw data of the stabilized tip position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getRawStabilizedPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_TIP_POSITION), target, offset);
+        }
+        return this.leap.convert(this._pointable.tipPosition(), target, offset);
     }
 
     /**
@@ -67,7 +219,34 @@ public class Pointable {
      * @return Position
      */
     public PVector getVelocity() {
-        return this.leap.map(this._pointable.tipVelocity());
+        return this.getVelocity(new PVector());
+    }
+
+    /**
+     * The rate of change of the tip position in millimeters/second.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getVelocity(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_TIP_VELOCITY), target);
+        }
+        return this.leap.map(this._pointable.tipVelocity(), target);
+    }
+
+    /**
+     * The rate of change of the tip position in millimeters/second.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getVelocity(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.map(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_TIP_VELOCITY), target, offset);
+        }
+        return this.leap.map(this._pointable.tipVelocity(), target, offset);
     }
 
     /**
@@ -76,7 +255,34 @@ public class Pointable {
      * @return Velocity
      */
     public PVector getRawVelocity() {
-        return this.leap.convert(this._pointable.tipVelocity());
+        return this.getRawVelocity(new PVector());
+    }
+
+    /**
+     * Raw data of the rate of change of the tip position.
+     *
+     * @param target Target vector
+     * @return Velocity
+     */
+    public PVector getRawVelocity(PVector target) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_TIP_VELOCITY), target);
+        }
+        return this.leap.convert(this._pointable.tipVelocity(), target);
+    }
+
+    /**
+     * Raw data of the rate of change of the tip position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Velocity
+     */
+    public float[] getRawVelocity(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.leap.convert(this.snapshot.pointables, this.offset(FrameSnapshot.POINTABLE_TIP_VELOCITY), target, offset);
+        }
+        return this.leap.convert(this._pointable.tipVelocity(), target, offset);
     }
 
     /**
@@ -85,13 +291,52 @@ public class Pointable {
      * @return Direction
      */
     public PVector getDirection() {
-        return new PVector(
+        return this.getDirection(new PVector());
+    }
+
+    /**
+     * The direction in which this finger is pointing.
+     *
+     * @param target Target vector
+     * @return Direction
+     */
+    public PVector getDirection(PVector target) {
+        if (this.snapshot != null) {
+            int offset = this.offset(FrameSnapshot.POINTABLE_DIRECTION);
+            return target.set(
+                    this.snapshot.pointables[offset],
+                    -this.snapshot.pointables[offset + 1],
+                    this.snapshot.pointables[offset + 2]
+            );
+        }
+        return target.set(
                 this._pointable.direction().getX(),
                 -this._pointable.direction().getY(),
                 this._pointable.direction().getZ()
         );
     }
 
+    /**
+     * The direction in which this finger is pointing.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Direction
+     */
+    public float[] getDirection(float[] target, int offset) {
+        if (this.snapshot != null) {
+            int from = this.offset(FrameSnapshot.POINTABLE_DIRECTION);
+            target[offset] = this.snapshot.pointables[from];
+            target[offset + 1] = -this.snapshot.pointables[from + 1];
+            target[offset + 2] = this.snapshot.pointables[from + 2];
+            return target;
+        }
+        target[offset] = this._pointable.direction().getX();
+        target[offset + 1] = -this._pointable.direction().getY();
+        target[offset + 2] = this._pointable.direction().getZ();
+        return target;
+    }
+
     /**
      * A value proportional to the distance between this Pointable object and the adaptive touch plane.
      * <p/>
@@ -102,6 +347,9 @@ public class Pointable {
      * @return The normalized touch distance of this Pointable object.
      */
     public float getTouchDistance() {
+        if (this.snapshot != null) {
+            return this.snapshot.pointables[this.offset(FrameSnapshot.POINTABLE_TOUCH_DISTANCE)];
+        }
         return this._pointable.touchDistance();
     }
 
@@ -121,6 +369,9 @@ public class Pointable {
      * @return The touch zone of this Pointable
      */
     public int getTouchZone() {
+        if (this.snapshot != null) {
+            return this.snapshot.pointableZones[this.index];
+        }
         switch (this._pointable.touchZone()) {
             case ZONE_NONE:
                 return -1;
@@ -138,6 +389,9 @@ public class Pointable {
      * @return Length
      */
     public float getLength() {
+        if (this.snapshot != null) {
+            return this.snapshot.pointables[this.offset(FrameSnapshot.POINTABLE_LENGTH)];
+        }
         return this._pointable.length();
     }
 
@@ -147,6 +401,9 @@ public class Pointable {
      * @return Duration of visibility
      */
     public float getTimeVisible() {
+        if (this.snapshot != null) {
+            return this.snapshot.pointables[this.offset(FrameSnapshot.POINTABLE_TIME_VISIBLE)];
+        }
         return this._pointable.timeVisible();
     }
 
@@ -156,6 +413,9 @@ public class Pointable {
      * @return Is this a finger?
      */
     protected boolean isFinger() {
+        if (this.snapshot != null) {
+            return this.snapshot.pointableTypes[this.index] != FrameSnapshot.TYPE_TOOL;
+        }
         return this._pointable.isFinger();
     }
 
@@ -165,6 +425,9 @@ public class Pointable {
      * @return Is this a tool?
      */
     protected boolean isTool() {
+        if (this.snapshot != null) {
+            return this.snapshot.pointableTypes[this.index] == FrameSnapshot.TYPE_TOOL;
+        }
         return this._pointable.isTool();
     }
 
@@ -0,0 +1,362 @@
+package de.voidplus.leapmotion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.leapmotion.leap.Vector;
+
+
+/**
+ * Classifier of static hand poses (e.g. fist, point, OK sign) by the nearest recorded example.
+ * <p/>
+ * Every hand is described by a feature vector of PoseClassifier.FEATURES values: the flexion of every finger (angles between its bones in radians), the spread of neighbouring fingers (angles between their proximal bones), the extended fingers (0 or 1), the grab strength and the pinch strength. The examples are indexed by a k-d tree, so even thousands of examples are queried in microseconds.
+ * <p/>
+ * With every new frame the hands are classified. A hand takes a new pose, if it is the nearest one for a number of frames in a row (hysteresis), and loses its pose only if it moves clearly away from all examples. Every change is reported by leapOnPoseChange(Hand hand, String pose), the current pose is available by Hand.getPose().
+ */
+public class PoseClassifier {
+
+    public static final int FEATURES = 26;
+
+    // Layout of the feature vector
+    private static final int FLEXION = 0;
+    private static final int SPREAD = 15;
+    private static final int EXTENDED = 19;
+    private static final int GRAB = 24;
+    private static final int PINCH = 25;
+
+    private final LeapMotion leap;
+
+    // Examples (FEATURES values and the index of the pose name per example)
+    private final ArrayList<String> names;
+    private float[] examples;
+    private int[] labels;
+    private int count;
+    private final KdTree tree;
+    private boolean dirty;
+
+    private float maximumDistance;
+    private float release;
+    private int stableFrames;
+
+    // State of the left and the right hand
+    private final int[] handIds;
+    private final int[] poses;
+    private final int[] candidates;
+    private final int[] candidateFrames;
+
+    private final float[] features;
+    private final float[] directions;
+    private final boolean[] present;
+
+    PoseClassifier(LeapMotion leap) {
+        this.leap = leap;
+        this.names = new ArrayList<String>();
+        this.examples = new float[64 * FEATURES];
+        this.labels = new int[64];
+        this.tree = new KdTree(FEATURES);
+        this.maximumDistance = 0.8f;
+        this.release = 1.25f;
+        this.stableFrames = 3;
+        this.handIds = new int[]{-1, -1};
+        this.poses = new int[]{-1, -1};
+        this.candidates = new int[]{-1, -1};
+        this.candidateFrames = new int[2];
+        this.features = new float[FEATURES];
+        this.directions = new float[FrameSnapshot.FINGERS * FrameSnapshot.BONES * 3];
+        this.present = new boolean[FrameSnapshot.FINGERS];
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Settings */
+
+    /**
+     * Set the maximum distance of a hand to the examples of a pose.
+     *
+     * @param distance Euclidean distance of the feature vectors (default 0.8)
+     * @return PoseClassifier
+     */
+    public PoseClassifier setMaximumDistance(float distance) {
+        this.maximumDistance = distance;
+        return this;
+    }
+
+    /**
+     * Set the distance at which a hand loses its pose, relative to the maximum distance.
+     *
+     * @param factor Factor (default 1.25)
+     * @return PoseClassifier
+     */
+    public PoseClassifier setRelease(float factor) {
+        this.release = Math.max(factor, 1);
+        return this;
+    }
+
+    /**
+     * Set the number of frames in a row, which are needed to change the pose.
+     *
+     * @param frames Number of frames (default 3)
+     * @return PoseClassifier
+     */
+    public PoseClassifier setStableFrames(int frames) {
+        this.stableFrames = Math.max(frames, 1);
+        return this;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Examples */
+
+    /**
+     * Record the current pose of a hand as example.
+     *
+     * @param name Name of the pose
+     * @param hand Hand
+     * @return PoseClassifier
+     */
+    public PoseClassifier addPose(String name, Hand hand) {
+        return this.addPose(name, this.getFeatures(hand, new float[FEATURES]));
+    }
+
+    /**
+     * Add an example of a pose.
+     *
+     * @param name     Name of the pose
+     * @param features Feature vector (PoseClassifier.FEATURES values, see getFeatures)
+     * @return PoseClassifier
+     */
+    public PoseClassifier addPose(String name, float[] features) {
+        int label = this.names.indexOf(name);
+        if (label < 0) {
+            label = this.names.size();
+            this.names.add(name);
+        }
+        if (this.labels.length == this.count) {
+            this.examples = Arrays.copyOf(this.examples, this.examples.length * 2);
+            this.labels = Arrays.copyOf(this.labels, this.labels.length * 2);
+        }
+        System.arraycopy(features, 0, this.examples, this.count * FEATURES, FEATURES);
+        this.labels[this.count++] = label;
+        this.dirty = true;
+        return this;
+    }
+
+    /**
+     * Remove all examples of a pose.
+     *
+     * @param name Name of the pose
+     * @return PoseClassifier
+     */
+    public PoseClassifier removePose(String name) {
+        int label = this.names.indexOf(name);
+        if (label < 0) {
+            return this;
+        }
+        int kept = 0;
+        for (int i = 0; i < this.count; i++) {
+            if (this.labels[i] != label) {
+                System.arraycopy(this.examples, i * FEATURES, this.examples, kept * FEATURES, FEATURES);
+                this.labels[kept++] = this.labels[i];
+            }
+        }
+        this.count = kept;
+        this.dirty = true;
+        this.reset();
+        return this;
+    }
+
+    /**
+     * Remove all examples.
+     *
+     * @return PoseClassifier
+     */
+    public PoseClassifier clearPoses() {
+        this.count = 0;
+        this.dirty = true;
+        this.reset();
+        return this;
+    }
+
+    /**
+     * Get the number of examples.
+     *
+     * @return Number of examples
+     */
+    public int countExamples() {
+        return this.count;
+    }
+
+    private void reset() {
+        Arrays.fill(this.handIds, -1);
+        Arrays.fill(this.poses, -1);
+        Arrays.fill(this.candidates, -1);
+        Arrays.fill(this.candidateFrames, 0);
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Classification */
+
+    /**
+     * Classify a hand by its nearest example (without hysteresis).
+     *
+     * @param hand Hand
+     * @return Name of the pose or null
+     */
+    public String classify(Hand hand) {
+        int label = this.nearest(hand);
+        if (label < 0 || this.tree.distance() > this.maximumDistance) {
+            return null;
+        }
+        return this.names.get(label);
+    }
+
+    /**
+     * Get the feature vector of a hand.
+     *
+     * @param hand   Hand
+     * @param target Target array (PoseClassifier.FEATURES values)
+     * @return Feature vector
+     */
+    public float[] getFeatures(Hand hand, float[] target) {
+        float[] directions = this.directions;
+        Arrays.fill(this.present, false);
+        Arrays.fill(target, 0, FEATURES, 0);
+        if (hand.snapshot != null) {
+            FrameSnapshot snapshot = hand.snapshot;
+            int offset = snapshot.handFingerOffsets[hand.index];
+            for (int p = offset; p < offset + snapshot.handFingerCounts[hand.index]; p++) {
+                int type = snapshot.pointableTypes[p];
+                if (type < 0 || type >= FrameSnapshot.FINGERS) {
+                    continue;
+                }
+                for (int b = 0; b < FrameSnapshot.BONES; b++) {
+                    System.arraycopy(snapshot.bones, p * FrameSnapshot.BONE_STRIDE + b * FrameSnapshot.BONE_ELEMENT_STRIDE + FrameSnapshot.BONE_DIRECTION,
+                            directions, (type * FrameSnapshot.BONES + b) * 3, 3);
+                }
+                this.present[type] = true;
+                target[EXTENDED + type] = ((snapshot.pointableFlags[p] & FrameSnapshot.POINTABLE_EXTENDED) != 0) ? 1 : 0;
+            }
+            target[GRAB] = snapshot.palms[hand.offset(FrameSnapshot.PALM_GRAB_STRENGTH)];
+            target[PINCH] = snapshot.palms[hand.offset(FrameSnapshot.PALM_PINCH_STRENGTH)];
+        } else {
+            com.leapmotion.leap.Hand _hand = hand.getRaw();
+            for (com.leapmotion.leap.Finger _finger : _hand.fingers()) {
+                int type = _finger.type().swigValue();
+                if (type < 0 || type >= FrameSnapshot.FINGERS) {
+                    continue;
+                }
+                for (int b = 0; b < FrameSnapshot.BONES; b++) {
+                    Vector direction = _finger.bone(FrameSnapshot.BONE_TYPES[b]).direction();
+                    int i = (type * FrameSnapshot.BONES + b) * 3;
+                    directions[i] = direction.getX();
+                    directions[i + 1] = direction.getY();
+                    directions[i + 2] = direction.getZ();
+                }
+                this.present[type] = true;
+                target[EXTENDED + type] = _finger.isExtended() ? 1 : 0;
+            }
+            target[GRAB] = _hand.grabStrength();
+            target[PINCH] = _hand.pinchStrength();
+        }
+
+        // bones: 0 = distal ... 3 = metacarpal (see FrameSnapshot.BONE_TYPES)
+        for (int type = 0; type < FrameSnapshot.FINGERS; type++) {
+            if (!this.present[type]) {
+                continue;
+            }
+            int bones = type * FrameSnapshot.BONES;
+            for (int b = 0; b < 3; b++) {
+                target[FLEXION + type * 3 + b] = PoseClassifier.angle(directions, (bones + 3 - b) * 3, (bones + 2 - b) * 3);
+            }
+            if (type + 1 < FrameSnapshot.FINGERS && this.present[type + 1]) {
+                target[SPREAD + type] = PoseClassifier.angle(directions, (bones + 2) * 3, (bones + FrameSnapshot.BONES + 2) * 3);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Get the current pose of a hand (sketch thread).
+     *
+     * @param handId ID of the hand
+     * @return Name of the pose or null
+     */
+    String getPose(int handId) {
+        for (int side = 0; side < this.handIds.length; side++) {
+            if (this.handIds[side] == handId && this.poses[side] >= 0) {
+                return this.names.get(this.poses[side]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Classify the hands of the current frame (sketch thread).
+     */
+    void update() {
+        if (this.count == 0) {
+            return;
+        }
+        int seen = 0;
+        for (Hand hand : this.leap.getHands()) {
+            int side = hand.isLeft() ? 0 : 1;
+            seen |= 1 << side;
+            if (this.handIds[side] != hand.getId()) {
+                this.handIds[side] = hand.getId();
+                this.poses[side] = -1;
+                this.candidates[side] = -1;
+                this.candidateFrames[side] = 0;
+            }
+
+            int label = this.nearest(hand);
+            float distance = this.tree.distance();
+            int observed;
+            if (distance <= this.maximumDistance) {
+                observed = label;
+            } else if (distance > this.maximumDistance * this.release) {
+                observed = -1;
+            } else {
+                observed = this.poses[side];
+            }
+            if (observed == this.poses[side]) {
+                this.candidateFrames[side] = 0;
+                continue;
+            }
+            if (observed == this.candidates[side]) {
+                this.candidateFrames[side]++;
+            } else {
+                this.candidates[side] = observed;
+                this.candidateFrames[side] = 1;
+            }
+            if (this.candidateFrames[side] >= this.stableFrames) {
+                this.poses[side] = observed;
+                this.candidateFrames[side] = 0;
+                this.leap.dispatch("leapOnPoseChange", Hand.class, String.class, hand,
+                        (observed >= 0) ? this.names.get(observed) : null);
+            }
+        }
+        for (int side = 0; side < this.handIds.length; side++) {
+            if ((seen & (1 << side)) == 0) {
+                this.handIds[side] = -1;
+                this.poses[side] = -1;
+                this.candidates[side] = -1;
+                this.candidateFrames[side] = 0;
+            }
+        }
+    }
+
+    private int nearest(Hand hand) {
+        if (this.dirty) {
+            this.tree.build(this.examples, this.labels, this.count);
+            this.dirty = false;
+        }
+        return this.tree.nearest(this.getFeatures(hand, this.features));
+    }
+
+    private static float angle(float[] directions, int a, int b) {
+        float dot = directions[a] * directions[b] + directions[a + 1] * directions[b + 1] + directions[a + 2] * directions[b + 2];
+        return (float) Math.acos(Math.min(Math.max(dot, -1), 1));
+    }
+
+}
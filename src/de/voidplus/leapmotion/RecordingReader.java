@@ -0,0 +1,82 @@
+package de.voidplus.leapmotion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+
+/**
+ * Reader of the frames of a recording (see FrameRecorder) from a buffer with the whole file.
+ * <p/>
+ * The header ("LMFR" and the version) is checked when the reader is created. Every frame is prefixed by its length as variable-length integer; an empty, incomplete or truncated frame (e.g. at the end of an unfinished recording) ends the recording.
+ */
+class RecordingReader {
+
+    private final ByteBuffer data;
+    private final int first;
+    private FrameCodec codec;
+    private byte[] buffer;
+
+    /**
+     * Check the header of a recording.
+     *
+     * @param data Buffer with the whole file (from its current position)
+     * @throws IOException if it isn't a recording of a supported version
+     */
+    RecordingReader(ByteBuffer data) throws IOException {
+        for (byte magic : FrameCodec.MAGIC) {
+            if (!data.hasRemaining() || data.get() != magic) {
+                throw new IOException("Not a recording");
+            }
+        }
+        if (!data.hasRemaining() || data.get() != FrameCodec.VERSION) {
+            throw new IOException("Unsupported version");
+        }
+        this.data = data;
+        this.first = data.position();
+        this.codec = new FrameCodec();
+        this.buffer = new byte[1024];
+    }
+
+    /**
+     * Start again with the first frame.
+     */
+    void rewind() {
+        this.data.position(this.first);
+        this.codec = new FrameCodec();
+    }
+
+    /**
+     * Decode the next frame.
+     *
+     * @param snapshot Target snapshot
+     * @return Was there another complete frame?
+     */
+    boolean next(FrameSnapshot snapshot) {
+        int length = this.readLength();
+        if (length <= 0 || length > this.data.remaining()) {
+            return false;
+        }
+        if (this.buffer.length < length) {
+            this.buffer = new byte[Math.max(length, this.buffer.length * 2)];
+        }
+        this.data.get(this.buffer, 0, length);
+        this.codec.decode(this.buffer, 0, snapshot);
+        return true;
+    }
+
+    private int readLength() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (!this.data.hasRemaining() || shift > 28) {
+                return -1;
+            }
+            b = this.data.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+}
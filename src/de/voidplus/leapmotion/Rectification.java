@@ -0,0 +1,184 @@
+package de.voidplus.leapmotion;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.leapmotion.leap.Vector;
+
+
+/**
+ * Precomputed distortion correction of a camera (warp lookup table).
+ * <p/>
+ * The calibration of the camera (Image.warp) is evaluated once for every target pixel. Every frame is then remapped with integer lookups only: nearest neighbour (source index per pixel) or bilinear (index of the upper left source pixel and fixed-point weights). The rows are split into bands, which run on the image workers.
+ */
+class Rectification {
+
+    // Minimum number of rows per band
+    private static final int BAND = 16;
+
+    final int width;
+    final int height;
+    private final int sourceWidth;
+    private final int sourceHeight;
+    private final float rayOffsetX;
+    private final float rayOffsetY;
+    private final float rayScaleX;
+    private final float rayScaleY;
+
+    // Source index per target pixel (-1 = outside of the camera image)
+    private final int[] nearest;
+    private final int[] bilinear;
+    private final int[] weights;
+
+    // Parameters of the current remap (read by the bands)
+    private byte[] source;
+    private int[] target;
+    private boolean interpolate;
+    private final ArrayList<Runnable> bands;
+    private final ArrayList<Future<?>> tasks;
+
+    Rectification(com.leapmotion.leap.Image _image) {
+        this.width = _image.width();
+        this.height = _image.height();
+        this.sourceWidth = _image.width();
+        this.sourceHeight = _image.height();
+        this.rayOffsetX = _image.rayOffsetX();
+        this.rayOffsetY = _image.rayOffsetY();
+        this.rayScaleX = _image.rayScaleX();
+        this.rayScaleY = _image.rayScaleY();
+
+        int count = this.width * this.height;
+        this.nearest = new int[count];
+        this.bilinear = new int[count];
+        this.weights = new int[count];
+        Vector input = new Vector();
+        for (int row = 0; row < this.height; row++) {
+            for (int col = 0; col < this.width; col++) {
+                // pixel -> normalized [0..1] -> ray slope -> pixel of the camera image
+                input.setX(((float) col / this.width - this.rayOffsetX) / this.rayScaleX);
+                input.setY(((float) row / this.height - this.rayOffsetY) / this.rayScaleY);
+                Vector pixel = _image.warp(input);
+                this.put(row * this.width + col, pixel.getX(), pixel.getY());
+                pixel.delete();
+            }
+        }
+        input.delete();
+
+        this.bands = new ArrayList<Runnable>();
+        this.tasks = new ArrayList<Future<?>>();
+    }
+
+    /**
+     * Is the table valid for the calibration of a camera image?
+     *
+     * @param _image Instance of com.leapmotion.leap.Image
+     * @return Does it match?
+     */
+    boolean matches(com.leapmotion.leap.Image _image) {
+        return _image.width() == this.sourceWidth && _image.height() == this.sourceHeight
+                && _image.rayOffsetX() == this.rayOffsetX && _image.rayOffsetY() == this.rayOffsetY
+                && _image.rayScaleX() == this.rayScaleX && _image.rayScaleY() == this.rayScaleY;
+    }
+
+    private void put(int index, float x, float y) {
+        if (x < 0 || x >= this.sourceWidth || y < 0 || y >= this.sourceHeight) {
+            this.nearest[index] = -1;
+            this.bilinear[index] = -1;
+            return;
+        }
+        this.nearest[index] = (int) y * this.sourceWidth + (int) x;
+
+        // pixel centers, clamped to the border pixels
+        x = Math.min(Math.max(x - 0.5f, 0), this.sourceWidth - 1);
+        y = Math.min(Math.max(y - 0.5f, 0), this.sourceHeight - 1);
+        int left = Math.min((int) x, this.sourceWidth - 2);
+        int top = Math.min((int) y, this.sourceHeight - 2);
+        this.bilinear[index] = top * this.sourceWidth + left;
+        this.weights[index] = Math.round((x - left) * 256) | (Math.round((y - top) * 256) << 16);
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Remap */
+
+    /**
+     * Remap the brightness values of a camera image to rectified gray pixels.
+     *
+     * @param source      Brightness values of the camera image
+     * @param target      Pixels (width x height)
+     * @param interpolate Bilinear interpolation instead of nearest neighbour?
+     * @param workers     Workers for the bands or null
+     */
+    void remap(byte[] source, int[] target, boolean interpolate, ExecutorService workers) {
+        this.source = source;
+        this.target = target;
+        this.interpolate = interpolate;
+        int bands = (workers == null) ? 1 : Math.max(Math.min(Runtime.getRuntime().availableProcessors(), this.height / BAND), 1);
+        this.ensureBands(bands);
+        this.tasks.clear();
+        for (int b = 1; b < bands; b++) {
+            this.tasks.add(workers.submit(this.bands.get(b)));
+        }
+        this.bands.get(0).run();
+        for (Future<?> task : this.tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+        this.tasks.clear();
+        this.source = null;
+        this.target = null;
+    }
+
+    private void ensureBands(int count) {
+        if (this.bands.size() == count) {
+            return;
+        }
+        this.bands.clear();
+        for (int b = 0; b < count; b++) {
+            final int from = this.height * b / count;
+            final int to = this.height * (b + 1) / count;
+            this.bands.add(new Runnable() {
+                public void run() {
+                    Rectification.this.remap(from * Rectification.this.width, to * Rectification.this.width);
+                }
+            });
+        }
+    }
+
+    private void remap(int from, int to) {
+        byte[] source = this.source;
+        int[] target = this.target;
+        int[] gray = Image.GRAY;
+        if (!this.interpolate) {
+            int[] nearest = this.nearest;
+            for (int i = from; i < to; i++) {
+                int index = nearest[i];
+                target[i] = (index < 0) ? 0xFF000000 : gray[source[index] & 0xFF];
+            }
+            return;
+        }
+        int[] bilinear = this.bilinear;
+        int[] weights = this.weights;
+        int stride = this.sourceWidth;
+        for (int i = from; i < to; i++) {
+            int index = bilinear[i];
+            if (index < 0) {
+                target[i] = 0xFF000000;
+                continue;
+            }
+            int fx = weights[i] & 0xFFFF;
+            int fy = weights[i] >>> 16;
+            int top = (source[index] & 0xFF) * (256 - fx) + (source[index + 1] & 0xFF) * fx;
+            int bottom = (source[index + stride] & 0xFF) * (256 - fx) + (source[index + stride + 1] & 0xFF) * fx;
+            target[i] = gray[(top * (256 - fy) + bottom * fy) >>> 16];
+        }
+    }
+
+}
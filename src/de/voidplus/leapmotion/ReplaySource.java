@@ -0,0 +1,199 @@
+package de.voidplus.leapmotion;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Frames of a recording (see FrameRecorder), replayed without a device and without the native SDK.
+ * <p/>
+ * A background thread decodes the frames and delivers them like the device does (leapOnInit, leapOnConnect, leapOnFrame for every frame, leapOnDisconnect at the end). The speed is relative to the timestamps of the recording (1 = real-time, 2 = twice as fast, ReplaySource.AS_FAST_AS_POSSIBLE = no waiting). Gestures of the SDK are not part of recordings.
+ */
+public class ReplaySource implements FrameSource {
+
+    public static final float AS_FAST_AS_POSSIBLE = 0;
+
+    private final File file;
+    private volatile float speed;
+    private volatile boolean loop;
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile boolean finished;
+    private final AtomicLong frames;
+    private Thread thread;
+
+    /**
+     * Replay a recording in real-time.
+     *
+     * @param file Recording
+     */
+    public ReplaySource(File file) {
+        this.file = file;
+        this.speed = 1;
+        this.frames = new AtomicLong(0);
+    }
+
+    /**
+     * Replay a recording in real-time.
+     *
+     * @param path Path of the recording (e.g. sketchPath("session.lmfr"))
+     */
+    public ReplaySource(String path) {
+        this(new File(path));
+    }
+
+    /**
+     * Set the speed of the replay.
+     *
+     * @param speed Speed (1 = real-time, ReplaySource.AS_FAST_AS_POSSIBLE)
+     * @return ReplaySource
+     */
+    public ReplaySource setSpeed(float speed) {
+        this.speed = Math.max(speed, 0);
+        return this;
+    }
+
+    /**
+     * Get the speed of the replay.
+     *
+     * @return Speed
+     */
+    public float getSpeed() {
+        return this.speed;
+    }
+
+    /**
+     * Restart the recording at the end.
+     *
+     * @param loop Replay endlessly?
+     * @return ReplaySource
+     */
+    public ReplaySource setLoop(boolean loop) {
+        this.loop = loop;
+        return this;
+    }
+
+    /**
+     * Get the number of replayed frames.
+     *
+     * @return Number of frames
+     */
+    public long getFrames() {
+        return this.frames.get();
+    }
+
+    /**
+     * Has the end of the recording been reached?
+     *
+     * @return Is it finished?
+     */
+    public boolean isFinished() {
+        return this.finished;
+    }
+
+    public boolean isConnected() {
+        return this.connected;
+    }
+
+    public void start(final LeapMotion leap) {
+        this.stop();
+        this.running = true;
+        this.finished = false;
+        this.thread = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    ReplaySource.this.replay(leap);
+                } catch (IOException e) {
+                    leap.println("Could not replay " + ReplaySource.this.file + ": " + e.getMessage());
+                }
+                ReplaySource.this.finished = true;
+                if (ReplaySource.this.connected) {
+                    ReplaySource.this.connected = false;
+                    leap.dispatch("leapOnDisconnect");
+                }
+            }
+        }, "LeapMotion-ReplaySource");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public void stop() {
+        if (this.thread == null) {
+            return;
+        }
+        this.running = false;
+        LockSupport.unpark(this.thread);
+        if (this.thread != Thread.currentThread()) {
+            try {
+                this.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.thread = null;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Replay */
+
+    private void replay(LeapMotion leap) throws IOException {
+        RandomAccessFile access = new RandomAccessFile(this.file, "r");
+        try {
+            FileChannel channel = access.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Recording is too large");
+            }
+            RecordingReader reader = new RecordingReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+
+            leap.dispatch("leapOnInit");
+            this.connected = true;
+            leap.dispatch("leapOnConnect");
+
+            FrameSnapshot snapshot = new FrameSnapshot(null);
+            do {
+                reader.rewind();
+                long begin = 0;
+                long start = System.nanoTime();
+                boolean started = false;
+                while (this.running && reader.next(snapshot)) {
+                    if (!started) {
+                        begin = snapshot.timestamp;
+                        started = true;
+                    }
+                    this.await(start, snapshot.timestamp - begin);
+                    if (!this.running) {
+                        break;
+                    }
+                    leap.update(snapshot);
+                    this.frames.incrementAndGet();
+                }
+            } while (this.running && this.loop);
+        } finally {
+            access.close();
+        }
+    }
+
+    /**
+     * Wait until a frame is due.
+     *
+     * @param start  Start of the replay (System.nanoTime())
+     * @param offset Timestamp of the frame relative to the first frame (microseconds)
+     */
+    private void await(long start, long offset) {
+        float speed = this.speed;
+        if (speed <= 0) {
+            return;
+        }
+        long due = start + (long) (offset * 1000L / speed);
+        long remaining;
+        while (this.running && (remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+}
@@ -0,0 +1,446 @@
+package de.voidplus.leapmotion;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import processing.core.PConstants;
+import processing.core.PImage;
+
+
+/**
+ * Coarse disparity (and depth) map of the two camera images by block matching.
+ * <p/>
+ * Both images are downscaled (average of scale x scale pixels), then every pixel of the left image is compared with the pixels of the same row of the right image, which are shifted by the disparities of the search range (sum of absolute differences of a block). The best match is refined to subpixel precision. The rows are split into bands, which run in parallel on the common fork/join pool. All buffers are reused as long as the size of the map stays the same.
+ * <p/>
+ * The rows of the images have to be aligned, so use the rectified images (Image.getRectified).
+ */
+public class StereoMatcher {
+
+    // Rows per band
+    private static final int BAND = 8;
+
+    // Baseline of the Leap Motion Controller (mm)
+    public static final float BASELINE = 40.0f;
+
+    // Settings
+    private int minDisparity;
+    private int maxDisparity;
+    private int scale;
+    private int radius;
+    private float uniqueness;
+    private float baseline;
+    private float focal;
+
+    // Buffers
+    private int width;
+    private int height;
+    private int disparities;
+    private int[] left;
+    private int[] right;
+    private float[] map;
+    private Band[] bands;
+    private PImage image;
+    private boolean imageValid;
+
+    /**
+     * Create a matcher (disparities 0 ... 32, half resolution, blocks of 7 x 7 pixels).
+     */
+    public StereoMatcher() {
+        this.minDisparity = 0;
+        this.maxDisparity = 32;
+        this.scale = 2;
+        this.radius = 3;
+        this.uniqueness = 0.05f;
+        this.baseline = StereoMatcher.BASELINE;
+    }
+
+    /**
+     * Set the search range (in pixels of the downscaled map, negative values shift to the other side).
+     *
+     * @param min Minimum disparity
+     * @param max Maximum disparity
+     * @return StereoMatcher
+     */
+    public StereoMatcher setRange(int min, int max) {
+        this.minDisparity = Math.min(min, max);
+        this.maxDisparity = Math.max(min, max);
+        return this;
+    }
+
+    /**
+     * Set the downscale factor of the images.
+     *
+     * @param scale Factor (1 = full resolution)
+     * @return StereoMatcher
+     */
+    public StereoMatcher setScale(int scale) {
+        this.scale = Math.max(scale, 1);
+        return this;
+    }
+
+    /**
+     * Set the size of the compared blocks.
+     *
+     * @param radius Radius (blocks of (2 x radius + 1)^2 pixels)
+     * @return StereoMatcher
+     */
+    public StereoMatcher setBlockRadius(int radius) {
+        this.radius = Math.max(radius, 0);
+        return this;
+    }
+
+    /**
+     * Set how much better the best match has to be than all other (not neighbouring) matches.
+     *
+     * @param uniqueness Ratio (e.g. 0.05 = 5%, 0 = accept every match)
+     * @return StereoMatcher
+     */
+    public StereoMatcher setUniqueness(float uniqueness) {
+        this.uniqueness = Math.max(uniqueness, 0);
+        return this;
+    }
+
+    /**
+     * Set the calibration for depth values.
+     *
+     * @param baseline Distance of the cameras (mm)
+     * @param focal    Focal length (pixels of the full resolution)
+     * @return StereoMatcher
+     */
+    public StereoMatcher setCalibration(float baseline, float focal) {
+        this.baseline = baseline;
+        this.focal = focal;
+        return this;
+    }
+
+    /**
+     * Set the calibration for depth values of rectified images of a camera.
+     *
+     * @param image Camera image
+     * @return StereoMatcher
+     */
+    public StereoMatcher setCalibration(Image image) {
+        return this.setCalibration(StereoMatcher.BASELINE, image.getWidth() * image.getRaw().rayScaleX());
+    }
+
+    /**
+     * Get the width of the map.
+     *
+     * @return Width
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Get the height of the map.
+     *
+     * @return Height
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Get the disparity map of the last computation.
+     *
+     * @return Disparities (row-major, NaN = no match)
+     */
+    public float[] getDisparities() {
+        return this.map;
+    }
+
+    /**
+     * Get the disparity of a pixel of the map.
+     *
+     * @param x Column
+     * @param y Row
+     * @return Disparity (pixels of the map) or NaN
+     */
+    public float getDisparity(int x, int y) {
+        if (this.map == null || x < 0 || y < 0 || x >= this.width || y >= this.height) {
+            return Float.NaN;
+        }
+        return this.map[y * this.width + x];
+    }
+
+    /**
+     * Get the depth of a pixel of the map (see setCalibration).
+     *
+     * @param x Column
+     * @param y Row
+     * @return Distance to the cameras (mm) or NaN
+     */
+    public float getDepth(int x, int y) {
+        float disparity = Math.abs(this.getDisparity(x, y));
+        if (!(disparity > 0) || this.focal <= 0) {
+            return Float.NaN;
+        }
+        return this.baseline * this.focal / (disparity * this.scale);
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Matching */
+
+    /**
+     * Compute the disparity map of two camera images.
+     *
+     * @param left  Image of the left camera
+     * @param right Image of the right camera
+     * @return Disparities (row-major, NaN = no match)
+     */
+    public float[] compute(PImage left, PImage right) {
+        if (left.width != right.width || left.height != right.height) {
+            throw new IllegalArgumentException("The images have different sizes.");
+        }
+        this.ensure(left.width / this.scale, left.height / this.scale);
+        StereoMatcher.downscale(left.pixels, left.width, this.scale, this.left, this.width, this.height);
+        StereoMatcher.downscale(right.pixels, right.width, this.scale, this.right, this.width, this.height);
+        ForkJoinPool.commonPool().invoke(new Rows(0, this.bands.length));
+        this.imageValid = false;
+        return this.map;
+    }
+
+    /**
+     * Get the disparity map as image (maximum disparity = white, no match = black).
+     *
+     * @return Reused image
+     */
+    public PImage getImage() {
+        if (this.map == null) {
+            return null;
+        }
+        if (this.image == null || this.image.width != this.width || this.image.height != this.height) {
+            this.image = new PImage(this.width, this.height, PConstants.RGB);
+            this.imageValid = false;
+        }
+        if (!this.imageValid) {
+            this.image.loadPixels();
+            float range = Math.max(this.maxDisparity - this.minDisparity, 1);
+            for (int i = 0; i < this.map.length; i++) {
+                float disparity = this.map[i];
+                int gray = (disparity == disparity) ? (int) ((disparity - this.minDisparity) / range * 255) : 0;
+                this.image.pixels[i] = Image.GRAY[Math.min(Math.max(gray, 0), 255)];
+            }
+            this.image.updatePixels();
+            this.imageValid = true;
+        }
+        return this.image;
+    }
+
+    private void ensure(int width, int height) {
+        int disparities = this.maxDisparity - this.minDisparity + 1;
+        if (this.map != null && this.width == width && this.height == height
+                && this.disparities == disparities && this.bands[0].radius == this.radius) {
+            return;
+        }
+        this.width = width;
+        this.height = height;
+        this.disparities = disparities;
+        this.left = new int[width * height];
+        this.right = new int[width * height];
+        this.map = new float[width * height];
+        this.bands = new Band[Math.max((height + BAND - 1) / BAND, 1)];
+        for (int b = 0; b < this.bands.length; b++) {
+            this.bands[b] = new Band(b * BAND, Math.min((b + 1) * BAND, height));
+        }
+    }
+
+    /**
+     * Downscale gray pixels (blue channel) by averaging blocks.
+     */
+    private static void downscale(int[] pixels, int stride, int scale, int[] target, int width, int height) {
+        int area = scale * scale;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int sum = 0;
+                for (int sy = 0; sy < scale; sy++) {
+                    int offset = (y * scale + sy) * stride + x * scale;
+                    for (int sx = 0; sx < scale; sx++) {
+                        sum += pixels[offset + sx] & 0xFF;
+                    }
+                }
+                target[y * width + x] = sum / area;
+            }
+        }
+    }
+
+    /**
+     * Fork/join task over a range of bands.
+     */
+    private class Rows extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        Rows(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                StereoMatcher.this.bands[this.from].match();
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            RecursiveAction.invokeAll(new Rows(this.from, middle), new Rows(middle, this.to));
+        }
+
+    }
+
+    /**
+     * Rows of the map with their own buffers.
+     */
+    private class Band {
+
+        private final int from;
+        private final int to;
+        private final int radius;
+
+        // Column sums of the block rows per disparity, window sums per disparity
+        private final int[] columns;
+        private final int[] costs;
+
+        Band(int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.radius = StereoMatcher.this.radius;
+            this.columns = new int[StereoMatcher.this.disparities * StereoMatcher.this.width];
+            this.costs = new int[StereoMatcher.this.disparities * StereoMatcher.this.width];
+        }
+
+        void match() {
+            int width = StereoMatcher.this.width;
+            int height = StereoMatcher.this.height;
+            float[] map = StereoMatcher.this.map;
+            int r = this.radius;
+            boolean initialized = false;
+            for (int y = this.from; y < this.to; y++) {
+                if (y - r < 0 || y + r >= height) {
+                    Arrays.fill(map, y * width, (y + 1) * width, Float.NaN);
+                    initialized = false;
+                    continue;
+                }
+                if (!initialized) {
+                    this.initColumns(y);
+                    initialized = true;
+                } else {
+                    this.slideColumns(y);
+                }
+                this.matchRow(y);
+            }
+        }
+
+        /**
+         * Sum the absolute differences of the block rows around a row.
+         */
+        private void initColumns(int y) {
+            Arrays.fill(this.columns, 0);
+            for (int row = y - this.radius; row <= y + this.radius; row++) {
+                this.addRow(row, 1);
+            }
+        }
+
+        /**
+         * Move the block rows one row down.
+         */
+        private void slideColumns(int y) {
+            this.addRow(y + this.radius, 1);
+            this.addRow(y - this.radius - 1, -1);
+        }
+
+        private void addRow(int row, int sign) {
+            int width = StereoMatcher.this.width;
+            int[] left = StereoMatcher.this.left;
+            int[] right = StereoMatcher.this.right;
+            int offset = row * width;
+            for (int k = 0; k < StereoMatcher.this.disparities; k++) {
+                int disparity = StereoMatcher.this.minDisparity + k;
+                int from = Math.max(0, disparity);
+                int to = Math.min(width, width + disparity);
+                int column = k * width;
+                for (int x = from; x < to; x++) {
+                    this.columns[column + x] += sign * Math.abs(left[offset + x] - right[offset + x - disparity]);
+                }
+            }
+        }
+
+        private void matchRow(int y) {
+            int width = StereoMatcher.this.width;
+            int disparities = StereoMatcher.this.disparities;
+            int min = StereoMatcher.this.minDisparity;
+            int r = this.radius;
+            int size = 2 * r + 1;
+            float[] map = StereoMatcher.this.map;
+
+            // window sums (Integer.MAX_VALUE = block leaves the image)
+            for (int k = 0; k < disparities; k++) {
+                int disparity = min + k;
+                int from = Math.max(0, disparity);
+                int to = Math.min(width, width + disparity);
+                int column = k * width;
+                Arrays.fill(this.costs, column, column + width, Integer.MAX_VALUE);
+                if (to - from < size) {
+                    continue;
+                }
+                int sum = 0;
+                for (int x = from; x < from + size; x++) {
+                    sum += this.columns[column + x];
+                }
+                this.costs[column + from + r] = sum;
+                for (int x = from + r + 1; x < to - r; x++) {
+                    sum += this.columns[column + x + r] - this.columns[column + x - r - 1];
+                    this.costs[column + x] = sum;
+                }
+            }
+
+            // best match with uniqueness check and subpixel refinement
+            float uniqueness = 1.0f + StereoMatcher.this.uniqueness;
+            for (int x = 0; x < width; x++) {
+                int best = -1;
+                int bestCost = Integer.MAX_VALUE;
+                for (int k = 0; k < disparities; k++) {
+                    int cost = this.costs[k * width + x];
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        best = k;
+                    }
+                }
+                if (best < 0) {
+                    map[y * width + x] = Float.NaN;
+                    continue;
+                }
+                boolean unique = true;
+                for (int k = 0; k < disparities && unique; k++) {
+                    if (Math.abs(k - best) > 1 && this.costs[k * width + x] < bestCost * uniqueness) {
+                        unique = false;
+                    }
+                }
+                if (!unique) {
+                    map[y * width + x] = Float.NaN;
+                    continue;
+                }
+                float offset = 0;
+                if (best > 0 && best < disparities - 1) {
+                    int c0 = this.costs[(best - 1) * width + x];
+                    int c2 = this.costs[(best + 1) * width + x];
+                    if (c0 != Integer.MAX_VALUE && c2 != Integer.MAX_VALUE) {
+                        float denominator = c0 - 2.0f * bestCost + c2;
+                        if (denominator > 0) {
+                            offset = (c0 - c2) / (2 * denominator);
+                        }
+                    }
+                }
+                map[y * width + x] = min + best + offset;
+            }
+        }
+
+    }
+
+}
@@ -29,7 +29,28 @@ public class SwipeGesture extends Gesture implements RawAccess<com.leapmotion.le
      * @return Position
      */
     public PVector getPosition() {
-        return this.leap.map(this._swipe.position());
+        return this.getPosition(new PVector());
+    }
+
+    /**
+     * The current position of the swipe.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getPosition(PVector target) {
+        return this.leap.map(this._swipe.position(), target);
+    }
+
+    /**
+     * The current position of the swipe.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getPosition(float[] target, int offset) {
+        return this.leap.map(this._swipe.position(), target, offset);
     }
 
     /**
@@ -38,7 +59,28 @@ public class SwipeGesture extends Gesture implements RawAccess<com.leapmotion.le
      * @return Raw position
      */
     public PVector getRawPosition() {
-        return this.leap.convert(this._swipe.position());
+        return this.getRawPosition(new PVector());
+    }
+
+    /**
+     * Raw data of the current position of the swipe.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawPosition(PVector target) {
+        return this.leap.convert(this._swipe.position(), target);
+    }
+
+    /**
+     * Raw data of the current position of the swipe.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawPosition(float[] target, int offset) {
+        return this.leap.convert(this._swipe.position(), target, offset);
     }
 
     /**
@@ -47,7 +89,28 @@ public class SwipeGesture extends Gesture implements RawAccess<com.leapmotion.le
      * @return Position
      */
     public PVector getStartPosition() {
-        return this.leap.map(this._swipe.startPosition());
+        return this.getStartPosition(new PVector());
+    }
+
+    /**
+     * The position where the swipe began.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getStartPosition(PVector target) {
+        return this.leap.map(this._swipe.startPosition(), target);
+    }
+
+    /**
+     * The position where the swipe began.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getStartPosition(float[] target, int offset) {
+        return this.leap.map(this._swipe.startPosition(), target, offset);
     }
 
     /**
@@ -56,7 +119,28 @@ public class SwipeGesture extends Gesture implements RawAccess<com.leapmotion.le
      * @return Raw position
      */
     public PVector getRawStartPosition() {
-        return this.leap.convert(this._swipe.startPosition());
+        return this.getRawStartPosition(new PVector());
+    }
+
+    /**
+     * Raw data of the position where the swipe began.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawStartPosition(PVector target) {
+        return this.leap.convert(this._swipe.startPosition(), target);
+    }
+
+    /**
+     * Raw data of the position where the swipe began.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawStartPosition(float[] target, int offset) {
+        return this.leap.convert(this._swipe.startPosition(), target, offset);
     }
 
     /**
@@ -65,20 +149,65 @@ public class SwipeGesture extends Gesture implements RawAccess<com.leapmotion.le
      * @return Direction
      */
     public PVector getDirection() {
-        return new PVector(
+        return this.getDirection(new PVector());
+    }
+
+    /**
+     * The unit direction vector parallel to the swipe motion.
+     *
+     * @param target Target vector
+     * @return Direction
+     */
+    public PVector getDirection(PVector target) {
+        return target.set(
             PApplet.degrees(this._swipe.direction().roll()),
             PApplet.degrees(this._swipe.direction().pitch()),
             PApplet.degrees(this._swipe.direction().yaw())
         );
     }
 
+    /**
+     * The unit direction vector parallel to the swipe motion.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Direction
+     */
+    public float[] getDirection(float[] target, int offset) {
+        target[offset] = PApplet.degrees(this._swipe.direction().roll());
+        target[offset + 1] = PApplet.degrees(this._swipe.direction().pitch());
+        target[offset + 2] = PApplet.degrees(this._swipe.direction().yaw());
+        return target;
+    }
+
     /**
      * Raw data of the unit direction vector parallel to the swipe motion.
      *
      * @return Raw direction
      */
     public PVector getRawDirection() {
-        return this.leap.convert(this._swipe.direction());
+        return this.getRawDirection(new PVector());
+    }
+
+    /**
+     * Raw data of the unit direction vector parallel to the swipe motion.
+     *
+     * @param target Target vector
+     * @return Raw direction
+     */
+    public PVector getRawDirection(PVector target) {
+        return this.leap.convert(this._swipe.direction(), target);
+    }
+
+    /**
+     * Raw data of the unit direction vector parallel to the swipe motion.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw direction
+     */
+    public float[] getRawDirection(float[] target, int offset) {
+        return this.leap.convert(this._swipe.direction(), target, offset);
     }
 
     /**
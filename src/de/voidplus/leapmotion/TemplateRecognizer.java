@@ -0,0 +1,337 @@
+package de.voidplus.leapmotion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import processing.core.PVector;
+
+
+/**
+ * Recognizer of custom gestures by templates ($1-style matching of trajectories).
+ * <p/>
+ * The trajectory of the palm (or of a fingertip) is collected per hand over a sliding window. With every new frame the window is resampled to a fixed number of points, normalized (centroid at the origin, largest side of the bounding box = 1) and compared to the templates (average distance of the corresponding points, early abandoned as soon as it can't beat the best template). If the score of a template reaches the threshold, leapOnCustomGesture(String name, float score) is called and the trajectory starts again.
+ * <p/>
+ * The templates are compared within a fixed time budget per frame. If the budget is used up, the remaining templates are compared in the following frames, starting where the last frame stopped.
+ */
+public class TemplateRecognizer {
+
+    public static final int PALM = -1;
+
+    // Half of the diagonal of the unit cube (maximum average distance of normalized points)
+    private static final float HALF_DIAGONAL = (float) (0.5 * Math.sqrt(3));
+
+    private final LeapMotion leap;
+    private final ArrayList<Template> templates;
+
+    private int source;
+    private int samples;
+    private long window;
+    private float threshold;
+    private float minimumLength;
+    private long budget;
+
+    // Trajectories of the left and the right hand
+    private final Trajectory[] trajectories;
+    private final int[] cursors;
+    private final float[] point;
+    private float[] candidate;
+    private long deferred;
+
+    private static class Template {
+        final String name;
+        final float[] path;
+        final int count;
+        float[] points;
+
+        Template(String name, float[] path, int count) {
+            this.name = name;
+            this.path = path;
+            this.count = count;
+        }
+    }
+
+    TemplateRecognizer(LeapMotion leap) {
+        this.leap = leap;
+        this.templates = new ArrayList<Template>();
+        this.source = PALM;
+        this.samples = 32;
+        this.window = 1000000L;
+        this.threshold = 0.9f;
+        this.minimumLength = 80;
+        this.budget = 1000000L;
+        this.trajectories = new Trajectory[]{new Trajectory(), new Trajectory()};
+        this.cursors = new int[2];
+        this.point = new float[3];
+        this.candidate = new float[this.samples * 3];
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Settings */
+
+    /**
+     * Set the tracked point.
+     *
+     * @param source TemplateRecognizer.PALM or type of the finger (0:TYPE_THUMB, 1:TYPE_INDEX, 2:TYPE_MIDDLE, 3:TYPE_RING, 4:TYPE_PINKY)
+     * @return TemplateRecognizer
+     */
+    public TemplateRecognizer setSource(int source) {
+        this.source = source;
+        this.reset();
+        return this;
+    }
+
+    /**
+     * Set the number of points of the resampled trajectories.
+     *
+     * @param samples Number of points (default 32)
+     * @return TemplateRecognizer
+     */
+    public TemplateRecognizer setSamples(int samples) {
+        this.samples = Math.max(samples, 2);
+        this.candidate = new float[this.samples * 3];
+        for (Template template : this.templates) {
+            this.prepare(template);
+        }
+        return this;
+    }
+
+    /**
+     * Set the length of the sliding window.
+     *
+     * @param milliseconds Duration (default 1000)
+     * @return TemplateRecognizer
+     */
+    public TemplateRecognizer setWindow(int milliseconds) {
+        this.window = Math.max(milliseconds, 1) * 1000L;
+        return this;
+    }
+
+    /**
+     * Set the minimum score of a recognized gesture.
+     *
+     * @param threshold Score (0..1, default 0.9)
+     * @return TemplateRecognizer
+     */
+    public TemplateRecognizer setThreshold(float threshold) {
+        this.threshold = threshold;
+        return this;
+    }
+
+    /**
+     * Set the minimum length of a trajectory, shorter movements are ignored.
+     *
+     * @param millimeters Length (default 80)
+     * @return TemplateRecognizer
+     */
+    public TemplateRecognizer setMinimumLength(float millimeters) {
+        this.minimumLength = millimeters;
+        return this;
+    }
+
+    /**
+     * Set the time budget for the comparisons per frame.
+     *
+     * @param milliseconds Duration (default 1)
+     * @return TemplateRecognizer
+     */
+    public TemplateRecognizer setBudget(float milliseconds) {
+        this.budget = (long) (milliseconds * 1000000L);
+        return this;
+    }
+
+    /**
+     * Get the number of comparisons, which were moved to a following frame because of the budget.
+     *
+     * @return Number of comparisons
+     */
+    public long getDeferred() {
+        return this.deferred;
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Templates */
+
+    /**
+     * Add a template.
+     *
+     * @param name   Name of the gesture
+     * @param points Trajectory (x, y, z per point)
+     * @return TemplateRecognizer
+     */
+    public TemplateRecognizer addTemplate(String name, float[] points) {
+        int count = points.length / 3;
+        float[] path = new float[count * 3];
+        System.arraycopy(points, 0, path, 0, path.length);
+        Template template = new Template(name, path, count);
+        if (this.prepare(template)) {
+            this.templates.add(template);
+        }
+        return this;
+    }
+
+    /**
+     * Add a template.
+     *
+     * @param name   Name of the gesture
+     * @param points Trajectory
+     * @return TemplateRecognizer
+     */
+    public TemplateRecognizer addTemplate(String name, List<PVector> points) {
+        return this.addTemplate(name, Trajectory.toArray(points));
+    }
+
+    /**
+     * Remove all templates of a gesture.
+     *
+     * @param name Name of the gesture
+     * @return TemplateRecognizer
+     */
+    public TemplateRecognizer removeTemplate(String name) {
+        for (int i = this.templates.size() - 1; i >= 0; i--) {
+            if (this.templates.get(i).name.equals(name)) {
+                this.templates.remove(i);
+            }
+        }
+        this.reset();
+        return this;
+    }
+
+    /**
+     * Remove all templates.
+     *
+     * @return TemplateRecognizer
+     */
+    public TemplateRecognizer clearTemplates() {
+        this.templates.clear();
+        this.reset();
+        return this;
+    }
+
+    /**
+     * Get the number of templates.
+     *
+     * @return Number of templates
+     */
+    public int countTemplates() {
+        return this.templates.size();
+    }
+
+    /**
+     * Resample and normalize a template.
+     *
+     * @param template Template
+     * @return Has the trajectory a length?
+     */
+    private boolean prepare(Template template) {
+        float[] points = new float[this.samples * 3];
+        if (!Trajectory.resample(template.path, template.count, points, this.samples)) {
+            return false;
+        }
+        Trajectory.normalize(points, this.samples);
+        template.points = points;
+        return true;
+    }
+
+    private void reset() {
+        for (int side = 0; side < this.trajectories.length; side++) {
+            this.trajectories[side].clear();
+            this.trajectories[side].handId = -1;
+            this.cursors[side] = 0;
+        }
+    }
+
+
+	/* ------------------------------------------------------------------------ */
+    /* Recognition */
+
+    /**
+     * Add the tracked points of the current frame and compare the trajectories (sketch thread).
+     */
+    void update() {
+        if (this.templates.isEmpty()) {
+            return;
+        }
+        long deadline = System.nanoTime() + this.budget;
+        long timestamp = this.leap.getTimestamp();
+        int seen = 0;
+        for (Hand hand : this.leap.getHands()) {
+            int side = hand.isLeft() ? 0 : 1;
+            Trajectory trajectory = this.trajectories[side];
+            if (trajectory.handId != hand.getId()) {
+                trajectory.clear();
+                trajectory.handId = hand.getId();
+            }
+            seen |= 1 << side;
+            if (Trajectory.locate(hand, this.source, this.point)) {
+                trajectory.add(timestamp, this.point[0], this.point[1], this.point[2], this.window);
+                this.match(side, deadline);
+            }
+        }
+        for (int side = 0; side < this.trajectories.length; side++) {
+            if ((seen & (1 << side)) == 0) {
+                this.trajectories[side].clear();
+                this.trajectories[side].handId = -1;
+            }
+        }
+    }
+
+    private void match(int side, long deadline) {
+        Trajectory trajectory = this.trajectories[side];
+        if (trajectory.size() < 2 || !trajectory.resample(this.candidate, this.samples)) {
+            return;
+        }
+        if (Trajectory.length(this.candidate, this.samples) < this.minimumLength) {
+            return;
+        }
+        Trajectory.normalize(this.candidate, this.samples);
+
+        int count = this.templates.size();
+        int cursor = this.cursors[side] % count;
+        float limit = (1 - this.threshold) * HALF_DIAGONAL * this.samples;
+        int best = -1;
+        int compared = 0;
+        while (compared < count) {
+            if (compared > 0 && System.nanoTime() > deadline) {
+                this.deferred += count - compared;
+                break;
+            }
+            int i = (cursor + compared) % count;
+            float distance = TemplateRecognizer.distance(this.candidate, this.templates.get(i).points, this.samples, limit);
+            if (distance < limit) {
+                limit = distance;
+                best = i;
+            }
+            compared++;
+        }
+        this.cursors[side] = (cursor + compared) % count;
+
+        if (best >= 0) {
+            trajectory.clear();
+            float score = 1 - limit / (HALF_DIAGONAL * this.samples);
+            this.leap.dispatch("leapOnCustomGesture", String.class, float.class, this.templates.get(best).name, score);
+        }
+    }
+
+    /**
+     * Sum of the distances of the corresponding points (early abandoned at the limit).
+     *
+     * @param a     Points
+     * @param b     Points
+     * @param n     Number of points
+     * @param limit Limit of the sum
+     * @return Sum (at least the limit, if abandoned)
+     */
+    private static float distance(float[] a, float[] b, int n, float limit) {
+        float sum = 0;
+        for (int i = 0; i < n * 3; i += 3) {
+            sum += BatchMath.distance(a, i, b, i);
+            if (sum >= limit) {
+                return sum;
+            }
+        }
+        return sum;
+    }
+
+}
@@ -17,6 +17,26 @@ public class Tool extends Pointable implements RawAccess<com.leapmotion.leap.Too
         super(parent, leap, pointable);
     }
 
+    Tool(PApplet parent, LeapMotion leap, FrameSnapshot snapshot, int index) {
+        super(parent, leap, snapshot, index);
+    }
+
+    /**
+     * Rebind the (pooled) instance to another tool.
+     *
+     * @param _tool Instance of com.leapmotion.leap.Tool
+     */
+    void bind(com.leapmotion.leap.Tool _tool) {
+        super.bind(_tool);
+        this._tool = _tool;
+    }
+
+    @Override
+    void bind(FrameSnapshot snapshot, int index) {
+        super.bind(snapshot, index);
+        this._tool = null;
+    }
+
     /**
      * Is it a valid Tool object?
      *
@@ -24,6 +44,9 @@ public class Tool extends Pointable implements RawAccess<com.leapmotion.leap.Too
      */
     @Override
     public boolean isValid() {
+        if (this.snapshot != null) {
+            return true;
+        }
         return this._tool.isValid();
     }
 
@@ -34,6 +57,9 @@ public class Tool extends Pointable implements RawAccess<com.leapmotion.leap.Too
      */
     @Override
     public com.leapmotion.leap.Tool getRaw() {
+        if (this._tool == null && this.snapshot != null && this.snapshot.getFrame() != null) {
+            this._tool = this.snapshot.getFrame().tool(this.getId());
+        }
         return this._tool;
     }
 
@@ -43,7 +69,34 @@ public class Tool extends Pointable implements RawAccess<com.leapmotion.leap.Too
      * @return Position
      */
     public PVector getTipPosition() {
-        return this.leap.map(this._tool.tipPosition());
+        return this.getTipPosition(new PVector());
+    }
+
+    /**
+     * Get the position of tip.
+     *
+     * @param target Target vector
+     * @return Position
+     */
+    public PVector getTipPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.getPosition(target);
+        }
+        return this.leap.map(this._tool.tipPosition(), target);
+    }
+
+    /**
+     * Get the position of tip.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Position
+     */
+    public float[] getTipPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.getPosition(target, offset);
+        }
+        return this.leap.map(this._tool.tipPosition(), target, offset);
     }
 
     /**
@@ -52,7 +105,34 @@ public class Tool extends Pointable implements RawAccess<com.leapmotion.leap.Too
      * @return Raw position
      */
     public PVector getRawTipPosition() {
-        return this.leap.convert(this._tool.tipPosition());
+        return this.getRawTipPosition(new PVector());
+    }
+
+    /**
+     * Raw data of tip position.
+     *
+     * @param target Target vector
+     * @return Raw position
+     */
+    public PVector getRawTipPosition(PVector target) {
+        if (this.snapshot != null) {
+            return this.getRawPosition(target);
+        }
+        return this.leap.convert(this._tool.tipPosition(), target);
+    }
+
+    /**
+     * Raw data of tip position.
+     *
+     * @param target Target array
+     * @param offset Offset of the x component in the target array
+     * @return Raw position
+     */
+    public float[] getRawTipPosition(float[] target, int offset) {
+        if (this.snapshot != null) {
+            return this.getRawPosition(target, offset);
+        }
+        return this.leap.convert(this._tool.tipPosition(), target, offset);
     }
 
 
@@ -0,0 +1,237 @@
+package de.voidplus.leapmotion;
+
+import java.util.List;
+
+import processing.core.PVector;
+
+
+/**
+ * Trajectory of a tracked point (e.g. palm or fingertip) over a sliding time window.
+ * <p/>
+ * The points are kept in a preallocated ring (x, y, z and timestamp per point), so adding a point never allocates. Old points are dropped as soon as they leave the time window.
+ */
+class Trajectory {
+
+    // Maximum number of points in the window
+    static final int CAPACITY = 256;
+
+    private final float[] points;
+    private final long[] timestamps;
+    private final float[] ordered;
+    private int start;
+    private int count;
+
+    // Hand of the trajectory (-1 = none)
+    int handId;
+
+    Trajectory() {
+        this.points = new float[CAPACITY * 3];
+        this.timestamps = new long[CAPACITY];
+        this.ordered = new float[CAPACITY * 3];
+        this.handId = -1;
+    }
+
+    /**
+     * Remove all points.
+     */
+    void clear() {
+        this.start = 0;
+        this.count = 0;
+    }
+
+    /**
+     * Add a point and drop the points which are older than the window.
+     *
+     * @param timestamp Timestamp in microseconds
+     * @param x         X
+     * @param y         Y
+     * @param z         Z
+     * @param duration  Length of the window in microseconds
+     */
+    void add(long timestamp, float x, float y, float z, long duration) {
+        if (this.count > 0 && timestamp < this.timestamps[this.index(this.count - 1)]) {
+            // time went backwards (e.g. a looped recording)
+            this.clear();
+        }
+        if (this.count == CAPACITY) {
+            this.start = (this.start + 1) % CAPACITY;
+            this.count--;
+        }
+        int i = this.index(this.count++);
+        this.points[i * 3] = x;
+        this.points[i * 3 + 1] = y;
+        this.points[i * 3 + 2] = z;
+        this.timestamps[i] = timestamp;
+        while (this.count > 1 && timestamp - this.timestamps[this.start] > duration) {
+            this.start = (this.start + 1) % CAPACITY;
+            this.count--;
+        }
+    }
+
+    /**
+     * Get the number of points.
+     *
+     * @return Number of points
+     */
+    int size() {
+        return this.count;
+    }
+
+    /**
+     * Resample the path to points with equal distances along the path.
+     *
+     * @param target Target array (x, y, z per point)
+     * @param n      Number of points
+     * @return Has the path a length?
+     */
+    boolean resample(float[] target, int n) {
+        for (int m = 0; m < this.count; m++) {
+            System.arraycopy(this.points, this.index(m) * 3, this.ordered, m * 3, 3);
+        }
+        return Trajectory.resample(this.ordered, this.count, target, n);
+    }
+
+    /**
+     * Get the length of a path.
+     *
+     * @param points Points (x, y, z per point)
+     * @param count  Number of points
+     * @return Length
+     */
+    static float length(float[] points, int count) {
+        float length = 0;
+        for (int i = 3; i < count * 3; i += 3) {
+            length += BatchMath.distance(points, i - 3, points, i);
+        }
+        return length;
+    }
+
+    /**
+     * Resample a path to points with equal distances along the path.
+     *
+     * @param points Points (x, y, z per point)
+     * @param count  Number of points
+     * @param target Target array (x, y, z per point)
+     * @param n      Number of target points
+     * @return Has the path a length?
+     */
+    static boolean resample(float[] points, int count, float[] target, int n) {
+        float length = Trajectory.length(points, count);
+        if (count < 2 || length <= 0) {
+            return false;
+        }
+        float interval = length / (n - 1);
+        float px = points[0];
+        float py = points[1];
+        float pz = points[2];
+        target[0] = px;
+        target[1] = py;
+        target[2] = pz;
+        int k = 1;
+        float carried = 0;
+        for (int m = 1; m < count && k < n; m++) {
+            float qx = points[m * 3];
+            float qy = points[m * 3 + 1];
+            float qz = points[m * 3 + 2];
+            float d = BatchMath.distance(points, (m - 1) * 3, points, m * 3);
+            while (carried + d >= interval && d > 0 && k < n) {
+                float t = (interval - carried) / d;
+                px += t * (qx - px);
+                py += t * (qy - py);
+                pz += t * (qz - pz);
+                target[k * 3] = px;
+                target[k * 3 + 1] = py;
+                target[k * 3 + 2] = pz;
+                d = BatchMath.distance(target, k * 3, points, m * 3);
+                k++;
+                carried = 0;
+            }
+            carried += d;
+            px = qx;
+            py = qy;
+            pz = qz;
+        }
+        // rounding errors may leave the last point(s)
+        for (; k < n; k++) {
+            System.arraycopy(points, (count - 1) * 3, target, k * 3, 3);
+        }
+        return true;
+    }
+
+    /**
+     * Move the centroid of points to the origin and scale the largest side of their bounding box to 1.
+     *
+     * @param points Points (x, y, z per point)
+     * @param n      Number of points
+     */
+    static void normalize(float[] points, int n) {
+        float cx = 0, cy = 0, cz = 0;
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, minZ = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE, maxZ = -Float.MAX_VALUE;
+        for (int i = 0; i < n * 3; i += 3) {
+            float x = points[i], y = points[i + 1], z = points[i + 2];
+            cx += x;
+            cy += y;
+            cz += z;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            minZ = Math.min(minZ, z);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            maxZ = Math.max(maxZ, z);
+        }
+        cx /= n;
+        cy /= n;
+        cz /= n;
+        float size = Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ));
+        float scale = (size > 0) ? 1 / size : 1;
+        for (int i = 0; i < n * 3; i += 3) {
+            points[i] = (points[i] - cx) * scale;
+            points[i + 1] = (points[i + 1] - cy) * scale;
+            points[i + 2] = (points[i + 2] - cz) * scale;
+        }
+    }
+
+    private int index(int n) {
+        return (this.start + n) % CAPACITY;
+    }
+
+    /**
+     * Get the tracked point of a hand.
+     *
+     * @param hand   Hand
+     * @param source -1 (palm) or type of the finger (tip)
+     * @param target Target array (x, y, z)
+     * @return Is the point available?
+     */
+    static boolean locate(Hand hand, int source, float[] target) {
+        if (source < 0) {
+            hand.getRawPosition(target, 0);
+            return true;
+        }
+        Finger finger = hand.getFinger(source);
+        if (finger == null) {
+            return false;
+        }
+        finger.getRawPositionOfJointTip(target, 0);
+        return true;
+    }
+
+    /**
+     * Convert points to an array (x, y, z per point).
+     *
+     * @param points Points
+     * @return Array
+     */
+    static float[] toArray(List<PVector> points) {
+        float[] array = new float[points.size() * 3];
+        for (int i = 0; i < points.size(); i++) {
+            PVector point = points.get(i);
+            array[i * 3] = point.x;
+            array[i * 3 + 1] = point.y;
+            array[i * 3 + 2] = point.z;
+        }
+        return array;
+    }
+
+}
@@ -0,0 +1,79 @@
+package de.voidplus.leapmotion;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Lock-free exchange of data between a single writer (listener thread) and a single reader (animation thread).
+ * <p/>
+ * The writer fills the back slot and publishes it. The reader takes the latest published slot and keeps it until it asks for the next one. Neither side ever waits for the other one.
+ *
+ * @param <T> Type of the slots
+ */
+class TripleBuffer<T> {
+
+    private static final int INDEX = 3;
+    private static final int DIRTY = 4;
+
+    private final Object[] slots;
+    private final AtomicInteger middle;
+    private int back;
+    private int front;
+
+    TripleBuffer(T front, T middle, T back) {
+        this.slots = new Object[]{front, middle, back};
+        this.front = 0;
+        this.middle = new AtomicInteger(1);
+        this.back = 2;
+    }
+
+    /**
+     * Get the slot owned by the writer.
+     *
+     * @return Back slot
+     */
+    @SuppressWarnings("unchecked")
+    T getBack() {
+        return (T) this.slots[this.back];
+    }
+
+    /**
+     * Replace the slot owned by the writer.
+     *
+     * @param value New content of the back slot
+     */
+    void setBack(T value) {
+        this.slots[this.back] = value;
+    }
+
+    /**
+     * Publish the back slot (writer only).
+     */
+    void publish() {
+        this.back = this.middle.getAndSet(this.back | DIRTY) & INDEX;
+    }
+
+    /**
+     * Take the latest published slot, if there is a new one (reader only).
+     *
+     * @return Is there a new front slot?
+     */
+    boolean swap() {
+        if ((this.middle.get() & DIRTY) == 0) {
+            return false;
+        }
+        this.front = this.middle.getAndSet(this.front) & INDEX;
+        return true;
+    }
+
+    /**
+     * Get the slot owned by the reader.
+     *
+     * @return Front slot
+     */
+    @SuppressWarnings("unchecked")
+    T getFront() {
+        return (T) this.slots[this.front];
+    }
+
+}
@@ -0,0 +1,64 @@
+package de.voidplus.leapmotion;
+
+import processing.core.PVector;
+
+
+/**
+ * Immutable mapping of the world settings to sketch coordinates (x' = x * scale + shift, per axis).
+ * <p/>
+ * The mapping is published through a single volatile field, so the sketch thread and the listener thread (e.g. leapOnFrame) always read consistent values. It is replaced instead of modified when the world settings or the sketch size change.
+ */
+final class WorldTransform {
+
+    final PVector world;
+    final PVector origin;
+    final int width;
+    final int height;
+    final float scaleX, scaleY, scaleZ;
+    final float shiftX, shiftY, shiftZ;
+    final float originX, originY, originZ;
+
+    /**
+     * The former mapping lerp(width/2, width, x/world.x) for x > 0 and lerp(width/2, 0, -x/world.x) otherwise describes the same line for both signs, so every axis is a single scale and shift.
+     *
+     * @param world  World dimensions in millimeters
+     * @param origin World origin or null
+     * @param width  Width of the sketch
+     * @param height Height of the sketch
+     */
+    WorldTransform(PVector world, PVector origin, int width, int height) {
+        this.world = world;
+        this.origin = origin;
+        this.width = width;
+        this.height = height;
+        this.originX = (origin != null) ? origin.x : 0.0f;
+        this.originY = (origin != null) ? origin.y : 0.0f;
+        this.originZ = (origin != null) ? origin.z : 0.0f;
+
+        // WIDTH
+        this.scaleX = (width * 0.5f) / world.x;
+        this.shiftX = (width * 0.5f) + this.originX;
+
+        // HEIGHT
+        this.scaleY = -height / world.y;
+        this.shiftY = height + this.originY;
+
+        // DEPTH
+        this.scaleZ = -50.0f / world.z;
+        this.shiftZ = 50.0f + this.originZ;
+    }
+
+    /**
+     * Was the mapping created for these settings?
+     *
+     * @param world  World dimensions in millimeters
+     * @param origin World origin or null
+     * @param width  Width of the sketch
+     * @param height Height of the sketch
+     * @return Is the mapping valid?
+     */
+    boolean matches(PVector world, PVector origin, int width, int height) {
+        return this.world == world && this.origin == origin && this.width == width && this.height == height;
+    }
+
+}